@@ -0,0 +1,312 @@
+// Batching Producer-Consumer - Producer2 / Consumer2 that Hand Off Batches
+// Compile together with ring_channel.java:  javac *.java
+// Run:                                      java batch_producer_consumer [items]
+
+import java.nio.file.Paths;
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.concurrent.locks.LockSupport;
+
+// Receives each drained batch; batch[0, count) is only valid during the call
+// because the consumer reuses the array for the next batch
+interface BatchHandler<E> {
+    void onBatch(E[] batch, int count);
+}
+
+// BatchProducer: collects items locally and publishes them with one
+// putBatch() per batch instead of one put() per item
+//
+// A batch is sent when it is full, or when its oldest item has waited
+// maxLatencyNanos (checked every 16 adds, so the clock is read once per 16
+// items). Items are only sent from add() / flush(), so a producer that goes
+// quiet must call flush() - or flushIfDue() from its idle loop.
+class BatchProducer<E> {
+    private final RingChannel<E> channel;
+    private final E[] batch;
+    private final long maxLatencyNanos;
+    private int count = 0;
+    private long oldestNanos;
+
+    @SuppressWarnings("unchecked")
+    BatchProducer(RingChannel<E> channel, int batchSize, long maxLatencyNanos) {
+        this.channel = channel;
+        this.batch = (E[]) new Object[batchSize];
+        this.maxLatencyNanos = maxLatencyNanos;
+    }
+
+    void add(E e) throws InterruptedException {
+        if (count == 0) {
+            oldestNanos = System.nanoTime();
+        }
+        batch[count++] = e;
+        if (count == batch.length || ((count & 15) == 0 && System.nanoTime() - oldestNanos >= maxLatencyNanos)) {
+            flush();
+        }
+    }
+
+    void flushIfDue() throws InterruptedException {
+        if (count > 0 && System.nanoTime() - oldestNanos >= maxLatencyNanos) {
+            flush();
+        }
+    }
+
+    void flush() throws InterruptedException {
+        channel.putBatch(batch, 0, count);
+        Arrays.fill(batch, 0, count, null);
+        count = 0;
+    }
+}
+
+// BatchConsumer: Consumer2 that drains up to batch.length items per wakeup
+// into the caller's reusable array and hands them to the handler together
+//
+// After the first item arrives it waits at most maxLatencyNanos for the
+// batch to fill. With a BatchProducer on the same bound, batching delays an
+// item by at most twice maxLatencyNanos plus scheduling. interrupt() stops the
+// consumer once the channel is empty.
+class BatchConsumer<E> extends Thread {
+    private final RingChannel<E> channel;
+    private final E[] batch;
+    private final long maxLatencyNanos;
+    private final BatchHandler<E> handler;
+    volatile long batches = 0; // written by this thread only
+    volatile long items = 0;
+
+    BatchConsumer(RingChannel<E> channel, E[] batch, long maxLatencyNanos, BatchHandler<E> handler) {
+        this.channel = channel;
+        this.batch = batch;
+        this.maxLatencyNanos = maxLatencyNanos;
+        this.handler = handler;
+    }
+
+    @Override
+    public void run() {
+        try {
+            while (true) {
+                int n = channel.drain(batch, batch.length, maxLatencyNanos);
+                handler.onBatch(batch, n);
+                Arrays.fill(batch, 0, n, null);
+                batches++;
+                items += n;
+            }
+        } catch (InterruptedException e) {
+            // channel empty and asked to stop
+        }
+    }
+}
+
+class BatchBenchmark {
+    static final int CAPACITY = 4096;
+    static final int[] BATCH_SIZES = { 1, 4, 16, 64, 256, 1024 };
+    static final long MAX_LATENCY_NANOS = 100_000;
+
+    // Reused message: the value and when the producer created it
+    static final class Event {
+        int value;
+        long sentNanos;
+    }
+
+    // Events in flight are bounded by the channel plus one batch on each
+    // side, so a pool one larger than that is never overwritten too early
+    static Event[] pool(int batchSize) {
+        Event[] pool = new Event[CAPACITY + 2 * batchSize + 1];
+        for (int i = 0; i < pool.length; i++) {
+            pool[i] = new Event();
+        }
+        return pool;
+    }
+
+    // Latencies are stamped once per batch on the consumer side
+    static final class Recorder implements BatchHandler<Event> {
+        final long[] latencies;
+        int recorded = 0;
+        long sum = 0;
+
+        Recorder(int items) {
+            latencies = new long[items];
+        }
+
+        @Override
+        public void onBatch(Event[] batch, int count) {
+            long now = System.nanoTime();
+            for (int i = 0; i < count; i++) {
+                sum += batch[i].value;
+                latencies[recorded++] = now - batch[i].sentNanos;
+            }
+        }
+
+        String percentiles() {
+            long[] sorted = Arrays.copyOf(latencies, recorded);
+            Arrays.sort(sorted);
+            return String.format("%9.1f | %9.1f | %9.1f", sorted[recorded / 2] / 1e3,
+                    sorted[(int) (recorded * 0.99)] / 1e3, sorted[recorded - 1] / 1e3);
+        }
+    }
+
+    // One producer publishing batches through a SpscRingChannel
+    static void runRing(int batchSize, long maxLatencyNanos, int items, long pauseNanosPer64) throws InterruptedException {
+        SpscRingChannel<Event> channel = new SpscRingChannel<>(CAPACITY, WaitStrategy.PARK);
+        Recorder recorder = new Recorder(items);
+        BatchConsumer<Event> consumer = new BatchConsumer<>(channel, new Event[batchSize], maxLatencyNanos,
+                recorder);
+        Event[] pool = pool(batchSize);
+        consumer.start();
+        long start = System.nanoTime();
+        BatchProducer<Event> producer = new BatchProducer<>(channel, batchSize, maxLatencyNanos);
+        for (int i = 0; i < items; i++) {
+            Event e = pool[i % pool.length];
+            e.value = i & 1023;
+            e.sentNanos = System.nanoTime();
+            producer.add(e);
+            if (pauseNanosPer64 > 0 && (i & 63) == 63) {
+                LockSupport.parkNanos(pauseNanosPer64);
+                producer.flushIfDue();
+            }
+        }
+        producer.flush();
+        while (consumer.items < items && consumer.isAlive()) {
+            LockSupport.parkNanos(10_000);
+        }
+        long elapsed = System.nanoTime() - start;
+        consumer.interrupt();
+        consumer.join();
+        report(batchSize, maxLatencyNanos, items, elapsed, recorder, consumer.batches);
+    }
+
+    // Same workload through ArrayBlockingQueue: put() per item, and take()
+    // followed by drainTo() on the consumer side
+    static void runBlockingQueue(int batchSize, long maxLatencyNanos, int items) throws InterruptedException {
+        ArrayBlockingQueue<Event> queue = new ArrayBlockingQueue<>(CAPACITY);
+        Recorder recorder = new Recorder(items);
+        Event[] pool = pool(batchSize);
+        long[] batches = new long[1];
+        Thread consumer = new Thread(() -> {
+            ArrayList<Event> drained = new ArrayList<>(batchSize);
+            Event[] batch = new Event[batchSize];
+            try {
+                for (int received = 0; received < items;) {
+                    drained.add(queue.take());
+                    queue.drainTo(drained, batchSize - 1);
+                    int n = drained.size();
+                    recorder.onBatch(drained.toArray(batch), n);
+                    drained.clear();
+                    received += n;
+                    batches[0]++;
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        });
+        consumer.start();
+        long start = System.nanoTime();
+        for (int i = 0; i < items; i++) {
+            Event e = pool[i % pool.length];
+            e.value = i & 1023;
+            e.sentNanos = System.nanoTime();
+            queue.put(e);
+        }
+        consumer.join();
+        long elapsed = System.nanoTime() - start;
+        report(batchSize, maxLatencyNanos, items, elapsed, recorder, batches[0]);
+    }
+
+    static void report(int batchSize, long maxLatencyNanos, int items, long elapsed, Recorder recorder, long batches) {
+        long expected = 0;
+        for (int i = 0; i < items; i++) {
+            expected += i & 1023;
+        }
+        System.out.printf("%5d | %6.0f | %8.2f | %s | %9.1f%s%n", batchSize, maxLatencyNanos / 1e3,
+                items / (elapsed / 1e3), recorder.percentiles(), (double) items / batches,
+                recorder.sum == expected && recorder.recorded == items ? "" : "  LOST ITEMS");
+    }
+
+    // Child JVM: one channel kind across all batch sizes
+    static void sweep(String kind, int items) throws InterruptedException {
+        System.out.println(kind + ":");
+        for (int batchSize : BATCH_SIZES) {
+            for (int warmup = 0; warmup < 2; warmup++) { // first passes compile the loops
+                if (kind.equals("SpscRingChannel")) {
+                    runRingQuietly(batchSize, items / 4);
+                } else {
+                    runBlockingQueueQuietly(batchSize, items / 4);
+                }
+            }
+            if (kind.equals("SpscRingChannel")) {
+                runRing(batchSize, MAX_LATENCY_NANOS, items, 0);
+            } else {
+                runBlockingQueue(batchSize, MAX_LATENCY_NANOS, items);
+            }
+        }
+    }
+
+    private static void runRingQuietly(int batchSize, int items) throws InterruptedException {
+        java.io.PrintStream out = System.out;
+        System.setOut(new java.io.PrintStream(java.io.OutputStream.nullOutputStream()));
+        try {
+            runRing(batchSize, MAX_LATENCY_NANOS, items, 0);
+        } finally {
+            System.setOut(out);
+        }
+    }
+
+    private static void runBlockingQueueQuietly(int batchSize, int items) throws InterruptedException {
+        java.io.PrintStream out = System.out;
+        System.setOut(new java.io.PrintStream(java.io.OutputStream.nullOutputStream()));
+        try {
+            runBlockingQueue(batchSize, MAX_LATENCY_NANOS, items);
+        } finally {
+            System.setOut(out);
+        }
+    }
+}
+
+public class batch_producer_consumer {
+    public static void main(String[] args) throws Exception {
+        int items = args.length > 0 ? Integer.parseInt(args[0]) : 2_000_000;
+        if (args.length > 1) { // child JVM: sweep one channel kind
+            BatchBenchmark.sweep(args[1], items);
+            return;
+        }
+
+        System.out.println("=== BATCHING PRODUCER-CONSUMER ===\n");
+
+        // Example 1: Producer2 / Consumer2 with batches
+        System.out.println("Example 1: Batches of up to 4");
+        SpscRingChannel<Integer> channel = new SpscRingChannel<>(16, WaitStrategy.PARK);
+        BatchConsumer<Integer> consumer = new BatchConsumer<>(channel, new Integer[4], 1_000_000,
+                (batch, count) -> System.out.println("Consumed batch: " + Arrays.toString(Arrays.copyOf(batch, count))));
+        consumer.start();
+        BatchProducer<Integer> producer = new BatchProducer<>(channel, 4, 1_000_000);
+        for (int i = 1; i <= 10; i++) {
+            producer.add(i);
+        }
+        producer.flush(); // 9 and 10 would otherwise wait for a full batch
+        while (consumer.items < 10 && consumer.isAlive()) {
+            Thread.sleep(1);
+        }
+        consumer.interrupt();
+        consumer.join();
+        System.out.println("10 items in " + consumer.batches + " batches");
+
+        // Example 2: Throughput and latency vs batch size, one JVM per channel
+        System.out.printf("%nMoving %,d items, 1 producer -> 1 consumer, capacity %d, max batch latency %d us (%d cores)%n",
+                items, BatchBenchmark.CAPACITY, BatchBenchmark.MAX_LATENCY_NANOS / 1000,
+                Runtime.getRuntime().availableProcessors());
+        System.out.printf("%5s | %6s | %8s | %9s | %9s | %9s | %9s%n", "Batch", "maxLat", "Mops/sec", "p50 us",
+                "p99 us", "max us", "avg batch");
+        String java = Paths.get(System.getProperty("java.home"), "bin", "java").toString();
+        for (String kind : new String[] { "ArrayBlockingQueue", "SpscRingChannel" }) {
+            Process child = new ProcessBuilder(java, "-cp", System.getProperty("java.class.path"),
+                    "batch_producer_consumer", String.valueOf(items), kind).inheritIO().start();
+            child.waitFor();
+        }
+
+        // Example 3: A slow producer - the latency bound, not the batch size, decides
+        System.out.println("\nSlow producer (pauses 200 us every 64 items), batch size 1024:");
+        for (long maxLatency : new long[] { 200_000, 1_000_000, 5_000_000 }) {
+            BatchBenchmark.runRing(1024, maxLatency, 20_000, 200_000);
+        }
+
+        System.out.println("\n=== BATCHING PRODUCER-CONSUMER COMPLETED ===");
+    }
+}
@@ -0,0 +1,617 @@
+// Ring Channels - Lock-Free Bounded SPSC / MPMC Channels (Buffer2 without wait/notify)
+// Compile together with producer_consumer_examples.java:  javac *.java
+// Run:                                                    java ring_channel [items]
+
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.nio.file.Paths;
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.concurrent.locks.LockSupport;
+
+// What a channel does while it cannot send or receive yet.
+// No strategy needs a notify(): the other side never has to wake anybody,
+// so producers never wake producers and consumers never wake consumers.
+enum WaitStrategy {
+    // Burn the CPU: lowest latency, only sensible with a core per thread
+    BUSY_SPIN {
+        void idle(int round) {
+            Thread.onSpinWait();
+        }
+    },
+    // Spin briefly, then give the core away
+    YIELD {
+        void idle(int round) {
+            if (round < 100) {
+                Thread.onSpinWait();
+            } else {
+                Thread.yield();
+            }
+        }
+    },
+    // Spin, yield, then sleep in short timed parks (no wakeup call needed)
+    PARK {
+        void idle(int round) {
+            if (round < 100) {
+                Thread.onSpinWait();
+            } else if (round < 200) {
+                Thread.yield();
+            } else {
+                LockSupport.parkNanos(1_000);
+            }
+        }
+    };
+
+    abstract void idle(int round);
+}
+
+// RingChannel: bounded channel over a power-of-two ring buffer
+//
+//   - offer / poll never block; put / take retry them using the wait strategy
+//   - the head and tail counters only ever grow; slot = counter & mask
+//   - counters live in one long[] spaced 16 longs (128 bytes) apart, so the
+//     producer's and the consumer's counters never share a cache line
+//     (array elements are laid out in order; object fields are not)
+abstract class RingChannel<E> {
+    static final int PAD = 16;
+    static final VarHandle LONGS = MethodHandles.arrayElementVarHandle(long[].class);
+    static final VarHandle SLOTS = MethodHandles.arrayElementVarHandle(Object[].class);
+
+    final Object[] buffer;
+    final int mask;
+    final WaitStrategy waitStrategy;
+
+    RingChannel(int capacity, WaitStrategy waitStrategy) {
+        if (capacity < 2) {
+            throw new IllegalArgumentException("capacity must be at least 2: " + capacity);
+        }
+        int size = Integer.highestOneBit(capacity - 1) << 1;
+        this.buffer = new Object[size];
+        this.mask = size - 1;
+        this.waitStrategy = waitStrategy;
+    }
+
+    abstract boolean offer(E e);
+
+    abstract E poll();
+
+    abstract int size();
+
+    int capacity() {
+        return buffer.length;
+    }
+
+    boolean isEmpty() {
+        return size() == 0;
+    }
+
+    void put(E e) throws InterruptedException {
+        Objects.requireNonNull(e);
+        for (int round = 0; !offer(e); round++) {
+            if (Thread.interrupted()) {
+                throw new InterruptedException();
+            }
+            waitStrategy.idle(round);
+        }
+    }
+
+    E take() throws InterruptedException {
+        E e;
+        for (int round = 0; (e = poll()) == null; round++) {
+            if (Thread.interrupted()) {
+                throw new InterruptedException();
+            }
+            waitStrategy.idle(round);
+        }
+        return e;
+    }
+
+    // Offers items[from, from + count) in order; returns how many fitted
+    int offerBatch(E[] items, int from, int count) {
+        int n = 0;
+        while (n < count && offer(items[from + n])) {
+            n++;
+        }
+        return n;
+    }
+
+    void putBatch(E[] items, int from, int count) throws InterruptedException {
+        int round = 0;
+        while (count > 0) {
+            int n = offerBatch(items, from, count);
+            from += n;
+            count -= n;
+            if (n > 0) {
+                round = 0;
+            } else {
+                if (Thread.interrupted()) {
+                    throw new InterruptedException();
+                }
+                waitStrategy.idle(round++);
+            }
+        }
+    }
+
+    // Moves up to max waiting elements into into[from...] without blocking
+    // (BlockingQueue.drainTo); returns how many
+    int drainTo(E[] into, int from, int max) {
+        int n = 0;
+        E e;
+        while (n < max && (e = poll()) != null) {
+            into[from + n++] = e;
+        }
+        return n;
+    }
+
+    // Waits for one element, then keeps draining until into holds max
+    // elements or maxLatencyNanos have passed since the first one arrived.
+    // maxLatencyNanos = 0 takes whatever is already waiting.
+    int drain(E[] into, int max, long maxLatencyNanos) throws InterruptedException {
+        into[0] = take();
+        int n = 1;
+        long deadline = System.nanoTime() + maxLatencyNanos;
+        for (int round = 0; n < max; round++) {
+            int got = drainTo(into, n, max - n);
+            if (got > 0) {
+                n += got;
+                round = 0;
+            } else if (System.nanoTime() - deadline >= 0 || Thread.currentThread().isInterrupted()) {
+                break; // an interrupt shows up on the next call
+            } else {
+                waitStrategy.idle(round);
+            }
+        }
+        return n;
+    }
+}
+
+// SpscRingChannel: exactly one producer thread and one consumer thread
+//
+// Each side owns its counter and only reads the other side's counter when
+// its cached copy says the ring is full (producer) or empty (consumer), so
+// in steady state the two threads touch each other's cache line about once
+// per lap instead of once per element.
+class SpscRingChannel<E> extends RingChannel<E> {
+    private static final int TAIL = PAD; // producer line: tail, cached head
+    private static final int CACHED_HEAD = PAD + 1;
+    private static final int HEAD = 2 * PAD; // consumer line: head, cached tail
+    private static final int CACHED_TAIL = 2 * PAD + 1;
+
+    private final long[] counters = new long[3 * PAD];
+
+    SpscRingChannel(int capacity, WaitStrategy waitStrategy) {
+        super(capacity, waitStrategy);
+    }
+
+    // Producer thread only
+    @Override
+    boolean offer(E e) {
+        Objects.requireNonNull(e);
+        long tail = counters[TAIL];
+        if (tail - counters[CACHED_HEAD] >= buffer.length) {
+            counters[CACHED_HEAD] = (long) LONGS.getAcquire(counters, HEAD);
+            if (tail - counters[CACHED_HEAD] >= buffer.length) {
+                return false;
+            }
+        }
+        buffer[(int) tail & mask] = e;
+        LONGS.setRelease(counters, TAIL, tail + 1); // publishes the slot
+        return true;
+    }
+
+    // Consumer thread only
+    @Override
+    @SuppressWarnings("unchecked")
+    E poll() {
+        long head = counters[HEAD];
+        if (head >= counters[CACHED_TAIL]) {
+            counters[CACHED_TAIL] = (long) LONGS.getAcquire(counters, TAIL);
+            if (head >= counters[CACHED_TAIL]) {
+                return null;
+            }
+        }
+        int slot = (int) head & mask;
+        E e = (E) buffer[slot];
+        buffer[slot] = null;
+        LONGS.setRelease(counters, HEAD, head + 1); // hands the slot back
+        return e;
+    }
+
+    // Producer thread only; one tail publish for the whole batch
+    @Override
+    int offerBatch(E[] items, int from, int count) {
+        long tail = counters[TAIL];
+        long free = buffer.length - (tail - counters[CACHED_HEAD]);
+        if (free < count) {
+            counters[CACHED_HEAD] = (long) LONGS.getAcquire(counters, HEAD);
+            free = buffer.length - (tail - counters[CACHED_HEAD]);
+        }
+        int n = (int) Math.min(free, count);
+        for (int i = 0; i < n; i++) {
+            buffer[(int) (tail + i) & mask] = Objects.requireNonNull(items[from + i]);
+        }
+        if (n > 0) {
+            LONGS.setRelease(counters, TAIL, tail + n);
+        }
+        return n;
+    }
+
+    // Consumer thread only; one head publish for the whole batch
+    @Override
+    @SuppressWarnings("unchecked")
+    int drainTo(E[] into, int from, int max) {
+        long head = counters[HEAD];
+        long available = counters[CACHED_TAIL] - head;
+        if (available < max) {
+            counters[CACHED_TAIL] = (long) LONGS.getAcquire(counters, TAIL);
+            available = counters[CACHED_TAIL] - head;
+        }
+        int n = (int) Math.min(available, max);
+        for (int i = 0; i < n; i++) {
+            int slot = (int) (head + i) & mask;
+            into[from + i] = (E) buffer[slot];
+            buffer[slot] = null;
+        }
+        if (n > 0) {
+            LONGS.setRelease(counters, HEAD, head + n);
+        }
+        return n;
+    }
+
+    @Override
+    int size() {
+        long head = (long) LONGS.getAcquire(counters, HEAD);
+        long tail = (long) LONGS.getAcquire(counters, TAIL);
+        return (int) Math.max(0, Math.min(tail - head, buffer.length));
+    }
+}
+
+// MpmcRingChannel: any number of producers and consumers (Vyukov's bounded queue)
+//
+// Every slot has a sequence number that says whose turn it is:
+//   sequence == pos      the slot is free for the producer that claims pos
+//   sequence == pos + 1  the slot holds the element for the consumer of pos
+// Producers claim a position with one CAS on tail, consumers with one CAS on
+// head; the sequence store then publishes the slot to the other side. There
+// is no lock, and a slow thread only delays its own slot.
+class MpmcRingChannel<E> extends RingChannel<E> {
+    private static final int TAIL = PAD;
+    private static final int HEAD = 2 * PAD;
+
+    private final long[] counters = new long[3 * PAD];
+    private final long[] sequences;
+
+    MpmcRingChannel(int capacity, WaitStrategy waitStrategy) {
+        super(capacity, waitStrategy);
+        sequences = new long[buffer.length];
+        for (int i = 0; i < sequences.length; i++) {
+            sequences[i] = i;
+        }
+    }
+
+    @Override
+    boolean offer(E e) {
+        Objects.requireNonNull(e);
+        long pos = (long) LONGS.getVolatile(counters, TAIL);
+        while (true) {
+            int slot = (int) pos & mask;
+            long turn = (long) LONGS.getAcquire(sequences, slot) - pos;
+            if (turn == 0) {
+                if (LONGS.compareAndSet(counters, TAIL, pos, pos + 1)) {
+                    SLOTS.setOpaque(buffer, slot, e);
+                    LONGS.setRelease(sequences, slot, pos + 1);
+                    return true;
+                }
+                pos = (long) LONGS.getVolatile(counters, TAIL);
+            } else if (turn < 0) {
+                return false; // the slot still holds last lap's element: full
+            } else {
+                pos = (long) LONGS.getVolatile(counters, TAIL); // another producer got here first
+            }
+        }
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    E poll() {
+        long pos = (long) LONGS.getVolatile(counters, HEAD);
+        while (true) {
+            int slot = (int) pos & mask;
+            long turn = (long) LONGS.getAcquire(sequences, slot) - (pos + 1);
+            if (turn == 0) {
+                if (LONGS.compareAndSet(counters, HEAD, pos, pos + 1)) {
+                    E e = (E) SLOTS.getOpaque(buffer, slot);
+                    SLOTS.setOpaque(buffer, slot, null);
+                    LONGS.setRelease(sequences, slot, pos + buffer.length); // free for the next lap
+                    return e;
+                }
+                pos = (long) LONGS.getVolatile(counters, HEAD);
+            } else if (turn < 0) {
+                return null; // nothing published at pos yet: empty
+            } else {
+                pos = (long) LONGS.getVolatile(counters, HEAD);
+            }
+        }
+    }
+
+    @Override
+    int size() {
+        long head = (long) LONGS.getVolatile(counters, HEAD);
+        long tail = (long) LONGS.getVolatile(counters, TAIL);
+        return (int) Math.max(0, Math.min(tail - head, buffer.length));
+    }
+}
+
+// Buffer2 with a capacity parameter and without the println calls, so the
+// benchmark measures the wait()/notify() hand-off rather than the console.
+// notifyAll() instead of notify(): with several producers and consumers a
+// single notify() can wake a thread on the same side and stall everyone.
+class WaitNotifyBuffer {
+    private final Queue<Integer> queue = new LinkedList<>();
+    private final int capacity;
+
+    WaitNotifyBuffer(int capacity) {
+        this.capacity = capacity;
+    }
+
+    synchronized void produce(Integer value) throws InterruptedException {
+        while (queue.size() == capacity) {
+            wait();
+        }
+        queue.add(value);
+        notifyAll();
+    }
+
+    synchronized Integer consume() throws InterruptedException {
+        while (queue.isEmpty()) {
+            wait();
+        }
+        Integer value = queue.poll();
+        notifyAll();
+        return value;
+    }
+}
+
+class RingChannelBenchmark {
+    static final int CAPACITY = 1024;
+
+    // "kind producers consumers"; each line runs in its own JVM so the
+    // put/take call sites only ever see one channel class
+    static final String[] CONFIGS = {
+            "Buffer2 1 1", "ArrayBlockingQueue 1 1", "Spsc/BUSY_SPIN 1 1", "Spsc/YIELD 1 1", "Spsc/PARK 1 1",
+            "Mpmc/YIELD 1 1",
+            "Buffer2 2 2", "ArrayBlockingQueue 2 2", "Mpmc/BUSY_SPIN 2 2", "Mpmc/YIELD 2 2", "Mpmc/PARK 2 2",
+    };
+
+    // Values are boxed once up front, so no channel pays for allocation
+    static final Integer[] VALUES = new Integer[1024];
+
+    static {
+        for (int i = 0; i < VALUES.length; i++) {
+            VALUES[i] = i;
+        }
+    }
+
+    interface Handoff {
+        void put(Integer v) throws InterruptedException;
+
+        Integer take() throws InterruptedException;
+    }
+
+    static Handoff newHandoff(String kind) {
+        if (kind.equals("Buffer2")) {
+            WaitNotifyBuffer b = new WaitNotifyBuffer(CAPACITY);
+            return new Handoff() {
+                public void put(Integer v) throws InterruptedException {
+                    b.produce(v);
+                }
+
+                public Integer take() throws InterruptedException {
+                    return b.consume();
+                }
+            };
+        }
+        if (kind.equals("ArrayBlockingQueue")) {
+            ArrayBlockingQueue<Integer> q = new ArrayBlockingQueue<>(CAPACITY);
+            return new Handoff() {
+                public void put(Integer v) throws InterruptedException {
+                    q.put(v);
+                }
+
+                public Integer take() throws InterruptedException {
+                    return q.take();
+                }
+            };
+        }
+        String[] parts = kind.split("/");
+        WaitStrategy strategy = WaitStrategy.valueOf(parts[1]);
+        RingChannel<Integer> c = parts[0].equals("Spsc") ? new SpscRingChannel<>(CAPACITY, strategy)
+                : new MpmcRingChannel<>(CAPACITY, strategy);
+        return new Handoff() {
+            public void put(Integer v) throws InterruptedException {
+                c.put(v);
+            }
+
+            public Integer take() throws InterruptedException {
+                return c.take();
+            }
+        };
+    }
+
+    // Moves items values from the producers to the consumers; returns
+    // nanoseconds and checks that every value arrived exactly once by sum
+    static long run(Handoff h, int producers, int consumers, int items) throws InterruptedException {
+        long[] sums = new long[consumers];
+        Thread[] threads = new Thread[producers + consumers];
+        for (int p = 0; p < producers; p++) {
+            int share = items / producers;
+            threads[p] = new Thread(() -> {
+                try {
+                    for (int i = 0; i < share; i++) {
+                        h.put(VALUES[i & 1023]);
+                    }
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            });
+        }
+        for (int c = 0; c < consumers; c++) {
+            int id = c;
+            int share = items / consumers;
+            threads[producers + c] = new Thread(() -> {
+                long sum = 0;
+                try {
+                    for (int i = 0; i < share; i++) {
+                        sum += h.take();
+                    }
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                sums[id] = sum;
+            });
+        }
+        long start = System.nanoTime();
+        for (Thread t : threads) {
+            t.start();
+        }
+        for (Thread t : threads) {
+            t.join();
+        }
+        long elapsed = System.nanoTime() - start;
+
+        long expected = 0;
+        for (int i = 0; i < items / producers; i++) {
+            expected += VALUES[i & 1023];
+        }
+        if (Arrays.stream(sums).sum() != expected * producers) {
+            throw new IllegalStateException("lost or duplicated values");
+        }
+        return elapsed;
+    }
+
+    // Child JVM: best of five runs of one configuration
+    static void runOne(String config, int items) throws InterruptedException {
+        String[] parts = config.split(" ");
+        int producers = Integer.parseInt(parts[1]);
+        int consumers = Integer.parseInt(parts[2]);
+        long best = Long.MAX_VALUE;
+        for (int i = 0; i < 5; i++) {
+            best = Math.min(best, run(newHandoff(parts[0]), producers, consumers, items));
+        }
+        System.out.printf("%-20s | %dP/%dC | %10.2f | %8.1f%n", parts[0], producers, consumers,
+                items / (best / 1e3), (double) best / items);
+    }
+}
+
+public class ring_channel {
+    public static void main(String[] args) throws Exception {
+        int items = args.length > 0 ? Integer.parseInt(args[0]) : 2_000_000;
+        if (args.length > 1) { // child JVM: measure one configuration
+            RingChannelBenchmark.runOne(args[1], items);
+            return;
+        }
+
+        System.out.println("=== RING CHANNELS ===\n");
+
+        // Example 1: Producer1 / Consumer1 over an SPSC channel
+        System.out.println("Example 1: Single Producer, Single Consumer");
+        SpscRingChannel<Integer> spsc = new SpscRingChannel<>(3, WaitStrategy.PARK);
+        System.out.println("Capacity 3 rounds up to: " + spsc.capacity());
+        Thread producer = new Thread(() -> {
+            try {
+                for (int i = 1; i <= 5; i++) {
+                    spsc.put(i);
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        });
+        producer.start();
+        StringBuilder received = new StringBuilder();
+        for (int i = 1; i <= 5; i++) {
+            received.append(spsc.take()).append(' ');
+        }
+        producer.join();
+        System.out.println("Consumed in order: " + received.toString().trim());
+        System.out.println("offer() on a full channel: " + fill(spsc) + " accepted, then " + spsc.offer(99));
+        System.out.println("poll() on an empty channel: " + drain(spsc) + " drained, then " + spsc.poll());
+
+        // Example 2: Several producers and consumers over an MPMC channel
+        System.out.println("\nExample 2: Multiple Producers, Multiple Consumers");
+        MpmcRingChannel<Integer> mpmc = new MpmcRingChannel<>(64, WaitStrategy.YIELD);
+        ConcurrentHashMap<Integer, Boolean> seen = new ConcurrentHashMap<>();
+        int perProducer = 100_000;
+        Thread[] threads = new Thread[8];
+        for (int p = 0; p < 4; p++) {
+            int base = p * perProducer;
+            threads[p] = new Thread(() -> {
+                try {
+                    for (int i = 0; i < perProducer; i++) {
+                        mpmc.put(base + i);
+                    }
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            });
+        }
+        boolean[] duplicate = new boolean[4];
+        for (int c = 0; c < 4; c++) {
+            int id = c;
+            threads[4 + c] = new Thread(() -> {
+                try {
+                    for (int i = 0; i < perProducer; i++) {
+                        duplicate[id] |= seen.put(mpmc.take(), Boolean.TRUE) != null;
+                    }
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            });
+        }
+        for (Thread t : threads) {
+            t.start();
+        }
+        for (Thread t : threads) {
+            t.join();
+        }
+        boolean anyDuplicate = duplicate[0] | duplicate[1] | duplicate[2] | duplicate[3];
+        System.out.printf("4 producers x %,d -> 4 consumers: %,d distinct values, duplicates: %s%n", perProducer,
+                seen.size(), anyDuplicate);
+
+        // Example 3: Hand-off throughput, one JVM per configuration
+        int cores = Runtime.getRuntime().availableProcessors();
+        System.out.printf("%nHanding off %,d Integers, capacity %d (%d cores):%n", items, RingChannelBenchmark.CAPACITY,
+                cores);
+        System.out.printf("%-20s | %-5s | %10s | %8s%n", "Channel", "P/C", "Mops/sec", "ns/item");
+        String java = Paths.get(System.getProperty("java.home"), "bin", "java").toString();
+        for (String config : RingChannelBenchmark.CONFIGS) {
+            String[] parts = config.split(" ");
+            int needed = Integer.parseInt(parts[1]) + Integer.parseInt(parts[2]);
+            if (parts[0].endsWith("BUSY_SPIN") && needed > cores) {
+                // A spinning thread holds its core until the scheduler preempts it
+                System.out.printf("%-20s | %sP/%sC | skipped: needs %d cores%n", parts[0], parts[1], parts[2], needed);
+                continue;
+            }
+            Process child = new ProcessBuilder(java, "-cp", System.getProperty("java.class.path"), "ring_channel",
+                    String.valueOf(items), config).inheritIO().start();
+            child.waitFor();
+        }
+
+        System.out.println("\n=== RING CHANNELS COMPLETED ===");
+    }
+
+    private static int fill(RingChannel<Integer> channel) {
+        int n = 0;
+        while (channel.offer(n)) {
+            n++;
+        }
+        return n;
+    }
+
+    private static int drain(RingChannel<Integer> channel) {
+        int n = 0;
+        while (channel.poll() != null) {
+            n++;
+        }
+        return n;
+    }
+}
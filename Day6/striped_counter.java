@@ -0,0 +1,372 @@
+// Striped Counters - Counter2/Counter3 without the Monitor, plus a Sharded Histogram
+// Compile together with synchronization_examples.java:  javac *.java
+// Run:                                                  java striped_counter [increments per thread]
+
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+// StripedCounter: Counter2 split into cells, one 128-byte line each
+//
+//   - each thread takes the next index (0, 1, 2, ...) on its first add and
+//     always adds to cell index & (stripes - 1), with one atomic getAndAdd -
+//     no lock, no retry loop, nothing to lose
+//   - two threads share a cell only if their first adds were a multiple of
+//     stripes() threads apart, so up to stripes() threads (2x cores by default)
+//     that start adding one after another each get a line no other thread writes
+//   - sum() adds the cells up without stopping writers. For a counter that
+//     only goes up, the result is a value the counter really had at some
+//     instant during the call: it lies between the values at start and end,
+//     and a +1-at-a-time counter passes through every value in between
+class StripedCounter {
+    private static final int PAD = 16; // longs per cell = 128 bytes
+    private static final VarHandle CELLS = MethodHandles.arrayElementVarHandle(long[].class);
+
+    private final long[] cells;
+    private final int mask;
+
+    StripedCounter() {
+        this(2 * Runtime.getRuntime().availableProcessors());
+    }
+
+    StripedCounter(int stripes) {
+        int n = Integer.highestOneBit(Math.max(stripes, 2) - 1) << 1;
+        cells = new long[(n + 1) * PAD]; // cell i lives at (i + 1) * PAD
+        mask = n - 1;
+    }
+
+    // Shared by every counter, so a thread has one index for all of them
+    private static final AtomicInteger NEXT_INDEX = new AtomicInteger();
+    private static final ThreadLocal<Integer> INDEX = ThreadLocal.withInitial(NEXT_INDEX::getAndIncrement);
+
+    void add(long delta) {
+        int index = (INDEX.get() & mask) + 1;
+        CELLS.getAndAdd(cells, index * PAD, delta);
+    }
+
+    void increment() {
+        add(1);
+    }
+
+    long sum() {
+        long sum = 0;
+        for (int i = PAD; i < cells.length; i += PAD) {
+            sum += (long) CELLS.getVolatile(cells, i);
+        }
+        return sum;
+    }
+
+    int stripes() {
+        return mask + 1;
+    }
+}
+
+// ShardedHistogram: request-latency histogram with one shard per thread
+//
+// Values go into 64 power-of-two buckets (bucket b holds values whose
+// highest set bit is b - 1; bucket 0 holds 0), so recording is a
+// numberOfLeadingZeros and a few plain stores into the caller's own shard.
+// Each shard is written by one thread only and guarded by a sequence
+// number (odd while an update is in progress), so snapshot() can copy a
+// shard and retry if it changed underneath - writers never wait for it.
+class ShardedHistogram {
+    static final int BUCKETS = 64;
+    private static final int COUNT = BUCKETS;
+    private static final int SUM = BUCKETS + 1;
+    private static final int MAX = BUCKETS + 2;
+    private static final VarHandle SEQUENCE;
+
+    static {
+        try {
+            SEQUENCE = MethodHandles.lookup().findVarHandle(Shard.class, "sequence", long.class);
+        } catch (ReflectiveOperationException e) {
+            throw new ExceptionInInitializerError(e);
+        }
+    }
+
+    static final class Shard {
+        // buckets, count, sum, max; allocated by the owning thread, so it
+        // sits in that thread's allocation buffer, away from other shards
+        final long[] data = new long[BUCKETS + 3];
+        volatile long sequence = 0;
+    }
+
+    private final List<Shard> shards = new CopyOnWriteArrayList<>();
+    private final ThreadLocal<Shard> local = ThreadLocal.withInitial(() -> {
+        Shard shard = new Shard();
+        shards.add(shard);
+        return shard;
+    });
+
+    static int bucketOf(long value) {
+        return BUCKETS - Long.numberOfLeadingZeros(value);
+    }
+
+    // Smallest value in bucket b
+    static long bucketStart(int b) {
+        return b == 0 ? 0 : 1L << (b - 1);
+    }
+
+    void record(long value) {
+        if (value < 0) {
+            throw new IllegalArgumentException("negative value: " + value);
+        }
+        Shard shard = local.get();
+        long[] data = shard.data;
+        long seq = shard.sequence;
+        SEQUENCE.setOpaque(shard, seq + 1);
+        VarHandle.releaseFence(); // the odd sequence is visible before any data store
+        data[bucketOf(value)]++;
+        data[COUNT]++;
+        data[SUM] += value;
+        if (value > data[MAX]) {
+            data[MAX] = value;
+        }
+        SEQUENCE.setRelease(shard, seq + 2);
+    }
+
+    // Exact snapshot: every shard is copied between two updates, so count,
+    // sum, max and the buckets describe exactly the same recordings
+    Snapshot snapshot() {
+        long[] merged = new long[BUCKETS + 3];
+        long[] copy = new long[BUCKETS + 3];
+        int retries = 0;
+        for (Shard shard : shards) {
+            for (int spins = 0;; spins++) {
+                long before = (long) SEQUENCE.getAcquire(shard);
+                if ((before & 1) == 0) {
+                    System.arraycopy(shard.data, 0, copy, 0, copy.length);
+                    VarHandle.acquireFence(); // the copy is read before the sequence is checked again
+                    if ((long) SEQUENCE.getOpaque(shard) == before) {
+                        break;
+                    }
+                }
+                retries++;
+                if (spins < 64) {
+                    Thread.onSpinWait();
+                } else {
+                    Thread.yield(); // the writer may have been preempted mid-update
+                }
+            }
+            for (int b = 0; b < BUCKETS; b++) {
+                merged[b] += copy[b];
+            }
+            merged[COUNT] += copy[COUNT];
+            merged[SUM] += copy[SUM];
+            merged[MAX] = Math.max(merged[MAX], copy[MAX]);
+        }
+        return new Snapshot(Arrays.copyOf(merged, BUCKETS), merged[COUNT], merged[SUM], merged[MAX], retries);
+    }
+
+    int shardCount() {
+        return shards.size();
+    }
+
+    static final class Snapshot {
+        final long[] buckets;
+        final long count;
+        final long sum;
+        final long max;
+        final int retries;
+
+        Snapshot(long[] buckets, long count, long sum, long max, int retries) {
+            this.buckets = buckets;
+            this.count = count;
+            this.sum = sum;
+            this.max = max;
+            this.retries = retries;
+        }
+
+        double mean() {
+            return count == 0 ? 0 : (double) sum / count;
+        }
+
+        // Upper bound of the bucket holding the q-th quantile (q in 0..1)
+        long percentile(double q) {
+            long rank = (long) Math.ceil(q * count);
+            long seen = 0;
+            for (int b = 0; b < BUCKETS; b++) {
+                seen += buckets[b];
+                if (seen >= rank && seen > 0) {
+                    return Math.min(max, b == 0 ? 0 : (bucketStart(b) << 1) - 1);
+                }
+            }
+            return max;
+        }
+
+        boolean consistent() {
+            return Arrays.stream(buckets).sum() == count;
+        }
+    }
+}
+
+class CounterBenchmark {
+    interface Body {
+        void run(int thread);
+    }
+
+    // Starts threads together and returns the wall time in nanoseconds
+    static long timeThreads(int threads, Body body) throws InterruptedException {
+        CountDownLatch go = new CountDownLatch(1);
+        Thread[] workers = new Thread[threads];
+        for (int t = 0; t < threads; t++) {
+            int id = t;
+            workers[t] = new Thread(() -> {
+                try {
+                    go.await();
+                } catch (InterruptedException e) {
+                    return;
+                }
+                body.run(id);
+            });
+            workers[t].start();
+        }
+        long start = System.nanoTime();
+        go.countDown();
+        for (Thread w : workers) {
+            w.join();
+        }
+        return System.nanoTime() - start;
+    }
+
+    static int[] threadCounts() {
+        int cores = Runtime.getRuntime().availableProcessors();
+        TreeSet<Integer> counts = new TreeSet<>(List.of(1, 2, 4, 8, cores));
+        return counts.stream().mapToInt(Integer::intValue).toArray();
+    }
+
+    // Each counter gets its own loop so every call site sees one class
+    static double synchronizedMops(int threads, int perThread) throws InterruptedException {
+        Counter2 counter = new Counter2();
+        long nanos = timeThreads(threads, id -> {
+            for (int i = 0; i < perThread; i++) {
+                counter.increment();
+            }
+        });
+        check(counter.count, threads, perThread);
+        return (double) threads * perThread / (nanos / 1e3);
+    }
+
+    static double atomicMops(int threads, int perThread) throws InterruptedException {
+        AtomicLong counter = new AtomicLong();
+        long nanos = timeThreads(threads, id -> {
+            for (int i = 0; i < perThread; i++) {
+                counter.incrementAndGet();
+            }
+        });
+        check(counter.get(), threads, perThread);
+        return (double) threads * perThread / (nanos / 1e3);
+    }
+
+    static double adderMops(int threads, int perThread) throws InterruptedException {
+        LongAdder counter = new LongAdder();
+        long nanos = timeThreads(threads, id -> {
+            for (int i = 0; i < perThread; i++) {
+                counter.increment();
+            }
+        });
+        check(counter.sum(), threads, perThread);
+        return (double) threads * perThread / (nanos / 1e3);
+    }
+
+    static double stripedMops(int threads, int perThread) throws InterruptedException {
+        StripedCounter counter = new StripedCounter();
+        long nanos = timeThreads(threads, id -> {
+            for (int i = 0; i < perThread; i++) {
+                counter.increment();
+            }
+        });
+        check(counter.sum(), threads, perThread);
+        return (double) threads * perThread / (nanos / 1e3);
+    }
+
+    static void check(long count, int threads, int perThread) {
+        if (count != (long) threads * perThread) {
+            throw new IllegalStateException("lost updates: " + count);
+        }
+    }
+}
+
+public class striped_counter {
+    public static void main(String[] args) throws Exception {
+        int perThread = args.length > 0 ? Integer.parseInt(args[0]) : 5_000_000;
+
+        System.out.println("=== STRIPED COUNTERS ===\n");
+
+        // Example 1: Counter1 / Counter2 with a StripedCounter
+        System.out.println("Example 1: Two threads, 1000 increments each");
+        StripedCounter counter = new StripedCounter();
+        Thread t1 = new Thread(() -> {
+            for (int i = 0; i < 1000; i++) counter.increment();
+        });
+        Thread t2 = new Thread(() -> {
+            for (int i = 0; i < 1000; i++) counter.increment();
+        });
+        t1.start();
+        t2.start();
+        t1.join();
+        t2.join();
+        System.out.println("Count: " + counter.sum() + " (Expected: 2000), stripes: " + counter.stripes());
+
+        // Example 2: Request latencies in a sharded histogram, read while written
+        System.out.println("\nExample 2: Sharded histogram with exact snapshots");
+        ShardedHistogram histogram = new ShardedHistogram();
+        int writers = 4;
+        int perWriter = 1_000_000;
+        Thread[] threads = new Thread[writers];
+        for (int w = 0; w < writers; w++) {
+            threads[w] = new Thread(() -> {
+                SplittableRandom random = new SplittableRandom();
+                for (int i = 0; i < perWriter; i++) {
+                    // mostly 50-200 us, with a 1% tail out to 10 ms
+                    long micros = random.nextInt(100) == 0 ? random.nextInt(10_000) : 50 + random.nextInt(150);
+                    histogram.record(micros);
+                }
+            });
+            threads[w].start();
+        }
+        int snapshots = 0;
+        int inconsistent = 0;
+        int retries = 0;
+        while (Arrays.stream(threads).anyMatch(Thread::isAlive)) {
+            ShardedHistogram.Snapshot s = histogram.snapshot();
+            snapshots++;
+            retries += s.retries;
+            if (!s.consistent()) {
+                inconsistent++;
+            }
+        }
+        for (Thread t : threads) {
+            t.join();
+        }
+        ShardedHistogram.Snapshot last = histogram.snapshot();
+        System.out.printf("%,d snapshots during writes, %d inconsistent, %,d shard re-reads%n", snapshots,
+                inconsistent, retries);
+        System.out.printf("count %,d (expected %,d) over %d shards, mean %.1f us, p50 <= %d us, p99 <= %d us, max %d us%n",
+                last.count, (long) writers * perWriter, histogram.shardCount(), last.mean(), last.percentile(0.5),
+                last.percentile(0.99), last.max);
+
+        // Example 3: Increment throughput from 1 to N threads
+        System.out.printf("%n%,d increments per thread (%d cores), Mops/sec:%n", perThread,
+                Runtime.getRuntime().availableProcessors());
+        System.out.printf("%7s | %12s | %10s | %10s | %13s%n", "Threads", "synchronized", "AtomicLong", "LongAdder",
+                "StripedCounter");
+        for (int round = 0; round < 2; round++) { // first round warms up the JIT
+            for (int n : CounterBenchmark.threadCounts()) {
+                double sync = CounterBenchmark.synchronizedMops(n, perThread);
+                double atomic = CounterBenchmark.atomicMops(n, perThread);
+                double adder = CounterBenchmark.adderMops(n, perThread);
+                double striped = CounterBenchmark.stripedMops(n, perThread);
+                if (round == 1) {
+                    System.out.printf("%7d | %12.1f | %10.1f | %10.1f | %13.1f%n", n, sync, atomic, adder, striped);
+                }
+            }
+        }
+
+        System.out.println("\n=== STRIPED COUNTERS COMPLETED ===");
+    }
+}
@@ -0,0 +1,415 @@
+// Transfer Engine - Deadlock-Free Transfers Between Two Accounts, Locked, Optimistic and Batched
+// Compile together with striped_counter.java and account_ledger.java:  javac *.java
+// Run:                                                                 java transfer_engine [accounts]
+
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.stream.IntStream;
+
+// TransferEngine: moves money between two accounts so that either both
+// balances change or neither does, and the total never changes
+//
+// Locking "from" and then "to" deadlocks as soon as one thread sends A -> B
+// while another sends B -> A. The engines below avoid that in two ways:
+// OrderedLockTransferEngine always locks in one global order, and
+// OptimisticTransferEngine never waits while holding anything.
+abstract class TransferEngine {
+    final StripedCounter commits = new StripedCounter();
+    final StripedCounter aborts = new StripedCounter();
+    final StripedCounter rejected = new StripedCounter();
+    final int accounts;
+
+    TransferEngine(int accounts) {
+        this.accounts = accounts;
+    }
+
+    // false (and nothing changes) if "from" cannot cover the amount
+    abstract boolean transfer(int from, int to, long amount);
+
+    abstract long balance(int account);
+
+    // Caller must make sure no transfer runs at the same time
+    abstract void applyExclusive(int from, int to, long amount);
+
+    String name() {
+        return getClass().getSimpleName();
+    }
+
+    long total() {
+        long total = 0;
+        for (int a = 0; a < accounts; a++) {
+            total += balance(a);
+        }
+        return total;
+    }
+
+    static void checkTransfer(int from, int to, long amount) {
+        if (from == to) {
+            throw new IllegalArgumentException("transfer to the same account: " + from);
+        }
+        if (amount <= 0) {
+            throw new IllegalArgumentException("amount must be positive: " + amount);
+        }
+    }
+}
+
+// Lock ordering: accounts map onto 4096 striped monitors and a transfer
+// takes the lower-numbered monitor first. Every thread acquires monitors in
+// the same order, so no cycle of waiting threads can form.
+class OrderedLockTransferEngine extends TransferEngine {
+    private static final int LOCKS = 4096;
+
+    private final Object[] locks = new Object[LOCKS];
+    private final long[] balances;
+
+    OrderedLockTransferEngine(int accounts, long initialBalance) {
+        super(accounts);
+        balances = new long[accounts];
+        Arrays.fill(balances, initialBalance);
+        for (int i = 0; i < LOCKS; i++) {
+            locks[i] = new Object();
+        }
+    }
+
+    @Override
+    boolean transfer(int from, int to, long amount) {
+        checkTransfer(from, to, amount);
+        int a = from & (LOCKS - 1);
+        int b = to & (LOCKS - 1);
+        Object first = locks[Math.min(a, b)];
+        Object second = locks[Math.max(a, b)]; // the same monitor when a == b: re-entered
+        synchronized (first) {
+            synchronized (second) {
+                return apply(from, to, amount);
+            }
+        }
+    }
+
+    private boolean apply(int from, int to, long amount) {
+        if (balances[from] < amount) {
+            rejected.increment();
+            return false;
+        }
+        balances[from] -= amount;
+        balances[to] += amount;
+        commits.increment();
+        return true;
+    }
+
+    @Override
+    void applyExclusive(int from, int to, long amount) {
+        apply(from, to, amount);
+    }
+
+    @Override
+    long balance(int account) {
+        synchronized (locks[account & (LOCKS - 1)]) {
+            return balances[account];
+        }
+    }
+}
+
+// Optimistic versioning (STM-style): each account is a version and a
+// balance, side by side. An even version means free, odd means a commit
+// holds it.
+//
+//   1. read both versions and balances, then re-check the versions: if
+//      neither changed, the two balances were a consistent snapshot
+//   2. decide (commit, or reject for insufficient funds) from the snapshot
+//   3. CAS both versions from the values read to odd, lower account first;
+//      a failed CAS means someone committed in between - undo, count an
+//      abort and start again from 1
+//   4. write both balances, then publish version + 2 on both
+//
+// Nobody ever waits while holding an account, so there is nothing to
+// deadlock on; contention shows up as aborts instead.
+class OptimisticTransferEngine extends TransferEngine {
+    private static final VarHandle SLOT = MethodHandles.arrayElementVarHandle(long[].class);
+
+    private final long[] state; // [2a] = version, [2a + 1] = balance
+
+    OptimisticTransferEngine(int accounts, long initialBalance) {
+        super(accounts);
+        state = new long[2 * accounts];
+        for (int a = 0; a < accounts; a++) {
+            state[2 * a + 1] = initialBalance;
+        }
+    }
+
+    @Override
+    boolean transfer(int from, int to, long amount) {
+        checkTransfer(from, to, amount);
+        int lo = 2 * Math.min(from, to);
+        int hi = 2 * Math.max(from, to);
+        for (int attempt = 0;; attempt++) {
+            if (attempt > 0) {
+                aborts.increment();
+                if (attempt > 16) {
+                    Thread.yield(); // the holder may have been preempted
+                } else {
+                    Thread.onSpinWait();
+                }
+            }
+            long vLo = (long) SLOT.getAcquire(state, lo);
+            long vHi = (long) SLOT.getAcquire(state, hi);
+            if (((vLo | vHi) & 1) != 0) {
+                continue; // a commit is in progress on one of them
+            }
+            long fromBalance = (long) SLOT.getOpaque(state, 2 * from + 1);
+            VarHandle.acquireFence(); // balances are read before the versions are re-checked
+            if ((long) SLOT.getOpaque(state, lo) != vLo || (long) SLOT.getOpaque(state, hi) != vHi) {
+                continue;
+            }
+            if (fromBalance < amount) {
+                rejected.increment();
+                return false;
+            }
+            if (!SLOT.compareAndSet(state, lo, vLo, vLo + 1)) {
+                continue;
+            }
+            if (!SLOT.compareAndSet(state, hi, vHi, vHi + 1)) {
+                SLOT.setRelease(state, lo, vLo); // nothing was written: put the old version back
+                continue;
+            }
+            state[2 * from + 1] -= amount;
+            state[2 * to + 1] += amount;
+            SLOT.setRelease(state, lo, vLo + 2);
+            SLOT.setRelease(state, hi, vHi + 2);
+            commits.increment();
+            return true;
+        }
+    }
+
+    @Override
+    void applyExclusive(int from, int to, long amount) {
+        if (state[2 * from + 1] < amount) {
+            rejected.increment();
+            return;
+        }
+        state[2 * from + 1] -= amount;
+        state[2 * to + 1] += amount;
+        commits.increment();
+    }
+
+    @Override
+    long balance(int account) {
+        while (true) {
+            long v = (long) SLOT.getAcquire(state, 2 * account);
+            long balance = (long) SLOT.getOpaque(state, 2 * account + 1);
+            VarHandle.acquireFence();
+            if ((v & 1) == 0 && (long) SLOT.getOpaque(state, 2 * account) == v) {
+                return balance;
+            }
+            Thread.onSpinWait();
+        }
+    }
+}
+
+// TransferBatcher: runs a list of transfers as rounds of transfers that
+// touch disjoint accounts
+//
+// Transfer i goes into round max(last round of "from", last round of "to")
+// + 1, so each account sees its transfers in list order - the result is
+// exactly what running the list one by one would give. Inside a round no
+// two transfers share an account, so they run in parallel with no locks
+// and no aborts. Rounds smaller than PARALLEL_MIN run on the calling thread,
+// where forking would cost more than the work.
+class TransferBatcher {
+    static final int PARALLEL_MIN = 512;
+
+    final int[] order; // transfer indexes, grouped by round
+    final int[] roundStart; // round r is order[roundStart[r], roundStart[r + 1])
+
+    TransferBatcher(int accounts, int[] from, int[] to) {
+        int n = from.length;
+        int[] lastRound = new int[accounts];
+        int[] round = new int[n];
+        int rounds = 0;
+        for (int i = 0; i < n; i++) {
+            int r = Math.max(lastRound[from[i]], lastRound[to[i]]) + 1;
+            round[i] = r;
+            lastRound[from[i]] = r;
+            lastRound[to[i]] = r;
+            rounds = Math.max(rounds, r);
+        }
+        // counting sort by round; stable, so list order holds within a round
+        roundStart = new int[rounds + 2];
+        for (int r : round) {
+            roundStart[r + 1]++;
+        }
+        for (int r = 1; r < roundStart.length; r++) {
+            roundStart[r] += roundStart[r - 1];
+        }
+        int[] next = Arrays.copyOf(roundStart, roundStart.length);
+        order = new int[n];
+        for (int i = 0; i < n; i++) {
+            order[next[round[i]]++] = i;
+        }
+    }
+
+    int rounds() {
+        return roundStart.length - 2;
+    }
+
+    void execute(TransferEngine engine, int[] from, int[] to, long[] amount, ForkJoinPool pool)
+            throws InterruptedException, ExecutionException {
+        pool.submit(() -> {
+            for (int r = 1; r < roundStart.length - 1; r++) {
+                int start = roundStart[r];
+                int end = roundStart[r + 1];
+                if (end - start < PARALLEL_MIN) {
+                    for (int k = start; k < end; k++) {
+                        int i = order[k];
+                        engine.applyExclusive(from[i], to[i], amount[i]);
+                    }
+                } else {
+                    // the join at the end of forEach orders this round before the next
+                    IntStream.range(start, end).parallel().forEach(k -> {
+                        int i = order[k];
+                        engine.applyExclusive(from[i], to[i], amount[i]);
+                    });
+                }
+            }
+        }).get();
+    }
+}
+
+class TransferBenchmark {
+    static final long INITIAL = 1_000;
+
+    final int[] from;
+    final int[] to;
+    final long[] amount;
+
+    // Pre-drawn transfers: both ends Zipf-distributed, never the same account
+    TransferBenchmark(ZipfSampler zipf, int transfers, long seed) {
+        from = new int[transfers];
+        to = new int[transfers];
+        amount = new long[transfers];
+        SplittableRandom random = new SplittableRandom(seed);
+        for (int i = 0; i < transfers; i++) {
+            from[i] = zipf.next(random);
+            do {
+                to[i] = zipf.next(random);
+            } while (to[i] == from[i]);
+            amount[i] = 1 + random.nextInt(200);
+        }
+    }
+
+    // Thread t runs transfers t, t + threads, t + 2 * threads, ...
+    // Returns { commits/sec, aborts/sec, rejects/sec }
+    static double[] run(TransferEngine engine, TransferBenchmark work, int threads) throws InterruptedException {
+        long commits = engine.commits.sum();
+        long aborts = engine.aborts.sum();
+        long rejected = engine.rejected.sum();
+        long nanos = CounterBenchmark.timeThreads(threads, t -> {
+            for (int i = t; i < work.from.length; i += threads) {
+                engine.transfer(work.from[i], work.to[i], work.amount[i]);
+            }
+        });
+        double seconds = nanos / 1e9;
+        return new double[] { (engine.commits.sum() - commits) / seconds, (engine.aborts.sum() - aborts) / seconds,
+                (engine.rejected.sum() - rejected) / seconds };
+    }
+
+    // Plans rounds for the list, runs them at 1..N threads and checks the
+    // result against running the list one by one
+    static void batched(String label, TransferBenchmark work, int accounts)
+            throws InterruptedException, ExecutionException {
+        int transfers = work.from.length;
+        long start = System.nanoTime();
+        TransferBatcher batcher = new TransferBatcher(accounts, work.from, work.to);
+        double planMs = (System.nanoTime() - start) / 1e6;
+        long parallelTransfers = 0;
+        for (int r = 1; r <= batcher.rounds(); r++) {
+            int size = batcher.roundStart[r + 1] - batcher.roundStart[r];
+            if (size >= TransferBatcher.PARALLEL_MIN) {
+                parallelTransfers += size;
+            }
+        }
+        System.out.printf("%nBatching, %s: %,d rounds (planned in %.1f ms), %.1f%% of transfers in rounds of %,d or more%n",
+                label, batcher.rounds(), planMs, 100.0 * parallelTransfers / transfers, TransferBatcher.PARALLEL_MIN);
+
+        OptimisticTransferEngine sequential = new OptimisticTransferEngine(accounts, INITIAL);
+        for (int i = 0; i < transfers; i++) {
+            sequential.applyExclusive(work.from[i], work.to[i], work.amount[i]);
+        }
+        System.out.printf("%7s | %10s | %s%n", "Threads", "commits", "same balances as running the list in order");
+        for (int round = 0; round < 2; round++) { // first round warms up the JIT
+            for (int n : CounterBenchmark.threadCounts()) {
+                OptimisticTransferEngine engine = new OptimisticTransferEngine(accounts, INITIAL);
+                ForkJoinPool pool = new ForkJoinPool(n);
+                long t0 = System.nanoTime();
+                batcher.execute(engine, work.from, work.to, work.amount, pool);
+                double seconds = (System.nanoTime() - t0) / 1e9;
+                pool.shutdown();
+                boolean same = true;
+                for (int a = 0; a < accounts; a++) {
+                    same &= engine.balance(a) == sequential.balance(a);
+                }
+                if (round == 1) {
+                    System.out.printf("%7d | %10.0f | %s%n", n, engine.commits.sum() / seconds, same);
+                }
+            }
+        }
+    }
+}
+
+public class transfer_engine {
+    public static void main(String[] args) throws Exception {
+        int accounts = args.length > 0 ? Integer.parseInt(args[0]) : 10_000;
+
+        System.out.println("=== TRANSFER ENGINE ===\n");
+
+        // Example 1: A -> B and B -> A at the same time - the naive deadlock case
+        System.out.println("Example 1: Two threads transferring in opposite directions");
+        for (TransferEngine engine : new TransferEngine[] { new OrderedLockTransferEngine(2, 1000),
+                new OptimisticTransferEngine(2, 1000) }) {
+            Thread ab = new Thread(() -> {
+                for (int i = 0; i < 100_000; i++) engine.transfer(0, 1, 7);
+            });
+            Thread ba = new Thread(() -> {
+                for (int i = 0; i < 100_000; i++) engine.transfer(1, 0, 5);
+            });
+            ab.start();
+            ba.start();
+            ab.join();
+            ba.join();
+            System.out.printf("%-26s A=%d B=%d total=%d (expected 2000), commits %,d, rejected %,d, aborts %,d%n",
+                    engine.name() + ":", engine.balance(0), engine.balance(1), engine.total(), engine.commits.sum(),
+                    engine.rejected.sum(), engine.aborts.sum());
+        }
+
+        // Example 2: Commits and aborts per second under a hot-account load
+        int transfers = 4_000_000;
+        double skew = 1.1;
+        TransferBenchmark work = new TransferBenchmark(new ZipfSampler(accounts, skew), transfers, 42);
+        int cores = Runtime.getRuntime().availableProcessors();
+        System.out.printf("%n%,d transfers over %,d accounts, Zipf skew %.1f (%d cores), per second:%n", transfers,
+                accounts, skew, cores);
+        System.out.printf("%-26s | %7s | %10s | %10s | %10s | %s%n", "Engine", "Threads", "commits", "aborts",
+                "rejected", "total kept");
+        for (int round = 0; round < 2; round++) { // first round warms up the JIT
+            for (int n : CounterBenchmark.threadCounts()) {
+                for (TransferEngine engine : new TransferEngine[] {
+                        new OrderedLockTransferEngine(accounts, TransferBenchmark.INITIAL),
+                        new OptimisticTransferEngine(accounts, TransferBenchmark.INITIAL) }) {
+                    double[] rates = TransferBenchmark.run(engine, work, n);
+                    if (round == 1) {
+                        System.out.printf("%-26s | %7d | %10.0f | %10.0f | %10.0f | %s%n", engine.name(), n, rates[0],
+                                rates[1], rates[2], engine.total() == (long) accounts * TransferBenchmark.INITIAL);
+                    }
+                }
+            }
+        }
+
+        // Example 3: The same lists in rounds of disjoint transfers
+        TransferBenchmark.batched(String.format("Zipf skew %.1f", skew), work, accounts);
+        TransferBenchmark uniform = new TransferBenchmark(new ZipfSampler(accounts, 0), transfers, 42);
+        TransferBenchmark.batched("uniform", uniform, accounts);
+
+        System.out.println("\n=== TRANSFER ENGINE COMPLETED ===");
+    }
+}
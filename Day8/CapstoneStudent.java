@@ -0,0 +1,44 @@
+// CapstoneStudent - The Student Record Shared by the Capstone and the Performance Engines
+// Kept in its own file so other Day 8 programs can use it without reaching into
+// capstone_project.java. Compiled automatically with:  javac capstone_project.java
+
+class CapstoneStudent implements Comparable<CapstoneStudent> {
+    private int id;
+    private String name;
+    private double gpa;
+    private String department;
+
+    public CapstoneStudent(int id, String name, double gpa, String department) {
+        this.id = id;
+        this.name = name;
+        this.gpa = gpa;
+        this.department = department;
+    }
+
+    public int getId() {
+        return id;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public double getGpa() {
+        return gpa;
+    }
+
+    public String getDepartment() {
+        return department;
+    }
+
+    // For TreeSet sorting by GPA
+    public int compareTo(CapstoneStudent other) {
+        int byGpa = Double.compare(other.gpa, this.gpa); // Descending order
+        return byGpa != 0 ? byGpa : Integer.compare(this.id, other.id); // Equal GPA: keep both
+    }
+
+    public String toString() {
+        return String.format("ID: %d, Name: %-15s, GPA: %.2f, Dept: %s",
+                id, name, gpa, department);
+    }
+}
@@ -0,0 +1,235 @@
+// IntHashSet - Open-Addressing Hash Set of Primitive ints (no boxing)
+// capstone_project.java needs this file for its duplicate-ID check; javac picks it
+// up from this folder. Demo and benchmark:  java int_hash_set [elements]
+
+import java.util.*;
+import java.util.function.IntConsumer;
+
+// IntHashSet: int[] table, linear probing, backward-shift deletion
+//
+//   - 0 marks an empty slot; the value 0 itself is tracked by a flag
+//   - the table is a power of two and at most 2/3 full
+//   - removal shifts the rest of the cluster back, so there are no tombstones
+//   - addAll / retainAll / removeAll work in place on the tables (no Integer, no iterator)
+class IntHashSet {
+    private int[] keys;
+    private int mask;
+    private int size = 0; // not counting zero
+    private boolean hasZero = false;
+
+    IntHashSet() {
+        this(16);
+    }
+
+    IntHashSet(int expected) {
+        int capacity = Integer.highestOneBit(Math.max(expected * 3 / 2, 8) - 1) << 1;
+        keys = new int[capacity];
+        mask = capacity - 1;
+    }
+
+    static IntHashSet of(int... values) {
+        IntHashSet set = new IntHashSet(values.length);
+        for (int v : values) {
+            set.add(v);
+        }
+        return set;
+    }
+
+    private static int slot(int key, int mask) {
+        int h = key * 0x9E3779B9;
+        return (h ^ (h >>> 16)) & mask;
+    }
+
+    boolean add(int key) {
+        if (key == 0) {
+            boolean added = !hasZero;
+            hasZero = true;
+            return added;
+        }
+        int i = slot(key, mask);
+        while (keys[i] != 0) {
+            if (keys[i] == key) {
+                return false;
+            }
+            i = (i + 1) & mask;
+        }
+        keys[i] = key;
+        if (++size * 3 > keys.length * 2) {
+            resize(keys.length * 2);
+        }
+        return true;
+    }
+
+    boolean contains(int key) {
+        if (key == 0) {
+            return hasZero;
+        }
+        for (int i = slot(key, mask); keys[i] != 0; i = (i + 1) & mask) {
+            if (keys[i] == key) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    boolean remove(int key) {
+        if (key == 0) {
+            boolean removed = hasZero;
+            hasZero = false;
+            return removed;
+        }
+        for (int i = slot(key, mask); keys[i] != 0; i = (i + 1) & mask) {
+            if (keys[i] == key) {
+                removeAt(i);
+                return true;
+            }
+        }
+        return false;
+    }
+
+    int size() {
+        return size + (hasZero ? 1 : 0);
+    }
+
+    boolean isEmpty() {
+        return size() == 0;
+    }
+
+    void clear() {
+        Arrays.fill(keys, 0);
+        size = 0;
+        hasZero = false;
+    }
+
+    void forEach(IntConsumer action) {
+        if (hasZero) {
+            action.accept(0);
+        }
+        for (int k : keys) {
+            if (k != 0) {
+                action.accept(k);
+            }
+        }
+    }
+
+    int[] toArray() {
+        int[] out = new int[size()];
+        int n = 0;
+        if (hasZero) {
+            out[n++] = 0;
+        }
+        for (int k : keys) {
+            if (k != 0) {
+                out[n++] = k;
+            }
+        }
+        return out;
+    }
+
+    // Union, in place
+    void addAll(IntHashSet other) {
+        if (other.hasZero) {
+            hasZero = true;
+        }
+        for (int k : other.keys) {
+            if (k != 0) {
+                add(k);
+            }
+        }
+    }
+
+    // Intersection, in place
+    void retainAll(IntHashSet other) {
+        if (!other.hasZero) {
+            hasZero = false;
+        }
+        filter(other, true);
+    }
+
+    // Difference, in place
+    void removeAll(IntHashSet other) {
+        if (other.hasZero) {
+            hasZero = false;
+        }
+        filter(other, false);
+    }
+
+    // Keep keys whose membership in other equals keep; a slot is checked again
+    // after a removal because backward shift may have moved a new key into it
+    private void filter(IntHashSet other, boolean keep) {
+        int i = 0;
+        while (i < keys.length) {
+            int k = keys[i];
+            if (k != 0 && other.contains(k) != keep) {
+                removeAt(i);
+            } else {
+                i++;
+            }
+        }
+    }
+
+    // New-set versions of the three operations
+    static IntHashSet union(IntHashSet a, IntHashSet b) {
+        IntHashSet result = a.copy();
+        result.addAll(b);
+        return result;
+    }
+
+    static IntHashSet intersection(IntHashSet a, IntHashSet b) {
+        IntHashSet small = a.size() <= b.size() ? a : b;
+        IntHashSet result = small.copy();
+        result.retainAll(small == a ? b : a);
+        return result;
+    }
+
+    static IntHashSet difference(IntHashSet a, IntHashSet b) {
+        IntHashSet result = a.copy();
+        result.removeAll(b);
+        return result;
+    }
+
+    IntHashSet copy() {
+        IntHashSet c = new IntHashSet(1);
+        c.keys = keys.clone();
+        c.mask = mask;
+        c.size = size;
+        c.hasZero = hasZero;
+        return c;
+    }
+
+    private void removeAt(int hole) {
+        keys[hole] = 0;
+        size--;
+        // shift back every later key in the cluster that may live in the hole
+        for (int i = (hole + 1) & mask; keys[i] != 0; i = (i + 1) & mask) {
+            int home = slot(keys[i], mask);
+            // move if home is not in the cyclic range (hole, i]
+            if (((i - home) & mask) >= ((i - hole) & mask)) {
+                keys[hole] = keys[i];
+                keys[i] = 0;
+                hole = i;
+            }
+        }
+    }
+
+    private void resize(int capacity) {
+        int[] old = keys;
+        keys = new int[capacity];
+        mask = capacity - 1;
+        for (int k : old) {
+            if (k != 0) {
+                int i = slot(k, mask);
+                while (keys[i] != 0) {
+                    i = (i + 1) & mask;
+                }
+                keys[i] = k;
+            }
+        }
+    }
+
+    public String toString() {
+        StringBuilder sb = new StringBuilder("[");
+        forEach(k -> sb.append(sb.length() > 1 ? ", " : "").append(k));
+        return sb.append("]").toString();
+    }
+}
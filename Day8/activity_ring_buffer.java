@@ -0,0 +1,202 @@
+// Activity Ring Buffer - Bounded, Lock-Free Feed of Recent Activities
+// Compile:  javac activity_ring_buffer.java  (standalone, no other files needed)
+// Run:      java activity_ring_buffer [seconds]
+
+import java.lang.invoke.VarHandle;
+import java.util.*;
+import java.util.concurrent.atomic.*;
+
+// ActivityRingBuffer: fixed capacity, oldest events are overwritten
+//
+// Each event is three primitives stored in parallel arrays, so append()
+// allocates nothing. Writers claim a sequence number with one atomic
+// increment; the slot's seq[] entry works as a small seqlock:
+//
+//   -1     empty
+//   BUSY   a writer is filling the slot
+//   s      slot holds the event with sequence s
+//
+// Readers copy a slot and keep it only if seq[] showed the same s
+// before and after the copy, so they never see a half-written event.
+class ActivityRingBuffer {
+    static final int STUDENT_ADDED = 1;
+    static final int ENROLLED = 2;
+    static final int WAITLISTED = 3;
+    static final int COURSE_REGISTERED = 4;
+    static final String[] TYPE_NAMES = { "?", "Added student", "Enrolled", "Waitlisted", "Registered course" };
+
+    private static final long BUSY = Long.MIN_VALUE;
+
+    private final int mask;
+    private final long[] timestamps;
+    private final int[] types;
+    private final int[] studentIds;
+    private final AtomicLongArray seq;
+    private final AtomicLong cursor = new AtomicLong();
+    private final LongAdder dropped = new LongAdder();
+
+    ActivityRingBuffer(int capacity) {
+        if (Integer.bitCount(capacity) != 1) {
+            throw new IllegalArgumentException("Capacity must be a power of two: " + capacity);
+        }
+        mask = capacity - 1;
+        timestamps = new long[capacity];
+        types = new int[capacity];
+        studentIds = new int[capacity];
+        seq = new AtomicLongArray(capacity);
+        for (int i = 0; i < capacity; i++) {
+            seq.set(i, -1);
+        }
+    }
+
+    int capacity() {
+        return mask + 1;
+    }
+
+    // Total events ever appended
+    long count() {
+        return cursor.get();
+    }
+
+    // Events skipped because a newer writer had already lapped their slot
+    long dropped() {
+        return dropped.sum();
+    }
+
+    void append(int type, int studentId) {
+        append(System.currentTimeMillis(), type, studentId);
+    }
+
+    void append(long timestamp, int type, int studentId) {
+        long s = cursor.getAndIncrement();
+        int slot = (int) s & mask;
+        while (true) {
+            long current = seq.get(slot);
+            if (current == BUSY) {
+                Thread.onSpinWait();
+            } else if (current > s) {
+                dropped.increment(); // already overwritten by a newer event
+                return;
+            } else if (seq.compareAndSet(slot, current, BUSY)) {
+                break;
+            }
+        }
+        VarHandle.storeStoreFence(); // BUSY must be visible before the fields change
+        timestamps[slot] = timestamp;
+        types[slot] = type;
+        studentIds[slot] = studentId;
+        seq.set(slot, s); // publish
+    }
+
+    // Copy up to n most recent events (newest first), returns how many were copied
+    int snapshot(int n, long[] outTimestamps, int[] outTypes, int[] outStudentIds) {
+        long head = cursor.get();
+        int copied = 0;
+        for (long s = head - 1; s >= 0 && s >= head - capacity() && copied < n; s--) {
+            int slot = (int) s & mask;
+            if (seq.get(slot) != s) {
+                continue; // not published yet, or already overwritten
+            }
+            long t = timestamps[slot];
+            int type = types[slot];
+            int id = studentIds[slot];
+            VarHandle.loadLoadFence(); // field reads must finish before re-checking seq
+            if (seq.get(slot) != s) {
+                continue;
+            }
+            outTimestamps[copied] = t;
+            outTypes[copied] = type;
+            outStudentIds[copied] = id;
+            copied++;
+        }
+        return copied;
+    }
+}
+
+public class activity_ring_buffer {
+    public static void main(String[] args) throws Exception {
+        System.out.println("=== ACTIVITY RING BUFFER ===\n");
+
+        // Example 1: Same feed as capstone_project's recentActivities
+        ActivityRingBuffer feed = new ActivityRingBuffer(8);
+        int[] ids = { 101, 102, 103, 104, 105 };
+        for (int id : ids) {
+            feed.append(ActivityRingBuffer.STUDENT_ADDED, id);
+        }
+        feed.append(ActivityRingBuffer.WAITLISTED, 101);
+        feed.append(ActivityRingBuffer.ENROLLED, 101);
+
+        long[] times = new long[5];
+        int[] types = new int[5];
+        int[] studentIds = new int[5];
+        int n = feed.snapshot(5, times, types, studentIds);
+        System.out.println("Last " + n + " activities:");
+        for (int i = 0; i < n; i++) {
+            System.out.println("   " + ActivityRingBuffer.TYPE_NAMES[types[i]] + ": " + studentIds[i]);
+        }
+
+        // Example 2: Many writers, one reader, memory stays fixed
+        int seconds = args.length > 0 ? Integer.parseInt(args[0]) : 2;
+        int writers = Math.max(2, Runtime.getRuntime().availableProcessors());
+        ActivityRingBuffer ring = new ActivityRingBuffer(1 << 16);
+        AtomicBoolean running = new AtomicBoolean(true);
+        AtomicLong tornReads = new AtomicLong();
+        List<Thread> threads = new ArrayList<>();
+        for (int w = 0; w < writers; w++) {
+            final int base = w * 1_000_000;
+            threads.add(new Thread(() -> {
+                for (int i = 0; running.get(); i++) {
+                    int id = base + (i & 0xFFFFF);
+                    // the type is derived from the id so readers can detect torn events
+                    ring.append(i, 1 + (id & 3), id);
+                }
+            }));
+        }
+        threads.add(new Thread(() -> {
+            long[] t = new long[100];
+            int[] ty = new int[100];
+            int[] id = new int[100];
+            while (running.get()) {
+                int got = ring.snapshot(100, t, ty, id);
+                for (int i = 0; i < got; i++) {
+                    if (ty[i] != 1 + (id[i] & 3)) {
+                        tornReads.incrementAndGet();
+                    }
+                }
+            }
+        }));
+
+        long memBefore = usedMemory();
+        for (Thread t : threads) {
+            t.start();
+        }
+        Thread.sleep(seconds * 1000L);
+        running.set(false);
+        for (Thread t : threads) {
+            t.join();
+        }
+        long memAfter = usedMemory();
+
+        System.out.printf("%n%d writers for %d s: %,d events (%,.0f/sec), capacity %,d%n",
+                writers, seconds, ring.count(), ring.count() / (double) seconds, ring.capacity());
+        System.out.println("Dropped (lapped): " + ring.dropped() + ", torn reads: " + tornReads.get());
+        System.out.printf("Heap change: %,d bytes%n", memAfter - memBefore);
+
+        // Example 3: An unbounded ArrayDeque<String> feed for comparison
+        ArrayDeque<String> recentActivities = new ArrayDeque<>();
+        memBefore = usedMemory();
+        for (int i = 0; i < 1_000_000; i++) {
+            recentActivities.addFirst("Added student: Student" + i);
+        }
+        memAfter = usedMemory();
+        System.out.printf("ArrayDeque<String> after 1,000,000 events: %,d bytes and growing%n", memAfter - memBefore);
+
+        System.out.println("\n=== RING BUFFER COMPLETED ===");
+    }
+
+    static long usedMemory() {
+        Runtime rt = Runtime.getRuntime();
+        System.gc();
+        return rt.totalMemory() - rt.freeMemory();
+    }
+}
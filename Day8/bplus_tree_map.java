@@ -0,0 +1,941 @@
+// B+-Tree Map - Cache-Friendly Ordered Map with Linked Leaves and Bulk Loading
+// Compile:  javac bplus_tree_map.java  (javac picks up CapstoneStudent.java from this folder)
+// Run:      java -Xmx1500m bplus_tree_map [keys]
+
+import java.util.*;
+import java.util.function.IntFunction;
+
+// BPlusTreeMap: ordered map that stores up to 64 keys per node in plain arrays
+//
+//   inner node   keys[0..size)  separators; children[i] holds keys in [keys[i-1], keys[i])
+//   leaf node    keys[0..size)  + values[0..size), linked to prev / next leaf
+//
+//   - a lookup reads ~log64(n) small arrays instead of log2(n) scattered
+//     TreeMap entries, and the binary search inside a node stays in cache
+//   - range scans walk the leaf chain: sequential array reads, no parent pointers
+//   - fromSorted() fills leaves left to right and builds each inner level once: O(n)
+//   - remove() does not merge underfull leaves (empty leaves are skipped by scans);
+//     rebuild with fromSorted() after mass deletions
+//
+// Node arrays have one spare slot, so an insert always fits and a full node is
+// split right after. Not thread-safe, like TreeMap.
+class BPlusTreeMap<K, V> {
+    static final int LEAF_CAPACITY = 64;
+    static final int INNER_CAPACITY = 64;
+
+    private abstract static class Node {
+        final Object[] keys;
+        int size;
+
+        Node(int capacity) {
+            keys = new Object[capacity + 1];
+        }
+    }
+
+    private static final class Leaf extends Node {
+        final Object[] values = new Object[LEAF_CAPACITY + 1];
+        Leaf prev, next;
+
+        Leaf() {
+            super(LEAF_CAPACITY);
+        }
+    }
+
+    private static final class Inner extends Node {
+        final Node[] children = new Node[INNER_CAPACITY + 2];
+
+        Inner() {
+            super(INNER_CAPACITY);
+        }
+    }
+
+    private final Comparator<? super K> comparator;
+    private Node root;
+    private Leaf first, last;
+    private int size = 0;
+    private Inner[] path = new Inner[16];
+    private int[] slots = new int[16];
+
+    @SuppressWarnings("unchecked")
+    BPlusTreeMap() {
+        this((a, b) -> ((Comparable<? super K>) a).compareTo(b));
+    }
+
+    BPlusTreeMap(Comparator<? super K> comparator) {
+        this.comparator = comparator;
+        Leaf leaf = new Leaf();
+        root = first = last = leaf;
+    }
+
+    @SuppressWarnings("unchecked")
+    private int compare(Object a, Object b) {
+        return comparator.compare((K) a, (K) b);
+    }
+
+    // First index with keys[i] >= key
+    private int lowerBound(Node node, Object key) {
+        int lo = 0, hi = node.size;
+        while (lo < hi) {
+            int mid = (lo + hi) >>> 1;
+            if (compare(node.keys[mid], key) < 0) {
+                lo = mid + 1;
+            } else {
+                hi = mid;
+            }
+        }
+        return lo;
+    }
+
+    // First index with keys[i] > key
+    private int upperBound(Node node, Object key) {
+        int lo = 0, hi = node.size;
+        while (lo < hi) {
+            int mid = (lo + hi) >>> 1;
+            if (compare(node.keys[mid], key) <= 0) {
+                lo = mid + 1;
+            } else {
+                hi = mid;
+            }
+        }
+        return lo;
+    }
+
+    private Leaf findLeaf(Object key) {
+        Node node = root;
+        while (node instanceof Inner) {
+            Inner inner = (Inner) node;
+            node = inner.children[upperBound(inner, key)];
+        }
+        return (Leaf) node;
+    }
+
+    int size() {
+        return size;
+    }
+
+    boolean isEmpty() {
+        return size == 0;
+    }
+
+    @SuppressWarnings("unchecked")
+    V get(K key) {
+        Leaf leaf = findLeaf(key);
+        int i = lowerBound(leaf, key);
+        return i < leaf.size && compare(leaf.keys[i], key) == 0 ? (V) leaf.values[i] : null;
+    }
+
+    boolean containsKey(K key) {
+        Leaf leaf = findLeaf(key);
+        int i = lowerBound(leaf, key);
+        return i < leaf.size && compare(leaf.keys[i], key) == 0;
+    }
+
+    // Returns the previous value, or null
+    @SuppressWarnings("unchecked")
+    V put(K key, V value) {
+        Node node = root;
+        int depth = 0;
+        while (node instanceof Inner) {
+            Inner inner = (Inner) node;
+            int slot = upperBound(inner, key);
+            if (depth == path.length) {
+                path = Arrays.copyOf(path, depth * 2);
+                slots = Arrays.copyOf(slots, depth * 2);
+            }
+            path[depth] = inner;
+            slots[depth++] = slot;
+            node = inner.children[slot];
+        }
+        Leaf leaf = (Leaf) node;
+        int i = lowerBound(leaf, key);
+        if (i < leaf.size && compare(leaf.keys[i], key) == 0) {
+            V old = (V) leaf.values[i];
+            leaf.values[i] = value;
+            return old;
+        }
+        System.arraycopy(leaf.keys, i, leaf.keys, i + 1, leaf.size - i);
+        System.arraycopy(leaf.values, i, leaf.values, i + 1, leaf.size - i);
+        leaf.keys[i] = key;
+        leaf.values[i] = value;
+        leaf.size++;
+        size++;
+        if (leaf.size > LEAF_CAPACITY) {
+            splitLeaf(leaf, depth);
+        }
+        return null;
+    }
+
+    private void splitLeaf(Leaf leaf, int depth) {
+        Leaf right = new Leaf();
+        int half = leaf.size / 2, moved = leaf.size - half;
+        System.arraycopy(leaf.keys, half, right.keys, 0, moved);
+        System.arraycopy(leaf.values, half, right.values, 0, moved);
+        Arrays.fill(leaf.keys, half, leaf.size, null);
+        Arrays.fill(leaf.values, half, leaf.size, null);
+        right.size = moved;
+        leaf.size = half;
+        right.next = leaf.next;
+        right.prev = leaf;
+        if (leaf.next != null) {
+            leaf.next.prev = right;
+        } else {
+            last = right;
+        }
+        leaf.next = right;
+
+        Object separator = right.keys[0];
+        Node child = right;
+        while (depth > 0) {
+            Inner parent = path[--depth];
+            int slot = slots[depth];
+            System.arraycopy(parent.keys, slot, parent.keys, slot + 1, parent.size - slot);
+            System.arraycopy(parent.children, slot + 1, parent.children, slot + 2, parent.size - slot);
+            parent.keys[slot] = separator;
+            parent.children[slot + 1] = child;
+            parent.size++;
+            if (parent.size <= INNER_CAPACITY) {
+                return;
+            }
+            // the middle separator moves up, the right half goes to a new node
+            Inner sibling = new Inner();
+            int mid = parent.size / 2, movedKeys = parent.size - mid - 1;
+            System.arraycopy(parent.keys, mid + 1, sibling.keys, 0, movedKeys);
+            System.arraycopy(parent.children, mid + 1, sibling.children, 0, movedKeys + 1);
+            separator = parent.keys[mid];
+            Arrays.fill(parent.keys, mid, parent.size, null);
+            Arrays.fill(parent.children, mid + 1, parent.size + 1, null);
+            sibling.size = movedKeys;
+            parent.size = mid;
+            child = sibling;
+        }
+        Inner newRoot = new Inner();
+        newRoot.keys[0] = separator;
+        newRoot.children[0] = root;
+        newRoot.children[1] = child;
+        newRoot.size = 1;
+        root = newRoot;
+    }
+
+    // Returns the removed value, or null
+    @SuppressWarnings("unchecked")
+    V remove(K key) {
+        Leaf leaf = findLeaf(key);
+        int i = lowerBound(leaf, key);
+        if (i == leaf.size || compare(leaf.keys[i], key) != 0) {
+            return null;
+        }
+        V old = (V) leaf.values[i];
+        System.arraycopy(leaf.keys, i + 1, leaf.keys, i, leaf.size - i - 1);
+        System.arraycopy(leaf.values, i + 1, leaf.values, i, leaf.size - i - 1);
+        leaf.size--;
+        leaf.keys[leaf.size] = null;
+        leaf.values[leaf.size] = null;
+        size--;
+        return old;
+    }
+
+    // Cursor over the leaf chain; valid() is false once it runs off either end
+    final class Cursor {
+        private Leaf leaf;
+        private int index;
+
+        private Cursor(Leaf leaf, int index) {
+            this.leaf = leaf;
+            this.index = index;
+        }
+
+        boolean valid() {
+            return leaf != null;
+        }
+
+        @SuppressWarnings("unchecked")
+        K key() {
+            return (K) leaf.keys[index];
+        }
+
+        @SuppressWarnings("unchecked")
+        V value() {
+            return (V) leaf.values[index];
+        }
+
+        void next() {
+            index++;
+            skipForward();
+        }
+
+        void previous() {
+            index--;
+            skipBackward();
+        }
+
+        private Cursor skipForward() {
+            while (leaf != null && index >= leaf.size) {
+                leaf = leaf.next;
+                index = 0;
+            }
+            return this;
+        }
+
+        private Cursor skipBackward() {
+            while (leaf != null && index < 0) {
+                leaf = leaf.prev;
+                index = leaf == null ? 0 : leaf.size - 1;
+            }
+            return this;
+        }
+    }
+
+    // Ascending from the first key >= from
+    Cursor ceiling(K from) {
+        Leaf leaf = findLeaf(from);
+        return new Cursor(leaf, lowerBound(leaf, from)).skipForward();
+    }
+
+    // Descending from the last key <= from (walk with previous())
+    Cursor floor(K from) {
+        Leaf leaf = findLeaf(from);
+        return new Cursor(leaf, upperBound(leaf, from) - 1).skipBackward();
+    }
+
+    Cursor firstEntry() {
+        return new Cursor(first, 0).skipForward();
+    }
+
+    Cursor lastEntry() {
+        return new Cursor(last, last.size - 1).skipBackward();
+    }
+
+    K firstKey() {
+        Cursor c = firstEntry();
+        return c.valid() ? c.key() : null;
+    }
+
+    K lastKey() {
+        Cursor c = lastEntry();
+        return c.valid() ? c.key() : null;
+    }
+
+    K ceilingKey(K key) {
+        Cursor c = ceiling(key);
+        return c.valid() ? c.key() : null;
+    }
+
+    K floorKey(K key) {
+        Cursor c = floor(key);
+        return c.valid() ? c.key() : null;
+    }
+
+    // Bulk load from strictly ascending keys: the fewest leaves that fit n keys, with
+    // the keys spread evenly so leaf sizes differ by at most one; inner levels are
+    // built bottom-up the same way. O(n), no comparisons beyond the order check.
+    static <K, V> BPlusTreeMap<K, V> fromSorted(Comparator<? super K> comparator, List<? extends K> keys,
+            List<? extends V> values) {
+        BPlusTreeMap<K, V> map = new BPlusTreeMap<>(comparator);
+        int n = keys.size();
+        if (n == 0) {
+            return map;
+        }
+        int leafCount = (n + LEAF_CAPACITY - 1) / LEAF_CAPACITY;
+        Node[] level = new Node[leafCount];
+        Object[] minKeys = new Object[leafCount];
+        Leaf prev = null;
+        int k = 0;
+        for (int l = 0; l < leafCount; l++) {
+            Leaf leaf = new Leaf();
+            int count = n / leafCount + (l < n % leafCount ? 1 : 0);
+            for (int j = 0; j < count; j++, k++) {
+                K key = keys.get(k);
+                if (k > 0 && comparator.compare(keys.get(k - 1), key) >= 0) {
+                    throw new IllegalArgumentException("Keys are not strictly ascending at index " + k);
+                }
+                leaf.keys[j] = key;
+                leaf.values[j] = values.get(k);
+            }
+            leaf.size = count;
+            leaf.prev = prev;
+            if (prev != null) {
+                prev.next = leaf;
+            }
+            prev = leaf;
+            level[l] = leaf;
+            minKeys[l] = leaf.keys[0];
+        }
+        map.first = (Leaf) level[0];
+        map.last = prev;
+        map.size = n;
+
+        while (level.length > 1) {
+            int groups = (level.length + INNER_CAPACITY) / (INNER_CAPACITY + 1);
+            Node[] parents = new Node[groups];
+            Object[] parentMins = new Object[groups];
+            int c = 0;
+            for (int g = 0; g < groups; g++) {
+                Inner inner = new Inner();
+                int count = level.length / groups + (g < level.length % groups ? 1 : 0);
+                parentMins[g] = minKeys[c];
+                for (int j = 0; j < count; j++, c++) {
+                    inner.children[j] = level[c];
+                    if (j > 0) {
+                        inner.keys[j - 1] = minKeys[c];
+                    }
+                }
+                inner.size = count - 1;
+                parents[g] = inner;
+            }
+            level = parents;
+            minKeys = parentMins;
+        }
+        map.root = level[0];
+        return map;
+    }
+}
+
+// IntBPlusTreeMap: BPlusTreeMap specialized for int keys
+//
+// Keys live in int[] node arrays, so a search compares ints in place instead of
+// following a pointer to an Integer per step, and a leaf of 64 keys is 256 bytes.
+// Navigation methods return a long: the key found, or NONE.
+class IntBPlusTreeMap<V> {
+    static final long NONE = Long.MIN_VALUE;
+    static final int LEAF_CAPACITY = 64;
+    static final int INNER_CAPACITY = 64;
+
+    private abstract static class Node {
+        final int[] keys;
+        int size;
+
+        Node(int capacity) {
+            keys = new int[capacity + 1];
+        }
+    }
+
+    private static final class Leaf extends Node {
+        final Object[] values = new Object[LEAF_CAPACITY + 1];
+        Leaf prev, next;
+
+        Leaf() {
+            super(LEAF_CAPACITY);
+        }
+    }
+
+    private static final class Inner extends Node {
+        final Node[] children = new Node[INNER_CAPACITY + 2];
+
+        Inner() {
+            super(INNER_CAPACITY);
+        }
+    }
+
+    private Node root;
+    private Leaf first, last;
+    private int size = 0;
+    private Inner[] path = new Inner[16];
+    private int[] slots = new int[16];
+
+    IntBPlusTreeMap() {
+        Leaf leaf = new Leaf();
+        root = first = last = leaf;
+    }
+
+    private static int lowerBound(Node node, int key) {
+        int lo = 0, hi = node.size;
+        while (lo < hi) {
+            int mid = (lo + hi) >>> 1;
+            if (node.keys[mid] < key) {
+                lo = mid + 1;
+            } else {
+                hi = mid;
+            }
+        }
+        return lo;
+    }
+
+    private static int upperBound(Node node, int key) {
+        int lo = 0, hi = node.size;
+        while (lo < hi) {
+            int mid = (lo + hi) >>> 1;
+            if (node.keys[mid] <= key) {
+                lo = mid + 1;
+            } else {
+                hi = mid;
+            }
+        }
+        return lo;
+    }
+
+    private Leaf findLeaf(int key) {
+        Node node = root;
+        while (node instanceof Inner) {
+            Inner inner = (Inner) node;
+            node = inner.children[upperBound(inner, key)];
+        }
+        return (Leaf) node;
+    }
+
+    int size() {
+        return size;
+    }
+
+    boolean isEmpty() {
+        return size == 0;
+    }
+
+    @SuppressWarnings("unchecked")
+    V get(int key) {
+        Leaf leaf = findLeaf(key);
+        int i = lowerBound(leaf, key);
+        return i < leaf.size && leaf.keys[i] == key ? (V) leaf.values[i] : null;
+    }
+
+    boolean containsKey(int key) {
+        Leaf leaf = findLeaf(key);
+        int i = lowerBound(leaf, key);
+        return i < leaf.size && leaf.keys[i] == key;
+    }
+
+    @SuppressWarnings("unchecked")
+    V put(int key, V value) {
+        Node node = root;
+        int depth = 0;
+        while (node instanceof Inner) {
+            Inner inner = (Inner) node;
+            int slot = upperBound(inner, key);
+            if (depth == path.length) {
+                path = Arrays.copyOf(path, depth * 2);
+                slots = Arrays.copyOf(slots, depth * 2);
+            }
+            path[depth] = inner;
+            slots[depth++] = slot;
+            node = inner.children[slot];
+        }
+        Leaf leaf = (Leaf) node;
+        int i = lowerBound(leaf, key);
+        if (i < leaf.size && leaf.keys[i] == key) {
+            V old = (V) leaf.values[i];
+            leaf.values[i] = value;
+            return old;
+        }
+        System.arraycopy(leaf.keys, i, leaf.keys, i + 1, leaf.size - i);
+        System.arraycopy(leaf.values, i, leaf.values, i + 1, leaf.size - i);
+        leaf.keys[i] = key;
+        leaf.values[i] = value;
+        leaf.size++;
+        size++;
+        if (leaf.size > LEAF_CAPACITY) {
+            splitLeaf(leaf, depth);
+        }
+        return null;
+    }
+
+    private void splitLeaf(Leaf leaf, int depth) {
+        Leaf right = new Leaf();
+        int half = leaf.size / 2, moved = leaf.size - half;
+        System.arraycopy(leaf.keys, half, right.keys, 0, moved);
+        System.arraycopy(leaf.values, half, right.values, 0, moved);
+        Arrays.fill(leaf.values, half, leaf.size, null);
+        right.size = moved;
+        leaf.size = half;
+        right.next = leaf.next;
+        right.prev = leaf;
+        if (leaf.next != null) {
+            leaf.next.prev = right;
+        } else {
+            last = right;
+        }
+        leaf.next = right;
+
+        int separator = right.keys[0];
+        Node child = right;
+        while (depth > 0) {
+            Inner parent = path[--depth];
+            int slot = slots[depth];
+            System.arraycopy(parent.keys, slot, parent.keys, slot + 1, parent.size - slot);
+            System.arraycopy(parent.children, slot + 1, parent.children, slot + 2, parent.size - slot);
+            parent.keys[slot] = separator;
+            parent.children[slot + 1] = child;
+            parent.size++;
+            if (parent.size <= INNER_CAPACITY) {
+                return;
+            }
+            Inner sibling = new Inner();
+            int mid = parent.size / 2, movedKeys = parent.size - mid - 1;
+            System.arraycopy(parent.keys, mid + 1, sibling.keys, 0, movedKeys);
+            System.arraycopy(parent.children, mid + 1, sibling.children, 0, movedKeys + 1);
+            separator = parent.keys[mid];
+            Arrays.fill(parent.children, mid + 1, parent.size + 1, null);
+            sibling.size = movedKeys;
+            parent.size = mid;
+            child = sibling;
+        }
+        Inner newRoot = new Inner();
+        newRoot.keys[0] = separator;
+        newRoot.children[0] = root;
+        newRoot.children[1] = child;
+        newRoot.size = 1;
+        root = newRoot;
+    }
+
+    @SuppressWarnings("unchecked")
+    V remove(int key) {
+        Leaf leaf = findLeaf(key);
+        int i = lowerBound(leaf, key);
+        if (i == leaf.size || leaf.keys[i] != key) {
+            return null;
+        }
+        V old = (V) leaf.values[i];
+        System.arraycopy(leaf.keys, i + 1, leaf.keys, i, leaf.size - i - 1);
+        System.arraycopy(leaf.values, i + 1, leaf.values, i, leaf.size - i - 1);
+        leaf.size--;
+        leaf.values[leaf.size] = null;
+        size--;
+        return old;
+    }
+
+    final class Cursor {
+        private Leaf leaf;
+        private int index;
+
+        private Cursor(Leaf leaf, int index) {
+            this.leaf = leaf;
+            this.index = index;
+        }
+
+        boolean valid() {
+            return leaf != null;
+        }
+
+        int key() {
+            return leaf.keys[index];
+        }
+
+        @SuppressWarnings("unchecked")
+        V value() {
+            return (V) leaf.values[index];
+        }
+
+        void next() {
+            index++;
+            skipForward();
+        }
+
+        void previous() {
+            index--;
+            skipBackward();
+        }
+
+        private Cursor skipForward() {
+            while (leaf != null && index >= leaf.size) {
+                leaf = leaf.next;
+                index = 0;
+            }
+            return this;
+        }
+
+        private Cursor skipBackward() {
+            while (leaf != null && index < 0) {
+                leaf = leaf.prev;
+                index = leaf == null ? 0 : leaf.size - 1;
+            }
+            return this;
+        }
+    }
+
+    // Ascending from the first key >= from
+    Cursor ceiling(int from) {
+        Leaf leaf = findLeaf(from);
+        return new Cursor(leaf, lowerBound(leaf, from)).skipForward();
+    }
+
+    // Ascending from the first key > from
+    Cursor higher(int from) {
+        Leaf leaf = findLeaf(from);
+        return new Cursor(leaf, upperBound(leaf, from)).skipForward();
+    }
+
+    // Descending from the last key <= from (walk with previous())
+    Cursor floor(int from) {
+        Leaf leaf = findLeaf(from);
+        return new Cursor(leaf, upperBound(leaf, from) - 1).skipBackward();
+    }
+
+    // Descending from the last key < from
+    Cursor lower(int from) {
+        Leaf leaf = findLeaf(from);
+        return new Cursor(leaf, lowerBound(leaf, from) - 1).skipBackward();
+    }
+
+    Cursor firstEntry() {
+        return new Cursor(first, 0).skipForward();
+    }
+
+    Cursor lastEntry() {
+        return new Cursor(last, last.size - 1).skipBackward();
+    }
+
+    private static long keyOf(IntBPlusTreeMap<?>.Cursor c) {
+        return c.valid() ? c.key() : NONE;
+    }
+
+    long firstKey() {
+        return keyOf(firstEntry());
+    }
+
+    long lastKey() {
+        return keyOf(lastEntry());
+    }
+
+    long ceilingKey(int key) {
+        return keyOf(ceiling(key));
+    }
+
+    long higherKey(int key) {
+        return keyOf(higher(key));
+    }
+
+    long floorKey(int key) {
+        return keyOf(floor(key));
+    }
+
+    long lowerKey(int key) {
+        return keyOf(lower(key));
+    }
+
+    // Keys in [from, to) as an ascending array
+    int[] keysInRange(int from, int to) {
+        int[] out = new int[16];
+        int n = 0;
+        for (Cursor c = ceiling(from); c.valid() && c.key() < to; c.next()) {
+            if (n == out.length) {
+                out = Arrays.copyOf(out, n * 2);
+            }
+            out[n++] = c.key();
+        }
+        return Arrays.copyOf(out, n);
+    }
+
+    // Bulk load from strictly ascending keys; valueOf(i) supplies the value for keys[i]
+    static <V> IntBPlusTreeMap<V> fromSorted(int[] keys, int length, IntFunction<? extends V> valueOf) {
+        IntBPlusTreeMap<V> map = new IntBPlusTreeMap<>();
+        if (length == 0) {
+            return map;
+        }
+        int leafCount = (length + LEAF_CAPACITY - 1) / LEAF_CAPACITY;
+        Node[] level = new Node[leafCount];
+        int[] minKeys = new int[leafCount];
+        Leaf prev = null;
+        int k = 0;
+        for (int l = 0; l < leafCount; l++) {
+            Leaf leaf = new Leaf();
+            int count = length / leafCount + (l < length % leafCount ? 1 : 0);
+            for (int j = 0; j < count; j++, k++) {
+                if (k > 0 && keys[k - 1] >= keys[k]) {
+                    throw new IllegalArgumentException("Keys are not strictly ascending at index " + k);
+                }
+                leaf.keys[j] = keys[k];
+                leaf.values[j] = valueOf.apply(k);
+            }
+            leaf.size = count;
+            leaf.prev = prev;
+            if (prev != null) {
+                prev.next = leaf;
+            }
+            prev = leaf;
+            level[l] = leaf;
+            minKeys[l] = leaf.keys[0];
+        }
+        map.first = (Leaf) level[0];
+        map.last = prev;
+        map.size = length;
+
+        while (level.length > 1) {
+            int groups = (level.length + INNER_CAPACITY) / (INNER_CAPACITY + 1);
+            Node[] parents = new Node[groups];
+            int[] parentMins = new int[groups];
+            int c = 0;
+            for (int g = 0; g < groups; g++) {
+                Inner inner = new Inner();
+                int count = level.length / groups + (g < level.length % groups ? 1 : 0);
+                parentMins[g] = minKeys[c];
+                for (int j = 0; j < count; j++, c++) {
+                    inner.children[j] = level[c];
+                    if (j > 0) {
+                        inner.keys[j - 1] = minKeys[c];
+                    }
+                }
+                inner.size = count - 1;
+                parents[g] = inner;
+            }
+            level = parents;
+            minKeys = parentMins;
+        }
+        map.root = level[0];
+        return map;
+    }
+}
+
+class BPlusTreeBenchmark {
+    // Best of several runs, in milliseconds
+    static double bestMillis(Runnable r, int runs) {
+        long best = Long.MAX_VALUE;
+        for (int i = 0; i < runs; i++) {
+            long start = System.nanoTime();
+            r.run();
+            best = Math.min(best, System.nanoTime() - start);
+        }
+        return best / 1e6;
+    }
+}
+
+public class bplus_tree_map {
+    static String show(long key) {
+        return key == IntBPlusTreeMap.NONE ? "none" : String.valueOf(key);
+    }
+
+    public static void main(String[] args) {
+        System.out.println("=== B+-TREE MAP ===\n");
+
+        // Example 1: TreeSetCeilingFloor / TreeSetHigherLower / TreeSetSubSet on int keys
+        IntBPlusTreeMap<String> grades = new IntBPlusTreeMap<>();
+        for (int score : new int[] { 50, 20, 80, 10, 40, 70, 30, 60 }) {
+            grades.put(score, "Score " + score);
+        }
+        System.out.println("Keys: " + Arrays.toString(grades.keysInRange(Integer.MIN_VALUE, Integer.MAX_VALUE)));
+        System.out.println("Ceiling of 25: " + show(grades.ceilingKey(25)) + ", floor of 25: " + show(grades.floorKey(25))
+                + ", higher than 80: " + show(grades.higherKey(80)) + ", lower than 10: " + show(grades.lowerKey(10)));
+        System.out.println("SubSet (20 to 50): " + Arrays.toString(grades.keysInRange(20, 50)));
+        StringBuilder descending = new StringBuilder();
+        for (IntBPlusTreeMap<String>.Cursor c = grades.lastEntry(); c.valid(); c.previous()) {
+            descending.append(c.key()).append(' ');
+        }
+        System.out.println("Descending: " + descending.toString().trim());
+
+        // Example 2: capstone_project's topStudents ordering in the generic map
+        BPlusTreeMap<CapstoneStudent, String> topStudents = new BPlusTreeMap<>();
+        topStudents.put(new CapstoneStudent(1, "Alice", 3.8, "Computer Science"), "Dean's list");
+        topStudents.put(new CapstoneStudent(2, "Bob", 3.5, "Mathematics"), "Good standing");
+        topStudents.put(new CapstoneStudent(3, "Charlie", 3.9, "Physics"), "Dean's list");
+        System.out.println("\nStudents ranked by GPA:");
+        int rank = 1;
+        for (BPlusTreeMap<CapstoneStudent, String>.Cursor c = topStudents.firstEntry(); c.valid(); c.next()) {
+            System.out.println("   Rank " + rank++ + ": " + c.key() + " - " + c.value());
+        }
+
+        // Example 3: Random operations agree with TreeMap (enough keys for several levels),
+        // for the int-keyed map and the generic one
+        IntBPlusTreeMap<Integer> checked = new IntBPlusTreeMap<>();
+        BPlusTreeMap<Integer, Integer> generic = new BPlusTreeMap<>();
+        TreeMap<Integer, Integer> reference = new TreeMap<>();
+        Random random = new Random(7);
+        boolean agree = true;
+        for (int i = 0; i < 500_000; i++) {
+            int key = random.nextInt(200_000) - 100_000;
+            switch (random.nextInt(6)) {
+                case 0:
+                case 1:
+                    Integer old = reference.put(key, i);
+                    agree &= Objects.equals(checked.put(key, i), old) && Objects.equals(generic.put(key, i), old);
+                    break;
+                case 2:
+                    Integer removed = reference.remove(key);
+                    agree &= Objects.equals(checked.remove(key), removed) && Objects.equals(generic.remove(key), removed);
+                    break;
+                case 3:
+                    Integer c = reference.ceilingKey(key);
+                    agree &= checked.ceilingKey(key) == (c == null ? IntBPlusTreeMap.NONE : c)
+                            && Objects.equals(generic.ceilingKey(key), c);
+                    break;
+                case 4:
+                    Integer f = reference.lowerKey(key);
+                    agree &= checked.lowerKey(key) == (f == null ? IntBPlusTreeMap.NONE : f)
+                            && Objects.equals(generic.floorKey(key), reference.floorKey(key));
+                    break;
+                default:
+                    Integer v = reference.get(key);
+                    agree &= Objects.equals(checked.get(key), v) && Objects.equals(generic.get(key), v);
+            }
+        }
+        agree &= checked.size() == reference.size() && generic.size() == reference.size();
+        Iterator<Map.Entry<Integer, Integer>> expected = reference.entrySet().iterator();
+        for (BPlusTreeMap<Integer, Integer>.Cursor cur = generic.firstEntry(); cur.valid(); cur.next()) {
+            Map.Entry<Integer, Integer> e = expected.next();
+            agree &= cur.key().equals(e.getKey()) && cur.value().equals(e.getValue());
+        }
+        System.out.println("\n500,000 random operations agree with TreeMap (IntBPlusTreeMap and BPlusTreeMap): "
+                + agree);
+
+        // Example 4: 10M keys - bulk load, lookups and range scans vs TreeSet
+        int n = args.length > 0 ? Integer.parseInt(args[0]) : 10_000_000;
+        int[] keys = new int[n];
+        for (int i = 0; i < n; i++) {
+            keys[i] = 2 * i;
+        }
+        System.out.printf("%n%,d keys:%n", n);
+
+        long t0 = System.nanoTime();
+        TreeSet<Integer> treeSet = new TreeSet<>();
+        for (int k : keys) {
+            treeSet.add(k);
+        }
+        long t1 = System.nanoTime();
+        IntBPlusTreeMap<Boolean> tree = IntBPlusTreeMap.fromSorted(keys, n, i -> Boolean.TRUE);
+        long t2 = System.nanoTime();
+        System.out.printf("%-26s | %14s | %14s%n", "", "TreeSet", "IntBPlusTreeMap");
+        System.out.printf("%-26s | %14.1f | %14.1f%n", "Build (ms)", (t1 - t0) / 1e6, (t2 - t1) / 1e6);
+
+        int[] probes = new int[1_000_000];
+        for (int i = 0; i < probes.length; i++) {
+            probes[i] = random.nextInt(2 * n);
+        }
+        long[] sink = new long[2];
+        double treeSetLookup = BPlusTreeBenchmark.bestMillis(() -> {
+            for (int p : probes) {
+                sink[0] += treeSet.contains(p) ? 1 : 0;
+            }
+        }, 3);
+        double bplusLookup = BPlusTreeBenchmark.bestMillis(() -> {
+            for (int p : probes) {
+                sink[1] += tree.containsKey(p) ? 1 : 0;
+            }
+        }, 3);
+        System.out.printf("%-26s | %14.1f | %14.1f  (%.1fx)%n", "1M random lookups (ms)", treeSetLookup, bplusLookup,
+                treeSetLookup / bplusLookup);
+
+        int ranges = 10_000, width = 2_000; // 1,000 keys per range
+        int[] starts = new int[ranges];
+        for (int i = 0; i < ranges; i++) {
+            starts[i] = random.nextInt(2 * n - width);
+        }
+        double treeSetRanges = BPlusTreeBenchmark.bestMillis(() -> {
+            for (int s : starts) {
+                for (int k : treeSet.subSet(s, s + width)) {
+                    sink[0] += k;
+                }
+            }
+        }, 3);
+        double bplusRanges = BPlusTreeBenchmark.bestMillis(() -> {
+            for (int s : starts) {
+                for (IntBPlusTreeMap<Boolean>.Cursor c = tree.ceiling(s); c.valid() && c.key() < s + width; c.next()) {
+                    sink[1] += c.key();
+                }
+            }
+        }, 3);
+        System.out.printf("%-26s | %14.1f | %14.1f  (%.1fx)%n", "10K range scans (ms)", treeSetRanges, bplusRanges,
+                treeSetRanges / bplusRanges);
+
+        double treeSetScan = BPlusTreeBenchmark.bestMillis(() -> {
+            for (int k : treeSet) {
+                sink[0] += k;
+            }
+        }, 3);
+        double bplusScan = BPlusTreeBenchmark.bestMillis(() -> {
+            for (IntBPlusTreeMap<Boolean>.Cursor c = tree.firstEntry(); c.valid(); c.next()) {
+                sink[1] += c.key();
+            }
+        }, 3);
+        System.out.printf("%-26s | %14.1f | %14.1f  (%.1fx)%n", "Full scan (ms)", treeSetScan, bplusScan,
+                treeSetScan / bplusScan);
+        System.out.println("Same checksums: " + (sink[0] == sink[1]));
+
+        System.out.println("\n=== B+-TREE MAP COMPLETED ===");
+    }
+}
@@ -1,49 +1,10 @@
 // Capstone Project: CapstoneStudent Management System
 // Uses multiple collection types to demonstrate their usage
+// Compile:  javac capstone_project.java  (javac picks up CapstoneStudent.java and IntHashSet.java
+//           from this folder)
 
 import java.util.*;
 
-// CapstoneStudent class
-class CapstoneStudent implements Comparable<CapstoneStudent> {
-    private int id;
-    private String name;
-    private double gpa;
-    private String department;
-
-    public CapstoneStudent(int id, String name, double gpa, String department) {
-        this.id = id;
-        this.name = name;
-        this.gpa = gpa;
-        this.department = department;
-    }
-
-    public int getId() {
-        return id;
-    }
-
-    public String getName() {
-        return name;
-    }
-
-    public double getGpa() {
-        return gpa;
-    }
-
-    public String getDepartment() {
-        return department;
-    }
-
-    // For TreeSet sorting by GPA
-    public int compareTo(CapstoneStudent other) {
-        return Double.compare(other.gpa, this.gpa); // Descending order
-    }
-
-    public String toString() {
-        return String.format("ID: %d, Name: %-15s, GPA: %.2f, Dept: %s",
-                id, name, gpa, department);
-    }
-}
-
 // Course class for PriorityQueue
 class Course implements Comparable<Course> {
     String name;
@@ -55,7 +16,7 @@ class Course implements Comparable<Course> {
     }
 
     public int compareTo(Course other) {
-        return this.priority - other.priority;
+        return Integer.compare(this.priority, other.priority);
     }
 
     public String toString() {
@@ -72,8 +33,8 @@ public class capstone_project {
     // LinkedList: Waitlist for courses
     private static LinkedList<String> waitlist = new LinkedList<>();
 
-    // HashSet: Unique student IDs
-    private static HashSet<Integer> studentIds = new HashSet<>();
+    // IntHashSet: Unique student IDs (primitive HashSet, see IntHashSet.java)
+    private static IntHashSet studentIds = new IntHashSet();
 
     // TreeSet: Students sorted by GPA
     private static TreeSet<CapstoneStudent> topStudents = new TreeSet<>();
@@ -84,7 +45,8 @@ public class capstone_project {
     // PriorityQueue: Course registration priority
     private static PriorityQueue<Course> coursePriority = new PriorityQueue<>();
 
-    // ArrayDeque: Recent activities
+    // ArrayDeque: Recent activities, newest first, bounded so it cannot grow forever
+    private static final int MAX_RECENT_ACTIVITIES = 100;
     private static ArrayDeque<String> recentActivities = new ArrayDeque<>();
 
     public static void main(String[] args) {
@@ -138,6 +100,9 @@ public class capstone_project {
             allStudents.add(student);
             topStudents.add(student);
             recentActivities.addFirst("Added student: " + name);
+            if (recentActivities.size() > MAX_RECENT_ACTIVITIES) {
+                recentActivities.removeLast(); // drop the oldest
+            }
         } else {
             System.out.println("CapstoneStudent ID " + id + " already exists!");
         }
@@ -165,7 +130,7 @@ public class capstone_project {
     }
 
     private static void demonstrateHashSet() {
-        System.out.println("3. HASHSET - Unique CapstoneStudent IDs");
+        System.out.println("3. INTHASHSET - Unique CapstoneStudent IDs");
         System.out.println("Registered IDs: " + studentIds);
         System.out.println("Total unique IDs: " + studentIds.size());
         System.out.println();
@@ -217,7 +182,7 @@ public class capstone_project {
         System.out.println("Collections Used:");
         System.out.println("✓ ArrayList      - Store all students");
         System.out.println("✓ LinkedList     - Manage waitlist (FIFO)");
-        System.out.println("✓ HashSet        - Track unique IDs");
+        System.out.println("✓ IntHashSet     - Track unique IDs (no boxing)");
         System.out.println("✓ TreeSet        - Rank students by GPA");
         System.out.println("✓ LinkedHashSet  - Preserve enrollment order");
         System.out.println("✓ PriorityQueue  - Prioritize course registration");
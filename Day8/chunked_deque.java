@@ -0,0 +1,560 @@
+// Chunked Deque - Unrolled Linked List Deque with Recycled Chunks
+// Compile:  javac chunked_deque.java  (standalone, no other files needed)
+// Run:      java chunked_deque [operations]
+
+import java.lang.management.ManagementFactory;
+import java.nio.file.Paths;
+import java.util.*;
+
+// ChunkedDeque: doubly linked list of 64-slot arrays instead of one node per element
+//
+//   head chunk [ . . . . A B C ]  <->  [ D E F G H I J ]  <->  [ K L . . . . . ]  tail chunk
+//                        ^ headIndex                                 ^ tailIndex (exclusive)
+//
+//   - addFirst / addLast write into the end chunk and link a new chunk only when it is full
+//   - a chunk emptied by removeFirst / removeLast goes to a small free pool and is
+//     reused by the next add, so a queue that stays around the same size stops allocating
+//   - when the deque becomes empty both indexes move to the middle of the chunk,
+//     so either end can grow without linking a new chunk right away
+//   - implements Deque, so it drops in wherever LinkedList is used as a queue or stack;
+//     removing from the middle (remove(Object), iterator remove) shifts later elements, O(n)
+//   - not thread-safe, like LinkedList and ArrayDeque; null elements are rejected
+class ChunkedDeque<E> extends AbstractCollection<E> implements Deque<E> {
+    static final int CHUNK_SIZE = 64;
+
+    private static final class Chunk {
+        final Object[] items = new Object[CHUNK_SIZE];
+        Chunk prev, next;
+    }
+
+    private final int maxPooled;
+    private Chunk pool; // free chunks, linked through next
+    private int pooled = 0;
+
+    private Chunk head, tail;
+    private int headIndex, tailIndex;
+    private int size = 0;
+    private long chunksAllocated = 0;
+
+    ChunkedDeque() {
+        this(16);
+    }
+
+    // maxPooled: how many empty chunks to keep for reuse
+    ChunkedDeque(int maxPooled) {
+        this.maxPooled = maxPooled;
+        head = tail = newChunk();
+        headIndex = tailIndex = CHUNK_SIZE / 2;
+    }
+
+    private Chunk newChunk() {
+        if (pool != null) {
+            Chunk c = pool;
+            pool = c.next;
+            pooled--;
+            c.next = null;
+            return c;
+        }
+        chunksAllocated++;
+        return new Chunk();
+    }
+
+    private void recycle(Chunk c) {
+        c.prev = null;
+        if (pooled < maxPooled) {
+            c.next = pool; // slots are already null
+            pool = c;
+            pooled++;
+        } else {
+            c.next = null;
+        }
+    }
+
+    public void addLast(E e) {
+        Objects.requireNonNull(e);
+        if (tailIndex == CHUNK_SIZE) {
+            Chunk c = newChunk();
+            c.prev = tail;
+            tail.next = c;
+            tail = c;
+            tailIndex = 0;
+        }
+        tail.items[tailIndex++] = e;
+        size++;
+    }
+
+    public void addFirst(E e) {
+        Objects.requireNonNull(e);
+        if (headIndex == 0) {
+            Chunk c = newChunk();
+            c.next = head;
+            head.prev = c;
+            head = c;
+            headIndex = CHUNK_SIZE;
+        }
+        head.items[--headIndex] = e;
+        size++;
+    }
+
+    @SuppressWarnings("unchecked")
+    public E pollFirst() {
+        if (size == 0) {
+            return null;
+        }
+        E e = (E) head.items[headIndex];
+        head.items[headIndex++] = null;
+        size--;
+        if (size == 0) {
+            recenter();
+        } else if (headIndex == CHUNK_SIZE) {
+            Chunk empty = head;
+            head = head.next;
+            head.prev = null;
+            headIndex = 0;
+            recycle(empty);
+        }
+        return e;
+    }
+
+    @SuppressWarnings("unchecked")
+    public E pollLast() {
+        if (size == 0) {
+            return null;
+        }
+        E e = (E) tail.items[--tailIndex];
+        tail.items[tailIndex] = null;
+        size--;
+        if (size == 0) {
+            recenter();
+        } else if (tailIndex == 0) {
+            Chunk empty = tail;
+            tail = tail.prev;
+            tail.next = null;
+            tailIndex = CHUNK_SIZE;
+            recycle(empty);
+        }
+        return e;
+    }
+
+    // Empty deque: keep one chunk, start in its middle
+    private void recenter() {
+        while (head != tail) {
+            Chunk empty = head;
+            head = head.next;
+            recycle(empty);
+        }
+        head.prev = head.next = null;
+        headIndex = tailIndex = CHUNK_SIZE / 2;
+    }
+
+    public E removeFirst() {
+        E e = pollFirst();
+        if (e == null) {
+            throw new NoSuchElementException();
+        }
+        return e;
+    }
+
+    public E removeLast() {
+        E e = pollLast();
+        if (e == null) {
+            throw new NoSuchElementException();
+        }
+        return e;
+    }
+
+    @SuppressWarnings("unchecked")
+    public E peekFirst() {
+        return size == 0 ? null : (E) head.items[headIndex];
+    }
+
+    @SuppressWarnings("unchecked")
+    public E peekLast() {
+        return size == 0 ? null : (E) tail.items[tailIndex - 1];
+    }
+
+    public E getFirst() {
+        E e = peekFirst();
+        if (e == null) {
+            throw new NoSuchElementException();
+        }
+        return e;
+    }
+
+    public E getLast() {
+        E e = peekLast();
+        if (e == null) {
+            throw new NoSuchElementException();
+        }
+        return e;
+    }
+
+    public boolean offerFirst(E e) {
+        addFirst(e);
+        return true;
+    }
+
+    public boolean offerLast(E e) {
+        addLast(e);
+        return true;
+    }
+
+    // Queue methods (LinkedListAsQueue)
+    public boolean add(E e) {
+        addLast(e);
+        return true;
+    }
+
+    public boolean offer(E e) {
+        addLast(e);
+        return true;
+    }
+
+    public E remove() {
+        return removeFirst();
+    }
+
+    public E element() {
+        return getFirst();
+    }
+
+    public E poll() {
+        return pollFirst();
+    }
+
+    public E peek() {
+        return peekFirst();
+    }
+
+    // Stack methods (LinkedListAsStack)
+    public void push(E e) {
+        addFirst(e);
+    }
+
+    public E pop() {
+        return removeFirst();
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    public void clear() {
+        for (Chunk c = head; c != null; c = c.next) {
+            Arrays.fill(c.items, null);
+        }
+        size = 0;
+        recenter();
+    }
+
+    public boolean removeFirstOccurrence(Object o) {
+        for (Iterator<E> it = iterator(); it.hasNext();) {
+            if (it.next().equals(o)) {
+                it.remove();
+                return true;
+            }
+        }
+        return false;
+    }
+
+    public boolean removeLastOccurrence(Object o) {
+        Chunk chunk = tail;
+        int index = tailIndex;
+        for (int remaining = size; remaining > 0; remaining--) {
+            if (index == 0) {
+                chunk = chunk.prev;
+                index = CHUNK_SIZE;
+            }
+            if (chunk.items[--index].equals(o)) {
+                removeAt(chunk, index);
+                return true;
+            }
+        }
+        return false;
+    }
+
+    public boolean remove(Object o) {
+        return removeFirstOccurrence(o);
+    }
+
+    // Shift every element after (chunk, index) one slot toward the head, then drop the last slot
+    private void removeAt(Chunk chunk, int index) {
+        while (true) {
+            int end = chunk == tail ? tailIndex : CHUNK_SIZE;
+            System.arraycopy(chunk.items, index + 1, chunk.items, index, end - index - 1);
+            if (chunk == tail) {
+                break;
+            }
+            Chunk next = chunk.next;
+            chunk.items[CHUNK_SIZE - 1] = next.items[0];
+            chunk = next;
+            index = 0;
+        }
+        pollLast(); // drops the duplicate last slot and unlinks an empty tail chunk
+    }
+
+    // Chunks created with new so far (the rest came from the pool)
+    long chunksAllocated() {
+        return chunksAllocated;
+    }
+
+    public Iterator<E> iterator() {
+        return new Iterator<E>() {
+            private Chunk chunk = head;
+            private int index = headIndex;
+            private int remaining = size;
+
+            private boolean canRemove = false;
+
+            public boolean hasNext() {
+                return remaining > 0;
+            }
+
+            @SuppressWarnings("unchecked")
+            public E next() {
+                if (remaining == 0) {
+                    throw new NoSuchElementException();
+                }
+                if (index == CHUNK_SIZE) {
+                    chunk = chunk.next;
+                    index = 0;
+                }
+                remaining--;
+                canRemove = true;
+                return (E) chunk.items[index++];
+            }
+
+            // The next element shifts into the removed slot, so step back one
+            public void remove() {
+                if (!canRemove) {
+                    throw new IllegalStateException();
+                }
+                canRemove = false;
+                removeAt(chunk, --index);
+            }
+        };
+    }
+
+    // Read-only: remove() throws UnsupportedOperationException
+    public Iterator<E> descendingIterator() {
+        return new Iterator<E>() {
+            private Chunk chunk = tail;
+            private int index = tailIndex;
+            private int remaining = size;
+
+            public boolean hasNext() {
+                return remaining > 0;
+            }
+
+            @SuppressWarnings("unchecked")
+            public E next() {
+                if (remaining == 0) {
+                    throw new NoSuchElementException();
+                }
+                if (index == 0) {
+                    chunk = chunk.prev;
+                    index = CHUNK_SIZE;
+                }
+                remaining--;
+                return (E) chunk.items[--index];
+            }
+        };
+    }
+
+    public String toString() {
+        StringJoiner joiner = new StringJoiner(", ", "[", "]");
+        for (E e : this) {
+            joiner.add(String.valueOf(e));
+        }
+        return joiner.toString();
+    }
+}
+
+class ChunkedDequeBenchmark {
+    private static final com.sun.management.ThreadMXBean THREADS =
+            (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+
+    static final String[] DEQUES = { "LinkedList", "ArrayDeque", "ChunkedDeque" };
+
+    static Deque<Integer> newDeque(String name) {
+        switch (name) {
+            case "LinkedList":
+                return new LinkedList<>();
+            case "ArrayDeque":
+                return new ArrayDeque<>();
+            default:
+                return new ChunkedDeque<>();
+        }
+    }
+
+    static long allocatedBytes() {
+        return THREADS.getThreadAllocatedBytes(Thread.currentThread().getId());
+    }
+
+    // Values are boxed once up front, so allocation is the collection's own
+    static final Integer[] VALUES = new Integer[1024];
+
+    static {
+        for (int i = 0; i < VALUES.length; i++) {
+            VALUES[i] = i;
+        }
+    }
+
+    // Queue that breathes between 0 and depth: depth adds, then depth polls
+    static long queue(Deque<Integer> d, int operations, int depth) {
+        long sum = 0;
+        for (int done = 0; done < operations; done += 2 * depth) {
+            for (int i = 0; i < depth; i++) {
+                d.addLast(VALUES[i & 1023]);
+            }
+            for (int i = 0; i < depth; i++) {
+                sum += d.pollFirst();
+            }
+        }
+        return sum;
+    }
+
+    // Stack at the front, same shape
+    static long stack(Deque<Integer> d, int operations, int depth) {
+        long sum = 0;
+        for (int done = 0; done < operations; done += 2 * depth) {
+            for (int i = 0; i < depth; i++) {
+                d.push(VALUES[i & 1023]);
+            }
+            for (int i = 0; i < depth; i++) {
+                sum += d.pop();
+            }
+        }
+        return sum;
+    }
+
+    // Sliding window: steady size, add at the tail and remove at the head
+    static long window(Deque<Integer> d, int operations, int depth) {
+        long sum = 0;
+        for (int i = 0; i < depth; i++) {
+            d.addLast(VALUES[i & 1023]);
+        }
+        for (int i = 0; i < operations; i++) {
+            d.addLast(VALUES[i & 1023]);
+            sum += d.pollFirst();
+        }
+        while (!d.isEmpty()) {
+            sum += d.pollLast();
+        }
+        return sum;
+    }
+
+    // One deque type per JVM: sharing the workload loops between three Deque
+    // classes would make every call site megamorphic and skew the comparison
+    static void runAll(String deque, int operations) {
+        String[] names = { "queue (depth 1000)", "stack (depth 1000)", "window (size 10000)" };
+        for (int w = 0; w < names.length; w++) {
+            for (int round = 0; round < 2; round++) { // first round is warm-up
+                Deque<Integer> d = newDeque(deque);
+                long bytes = allocatedBytes();
+                long start = System.nanoTime();
+                long sum = w == 0 ? queue(d, operations, 1000) : w == 1 ? stack(d, operations, 1000) : window(d, operations, 10_000);
+                long nanos = System.nanoTime() - start;
+                bytes = allocatedBytes() - bytes;
+                if (round == 1) {
+                    System.out.printf("%-20s | %-12s | %14.1f | %12.2f | %d%n", names[w], deque,
+                            operations / (nanos / 1e3), (double) bytes / operations, sum);
+                }
+            }
+        }
+    }
+}
+
+public class chunked_deque {
+    public static void main(String[] args) throws Exception {
+        int operations = args.length > 0 ? Integer.parseInt(args[0]) : 20_000_000;
+        if (args.length > 1) { // child JVM: measure one deque type
+            ChunkedDequeBenchmark.runAll(args[1], operations);
+            return;
+        }
+
+        System.out.println("=== CHUNKED DEQUE ===\n");
+
+        // Example 1: LinkedListAsQueue / LinkedListAsStack / LinkedListFirstLast
+        ChunkedDeque<String> queue = new ChunkedDeque<>();
+        queue.offer("First");
+        queue.offer("Second");
+        queue.offer("Third");
+        System.out.println("Queue: " + queue);
+        System.out.println("Poll: " + queue.poll() + ", peek: " + queue.peek());
+
+        ChunkedDeque<String> stack = new ChunkedDeque<>();
+        stack.push("Bottom");
+        stack.push("Middle");
+        stack.push("Top");
+        System.out.println("Stack: " + stack);
+        System.out.println("Pop: " + stack.pop() + ", peek: " + stack.peek());
+
+        Deque<String> list = new ChunkedDeque<>();
+        list.add("Middle");
+        list.addFirst("First");
+        list.addLast("Last");
+        StringBuilder reversed = new StringBuilder();
+        for (Iterator<String> it = list.descendingIterator(); it.hasNext();) {
+            reversed.append(it.next()).append(' ');
+        }
+        System.out.println("List: " + list + ", first: " + list.getFirst() + ", last: " + list.getLast()
+                + ", descending: " + reversed.toString().trim());
+        list.remove("Middle");
+        System.out.println("After remove(\"Middle\"): " + list);
+
+        // Example 2: Same results as ArrayDeque under random operations, and recycled chunks
+        ChunkedDeque<Integer> checked = new ChunkedDeque<>();
+        ArrayDeque<Integer> reference = new ArrayDeque<>();
+        Random random = new Random(3);
+        boolean agree = true;
+        for (int i = 0; i < 1_000_000; i++) {
+            int op = random.nextInt(100);
+            Integer v = random.nextInt(500);
+            if (op < 30) {
+                checked.addLast(v);
+                reference.addLast(v);
+            } else if (op < 60) {
+                checked.addFirst(v);
+                reference.addFirst(v);
+            } else if (op < 78) {
+                agree &= Objects.equals(checked.pollFirst(), reference.pollFirst());
+            } else if (op < 96) {
+                agree &= Objects.equals(checked.pollLast(), reference.pollLast());
+            } else if (op < 98) {
+                agree &= checked.removeFirstOccurrence(v) == reference.removeFirstOccurrence(v);
+            } else {
+                agree &= checked.removeLastOccurrence(v) == reference.removeLastOccurrence(v);
+            }
+        }
+        agree &= checked.size() == reference.size() && new ArrayList<>(checked).equals(new ArrayList<>(reference));
+        System.out.println("\n1,000,000 random operations agree with ArrayDeque: " + agree);
+
+        ChunkedDeque<Integer> recycled = new ChunkedDeque<>();
+        for (int round = 0; round < 1000; round++) {
+            for (int i = 0; i < 1000; i++) {
+                recycled.addLast(i);
+            }
+            while (!recycled.isEmpty()) {
+                recycled.pollFirst();
+            }
+        }
+        System.out.println("1,000 rounds of 1,000 adds + polls allocated " + recycled.chunksAllocated() + " chunks");
+
+        // Example 3: Throughput and allocation vs LinkedList and ArrayDeque
+        System.out.printf("%n%,d operations per workload, one JVM per deque:%n", operations);
+        System.out.printf("%-20s | %-12s | %14s | %12s | %s%n", "Workload", "Deque", "Mops/sec", "bytes/op", "checksum");
+        String java = Paths.get(System.getProperty("java.home"), "bin", "java").toString();
+        for (String deque : ChunkedDequeBenchmark.DEQUES) {
+            Process child = new ProcessBuilder(java, "-cp", System.getProperty("java.class.path"), "chunked_deque",
+                    String.valueOf(operations), deque).inheritIO().start();
+            child.waitFor();
+        }
+
+        System.out.println("\n=== CHUNKED DEQUE COMPLETED ===");
+    }
+}
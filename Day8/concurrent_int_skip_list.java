@@ -0,0 +1,550 @@
+// Concurrent Int Skip List - Thread-Safe Sorted Set of ints with TreeSet Navigation
+// Compile:  javac concurrent_int_skip_list.java  (standalone, no other files needed)
+// Run:      java concurrent_int_skip_list [elements]
+
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.IntConsumer;
+
+// ConcurrentIntSkipListSet: lazy skip list of primitive ints
+//
+//   - add / remove lock only the predecessors they change, and re-check them
+//     after locking; a removed node is first marked, then unlinked
+//   - the lock is one int per node (CAS + yield), not a ReentrantLock object,
+//     so a node is just itself plus its next[] array
+//   - contains / floor / ceiling / higher / lower / range scans take no locks
+//     and skip nodes that are marked or not fully linked yet
+//   - head and tail are sentinels with keys below and above every int
+//     (keys are stored as long), so no search needs a null check
+//   - fromSorted() builds all levels in one left-to-right pass: O(n)
+//
+// Navigation methods return a long: the int found, or NONE.
+// Range scans and size() are weakly consistent, like ConcurrentSkipListSet.
+class ConcurrentIntSkipListSet {
+    static final long NONE = Long.MIN_VALUE;
+
+    private static final int MAX_LEVEL = 24;
+    private static final VarHandle NEXT = MethodHandles.arrayElementVarHandle(Node[].class);
+    private static final VarHandle LOCKED;
+
+    static {
+        try {
+            LOCKED = MethodHandles.lookup().findVarHandle(Node.class, "locked", int.class);
+        } catch (ReflectiveOperationException e) {
+            throw new ExceptionInInitializerError(e);
+        }
+    }
+
+    private static final class Node {
+        final long key;
+        final Node[] next;
+        volatile int locked = 0;
+        volatile boolean marked = false;
+        volatile boolean fullyLinked = false;
+
+        Node(long key, int levels) {
+            this.key = key;
+            this.next = new Node[levels];
+        }
+
+        int topLevel() {
+            return next.length - 1;
+        }
+
+        Node next(int level) {
+            return (Node) NEXT.getAcquire(next, level);
+        }
+
+        void setNext(int level, Node node) {
+            NEXT.setRelease(next, level, node);
+        }
+
+        // Held only for a few pointer writes, so spin briefly and then yield
+        void lock() {
+            for (int spins = 0; !LOCKED.compareAndSet(this, 0, 1); spins++) {
+                if (spins < 64) {
+                    Thread.onSpinWait();
+                } else {
+                    Thread.yield();
+                }
+            }
+        }
+
+        void unlock() {
+            locked = 0;
+        }
+    }
+
+    private final Node head = new Node(Long.MIN_VALUE, MAX_LEVEL);
+    private final Node tail = new Node(Long.MAX_VALUE, MAX_LEVEL);
+    private final LongAdder size = new LongAdder();
+
+    ConcurrentIntSkipListSet() {
+        for (int level = 0; level < MAX_LEVEL; level++) {
+            head.next[level] = tail;
+        }
+        head.fullyLinked = true;
+        tail.fullyLinked = true;
+    }
+
+    // Bulk load from ascending input (duplicates are skipped). Node i gets one
+    // level per trailing zero bit of i+1, which is a perfectly balanced skip list.
+    static ConcurrentIntSkipListSet fromSorted(int[] sorted, int length) {
+        ConcurrentIntSkipListSet set = new ConcurrentIntSkipListSet();
+        Node[] last = new Node[MAX_LEVEL];
+        Arrays.fill(last, set.head);
+        int count = 0;
+        for (int i = 0; i < length; i++) {
+            if (i > 0 && sorted[i] <= sorted[i - 1]) {
+                if (sorted[i] == sorted[i - 1]) {
+                    continue;
+                }
+                throw new IllegalArgumentException("Input is not sorted at index " + i);
+            }
+            count++;
+            int levels = Math.min(Integer.numberOfTrailingZeros(count) + 1, MAX_LEVEL);
+            Node node = new Node(sorted[i], levels);
+            node.fullyLinked = true;
+            for (int level = 0; level < levels; level++) {
+                last[level].next[level] = node;
+                last[level] = node;
+            }
+        }
+        for (int level = 0; level < MAX_LEVEL; level++) {
+            last[level].next[level] = set.tail;
+        }
+        set.size.add(count);
+        return set;
+    }
+
+    private static int randomLevels() {
+        // levels - 1 is geometric with p = 1/2
+        int bits = ThreadLocalRandom.current().nextInt() | (1 << (MAX_LEVEL - 1));
+        return Integer.numberOfTrailingZeros(bits) + 1;
+    }
+
+    // The same node is often the predecessor on several adjacent levels; lock it once
+    private static void lockPred(Node[] preds, int level) {
+        if (level == 0 || preds[level] != preds[level - 1]) {
+            preds[level].lock();
+        }
+    }
+
+    private static void unlockPreds(Node[] preds, int highestLocked) {
+        for (int level = 0; level <= highestLocked; level++) {
+            if (level == 0 || preds[level] != preds[level - 1]) {
+                preds[level].unlock();
+            }
+        }
+    }
+
+    private static boolean live(Node node) {
+        return node.fullyLinked && !node.marked;
+    }
+
+    // Fill preds / succs for key; returns the highest level where key was found, or -1
+    private int find(long key, Node[] preds, Node[] succs) {
+        int found = -1;
+        Node pred = head;
+        for (int level = MAX_LEVEL - 1; level >= 0; level--) {
+            Node curr = pred.next(level);
+            while (key > curr.key) {
+                pred = curr;
+                curr = pred.next(level);
+            }
+            if (found == -1 && key == curr.key) {
+                found = level;
+            }
+            preds[level] = pred;
+            succs[level] = curr;
+        }
+        return found;
+    }
+
+    boolean add(int value) {
+        int levels = randomLevels();
+        Node[] preds = new Node[MAX_LEVEL], succs = new Node[MAX_LEVEL];
+        while (true) {
+            int found = find(value, preds, succs);
+            if (found != -1) {
+                Node existing = succs[found];
+                if (!existing.marked) {
+                    while (!existing.fullyLinked) {
+                        Thread.onSpinWait();
+                    }
+                    return false;
+                }
+                continue; // being removed, retry
+            }
+            int highestLocked = -1;
+            try {
+                boolean valid = true;
+                for (int level = 0; valid && level < levels; level++) {
+                    Node pred = preds[level], succ = succs[level];
+                    lockPred(preds, level);
+                    highestLocked = level;
+                    valid = !pred.marked && !succ.marked && pred.next(level) == succ;
+                }
+                if (!valid) {
+                    continue;
+                }
+                Node node = new Node(value, levels);
+                for (int level = 0; level < levels; level++) {
+                    node.next[level] = succs[level];
+                }
+                for (int level = 0; level < levels; level++) {
+                    preds[level].setNext(level, node);
+                }
+                node.fullyLinked = true;
+                size.increment();
+                return true;
+            } finally {
+                unlockPreds(preds, highestLocked);
+            }
+        }
+    }
+
+    boolean remove(int value) {
+        Node victim = null;
+        boolean isMarked = false;
+        Node[] preds = new Node[MAX_LEVEL], succs = new Node[MAX_LEVEL];
+        while (true) {
+            int found = find(value, preds, succs);
+            if (found != -1) {
+                victim = succs[found];
+            }
+            if (!isMarked && (found == -1 || !victim.fullyLinked || victim.marked || victim.topLevel() != found)) {
+                return false;
+            }
+            if (!isMarked) {
+                victim.lock();
+                if (victim.marked) {
+                    victim.unlock();
+                    return false;
+                }
+                victim.marked = true;
+                isMarked = true;
+            }
+            int highestLocked = -1;
+            try {
+                boolean valid = true;
+                for (int level = 0; valid && level <= victim.topLevel(); level++) {
+                    Node pred = preds[level];
+                    lockPred(preds, level);
+                    highestLocked = level;
+                    valid = !pred.marked && pred.next(level) == victim;
+                }
+                if (!valid) {
+                    continue;
+                }
+                for (int level = victim.topLevel(); level >= 0; level--) {
+                    preds[level].setNext(level, victim.next(level));
+                }
+                victim.unlock();
+                size.decrement();
+                return true;
+            } finally {
+                unlockPreds(preds, highestLocked);
+            }
+        }
+    }
+
+    boolean contains(int value) {
+        Node pred = lastBefore(value);
+        Node curr = pred.next(0);
+        return curr.key == value && live(curr);
+    }
+
+    int size() {
+        return (int) size.sum();
+    }
+
+    boolean isEmpty() {
+        return size() == 0;
+    }
+
+    // Last node (possibly head) with key < bound
+    private Node lastBefore(long bound) {
+        Node pred = head;
+        for (int level = MAX_LEVEL - 1; level >= 0; level--) {
+            Node curr = pred.next(level);
+            while (curr.key < bound) {
+                pred = curr;
+                curr = pred.next(level);
+            }
+        }
+        return pred;
+    }
+
+    // Smallest live key >= bound
+    private long firstAtOrAfter(long bound) {
+        Node curr = lastBefore(bound).next(0);
+        while (curr != tail && !live(curr)) {
+            curr = curr.next(0);
+        }
+        return curr == tail ? NONE : curr.key;
+    }
+
+    // Largest live key < bound
+    private long lastBeforeLive(long bound) {
+        Node pred = lastBefore(bound);
+        while (pred != head && !live(pred)) {
+            pred = lastBefore(pred.key);
+        }
+        return pred == head ? NONE : pred.key;
+    }
+
+    long first() {
+        return firstAtOrAfter(Long.MIN_VALUE + 1);
+    }
+
+    long last() {
+        return lastBeforeLive(Long.MAX_VALUE);
+    }
+
+    long ceiling(int value) {
+        return firstAtOrAfter(value);
+    }
+
+    long higher(int value) {
+        return firstAtOrAfter((long) value + 1);
+    }
+
+    long floor(int value) {
+        return lastBeforeLive((long) value + 1);
+    }
+
+    long lower(int value) {
+        return lastBeforeLive(value);
+    }
+
+    // Ascending scan of from..to
+    void forEachInRange(int from, boolean fromInclusive, int to, boolean toInclusive, IntConsumer action) {
+        long lo = fromInclusive ? from : (long) from + 1;
+        long hi = toInclusive ? (long) to + 1 : to;
+        for (Node curr = lastBefore(lo).next(0); curr.key < hi; curr = curr.next(0)) {
+            if (live(curr)) {
+                action.accept((int) curr.key);
+            }
+        }
+    }
+
+    // Snapshot of subSet(from, to) as an ascending array
+    int[] subSet(int from, boolean fromInclusive, int to, boolean toInclusive) {
+        int[][] out = { new int[16] };
+        int[] n = { 0 };
+        forEachInRange(from, fromInclusive, to, toInclusive, v -> {
+            if (n[0] == out[0].length) {
+                out[0] = Arrays.copyOf(out[0], n[0] * 2);
+            }
+            out[0][n[0]++] = v;
+        });
+        return Arrays.copyOf(out[0], n[0]);
+    }
+
+    int[] headSet(int to) {
+        return subSet(Integer.MIN_VALUE, true, to, false);
+    }
+
+    int[] tailSet(int from) {
+        return subSet(from, true, Integer.MAX_VALUE, true);
+    }
+
+    // Descending scan; each step is a lower() search, O(log n), as in ConcurrentSkipListSet
+    void forEachDescending(IntConsumer action) {
+        for (long v = last(); v != NONE; v = lower((int) v)) {
+            action.accept((int) v);
+        }
+    }
+
+    int[] toArray() {
+        return tailSet(Integer.MIN_VALUE);
+    }
+
+    public String toString() {
+        return Arrays.toString(toArray());
+    }
+}
+
+class SkipListBenchmark {
+    interface IntSet {
+        boolean add(int v);
+
+        boolean remove(int v);
+
+        boolean contains(int v);
+
+        long ceiling(int v);
+
+        long floor(int v);
+    }
+
+    static IntSet of(ConcurrentIntSkipListSet set) {
+        return new IntSet() {
+            public boolean add(int v) { return set.add(v); }
+            public boolean remove(int v) { return set.remove(v); }
+            public boolean contains(int v) { return set.contains(v); }
+            public long ceiling(int v) { return set.ceiling(v); }
+            public long floor(int v) { return set.floor(v); }
+        };
+    }
+
+    static IntSet of(ConcurrentSkipListSet<Integer> set) {
+        return new IntSet() {
+            public boolean add(int v) { return set.add(v); }
+            public boolean remove(int v) { return set.remove(v); }
+            public boolean contains(int v) { return set.contains(v); }
+            public long ceiling(int v) { Integer c = set.ceiling(v); return c == null ? ConcurrentIntSkipListSet.NONE : c; }
+            public long floor(int v) { Integer f = set.floor(v); return f == null ? ConcurrentIntSkipListSet.NONE : f; }
+        };
+    }
+
+    // Sum of every read result, printed so the JIT cannot drop the reads
+    static final LongAdder checksum = new LongAdder();
+
+    // 20% add, 10% remove, 50% contains, 20% ceiling/floor over keys 0 .. range
+    static double run(IntSet set, int threads, int opsPerThread, int range) throws InterruptedException {
+        Thread[] workers = new Thread[threads];
+        long start = System.nanoTime();
+        for (int t = 0; t < threads; t++) {
+            workers[t] = new Thread(() -> {
+                ThreadLocalRandom random = ThreadLocalRandom.current();
+                long sink = 0;
+                for (int i = 0; i < opsPerThread; i++) {
+                    int key = random.nextInt(range);
+                    int op = random.nextInt(10);
+                    if (op < 2) {
+                        set.add(key);
+                    } else if (op < 3) {
+                        set.remove(key);
+                    } else if (op < 8) {
+                        sink += set.contains(key) ? 1 : 0;
+                    } else if (op < 9) {
+                        sink += set.ceiling(key);
+                    } else {
+                        sink += set.floor(key);
+                    }
+                }
+                checksum.add(sink);
+            });
+        }
+        for (Thread w : workers) {
+            w.start();
+        }
+        for (Thread w : workers) {
+            w.join();
+        }
+        return (double) threads * opsPerThread / ((System.nanoTime() - start) / 1e9);
+    }
+}
+
+public class concurrent_int_skip_list {
+    static String show(long v) {
+        return v == ConcurrentIntSkipListSet.NONE ? "none" : String.valueOf(v);
+    }
+
+    public static void main(String[] args) throws Exception {
+        System.out.println("=== CONCURRENT INT SKIP LIST ===\n");
+
+        // Example 1: TreeSetHigherLower / TreeSetCeilingFloor / TreeSetSubSet / TreeSetDescending
+        ConcurrentIntSkipListSet set = ConcurrentIntSkipListSet.fromSorted(new int[] { 10, 20, 30, 40, 50, 60, 70 }, 7);
+        System.out.println("Set: " + set);
+        System.out.println("Higher than 25: " + show(set.higher(25)) + ", lower than 25: " + show(set.lower(25)));
+        System.out.println("Ceiling of 25: " + show(set.ceiling(25)) + ", floor of 25: " + show(set.floor(25))
+                + ", ceiling of 30: " + show(set.ceiling(30)) + ", floor of 5: " + show(set.floor(5)));
+        System.out.println("SubSet (20 to 50): " + Arrays.toString(set.subSet(20, true, 50, false)));
+        System.out.println("HeadSet (< 40): " + Arrays.toString(set.headSet(40)));
+        System.out.println("TailSet (>= 40): " + Arrays.toString(set.tailSet(40)));
+        StringBuilder descending = new StringBuilder();
+        set.forEachDescending(v -> descending.append(v).append(' '));
+        System.out.println("Descending: " + descending.toString().trim());
+
+        // Example 2: Random operations agree with TreeSet
+        ConcurrentIntSkipListSet checked = new ConcurrentIntSkipListSet();
+        TreeSet<Integer> reference = new TreeSet<>();
+        Random random = new Random(7);
+        boolean agree = true;
+        for (int i = 0; i < 200_000; i++) {
+            int key = random.nextInt(10_000) - 5_000;
+            switch (random.nextInt(6)) {
+                case 0:
+                case 1:
+                    agree &= checked.add(key) == reference.add(key);
+                    break;
+                case 2:
+                    agree &= checked.remove(key) == reference.remove(key);
+                    break;
+                case 3:
+                    agree &= show(checked.ceiling(key)).equals(String.valueOf(reference.ceiling(key) == null ? "none" : reference.ceiling(key)));
+                    break;
+                case 4:
+                    agree &= show(checked.lower(key)).equals(String.valueOf(reference.lower(key) == null ? "none" : reference.lower(key)));
+                    break;
+                default:
+                    agree &= checked.contains(key) == reference.contains(key);
+            }
+        }
+        agree &= checked.size() == reference.size() && checked.toString().equals(reference.toString());
+        System.out.println("\n200,000 random operations agree with TreeSet: " + agree);
+
+        // Example 3: Concurrent writers on disjoint ranges, then check the result
+        ConcurrentIntSkipListSet shared = new ConcurrentIntSkipListSet();
+        int writers = 8, perWriter = 50_000;
+        Thread[] threads = new Thread[writers];
+        for (int t = 0; t < writers; t++) {
+            final int base = t * perWriter;
+            threads[t] = new Thread(() -> {
+                for (int i = 0; i < perWriter; i++) {
+                    shared.add(base + i);
+                }
+                for (int i = 0; i < perWriter; i += 2) {
+                    shared.remove(base + i);
+                }
+            });
+            threads[t].start();
+        }
+        for (Thread t : threads) {
+            t.join();
+        }
+        int[] survivors = shared.toArray();
+        boolean onlyOdd = survivors.length == writers * perWriter / 2;
+        for (int i = 0; i < survivors.length && onlyOdd; i++) {
+            onlyOdd = survivors[i] == 2 * i + 1;
+        }
+        System.out.println(writers + " concurrent writers, " + survivors.length + " keys left, all odd and sorted: " + onlyOdd);
+
+        // Example 4: Bulk load and mixed workload vs ConcurrentSkipListSet
+        int n = args.length > 0 ? Integer.parseInt(args[0]) : 1_000_000;
+        int[] sorted = new int[n];
+        for (int i = 0; i < n; i++) {
+            sorted[i] = 2 * i; // even keys, so half of the later adds are new
+        }
+        long t0 = System.nanoTime();
+        ConcurrentSkipListSet<Integer> jdk = new ConcurrentSkipListSet<>();
+        for (int v : sorted) {
+            jdk.add(v);
+        }
+        long t1 = System.nanoTime();
+        ConcurrentIntSkipListSet loaded = ConcurrentIntSkipListSet.fromSorted(sorted, n);
+        long t2 = System.nanoTime();
+        System.out.printf("%nLoad %,d sorted keys: ConcurrentSkipListSet.add %.1f ms, fromSorted %.1f ms%n",
+                n, (t1 - t0) / 1e6, (t2 - t1) / 1e6);
+
+        int threadCount = 4, ops = 2_000_000;
+        System.out.println("Mixed workload, " + threadCount + " threads, " + ops + " ops (20% add, 10% remove, 50% contains, 20% ceiling/floor):");
+        for (int round = 0; round < 2; round++) { // first round is warm-up
+            double jdkRate = SkipListBenchmark.run(SkipListBenchmark.of(jdk), threadCount, ops / threadCount, 2 * n);
+            double ownRate = SkipListBenchmark.run(SkipListBenchmark.of(loaded), threadCount, ops / threadCount, 2 * n);
+            if (round == 1) {
+                System.out.printf("ConcurrentSkipListSet<Integer>: %,12.0f ops/sec%n", jdkRate);
+                System.out.printf("ConcurrentIntSkipListSet:       %,12.0f ops/sec (%.2fx)%n", ownRate, ownRate / jdkRate);
+            }
+        }
+        System.out.println("Read checksum: " + SkipListBenchmark.checksum.sum());
+
+        System.out.println("\n=== CONCURRENT INT SKIP LIST COMPLETED ===");
+    }
+}
@@ -0,0 +1,249 @@
+// Course Scheduler - Concurrent Priority Scheduler for Course Registration
+// Compile together with capstone_project.java:  javac *.java
+// Run:                                          java course_scheduler [requests]
+
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.*;
+
+// CourseScheduler: one lock-free FIFO per priority level + two semaphores
+//
+//   - take() always serves the best non-empty level (1 = High first)
+//   - inside a level requests leave in arrival order (fair)
+//   - "space" bounds the total size: put() blocks when full (backpressure)
+//   - "items" lets consumers sleep while every level is empty
+class CourseScheduler {
+    private static final class Request {
+        final Course course;
+        final long enqueuedAt;
+
+        Request(Course course, long enqueuedAt) {
+            this.course = course;
+            this.enqueuedAt = enqueuedAt;
+        }
+    }
+
+    private final ConcurrentLinkedQueue<Request>[] levels;
+    private final Semaphore space;
+    private final Semaphore items = new Semaphore(0);
+
+    // Per-priority counters
+    private final LongAdder[] enqueued, dequeued, waitNanos;
+    private final LongAccumulator[] maxWaitNanos;
+
+    @SuppressWarnings("unchecked") // the array is private and only ever holds ConcurrentLinkedQueue<Request>
+    CourseScheduler(int priorities, int capacity) {
+        levels = (ConcurrentLinkedQueue<Request>[]) new ConcurrentLinkedQueue<?>[priorities];
+        enqueued = new LongAdder[priorities];
+        dequeued = new LongAdder[priorities];
+        waitNanos = new LongAdder[priorities];
+        maxWaitNanos = new LongAccumulator[priorities];
+        for (int i = 0; i < priorities; i++) {
+            levels[i] = new ConcurrentLinkedQueue<>();
+            enqueued[i] = new LongAdder();
+            dequeued[i] = new LongAdder();
+            waitNanos[i] = new LongAdder();
+            maxWaitNanos[i] = new LongAccumulator(Long::max, 0);
+        }
+        space = new Semaphore(capacity);
+    }
+
+    // Blocks while the scheduler is full. The priority is checked before a
+    // space permit is taken, so a rejected request never leaks capacity.
+    void put(Course course) throws InterruptedException {
+        int level = levelOf(course);
+        space.acquire();
+        enqueue(level, course);
+    }
+
+    // Waits at most timeout for space, returns false if still full
+    boolean offer(Course course, long timeout, TimeUnit unit) throws InterruptedException {
+        int level = levelOf(course);
+        if (!space.tryAcquire(timeout, unit)) {
+            return false;
+        }
+        enqueue(level, course);
+        return true;
+    }
+
+    // Blocks until a request is available
+    Course take() throws InterruptedException {
+        items.acquire();
+        return dequeue();
+    }
+
+    // Returns null if nothing arrives within timeout
+    Course poll(long timeout, TimeUnit unit) throws InterruptedException {
+        return items.tryAcquire(timeout, unit) ? dequeue() : null;
+    }
+
+    int size() {
+        return items.availablePermits();
+    }
+
+    private int levelOf(Course course) {
+        if (course.priority < 1 || course.priority > levels.length) {
+            throw new IllegalArgumentException("Priority out of range: " + course.priority);
+        }
+        return course.priority - 1;
+    }
+
+    private void enqueue(int level, Course course) {
+        levels[level].add(new Request(course, System.nanoTime()));
+        enqueued[level].increment();
+        items.release();
+    }
+
+    // The items permit guarantees that a request is queued for us, but the scan
+    // is not atomic: another consumer can take the request we were heading for
+    // while a new one lands on a level we already passed, so scan again
+    private Course dequeue() {
+        while (true) {
+            for (int level = 0; level < levels.length; level++) {
+                Request r = levels[level].poll();
+                if (r != null) {
+                    long waited = System.nanoTime() - r.enqueuedAt;
+                    dequeued[level].increment();
+                    waitNanos[level].add(waited);
+                    maxWaitNanos[level].accumulate(waited);
+                    space.release();
+                    return r.course;
+                }
+            }
+            Thread.onSpinWait(); // another consumer took the request first
+        }
+    }
+
+    void printStats(double seconds) {
+        System.out.println("Priority | Enqueued   | Dequeued   | Per second   | Avg wait (us) | Max wait (us)");
+        for (int i = 0; i < levels.length; i++) {
+            long out = dequeued[i].sum();
+            System.out.printf("%8d | %,10d | %,10d | %,12.0f | %,13.1f | %,13.1f%n",
+                    i + 1, enqueued[i].sum(), out, out / seconds,
+                    out == 0 ? 0.0 : waitNanos[i].sum() / 1e3 / out, maxWaitNanos[i].get() / 1e3);
+        }
+    }
+}
+
+// Contention benchmark: CourseScheduler vs PriorityBlockingQueue<Course>
+class CourseSchedulerBenchmark {
+    interface Queue {
+        void put(Course c) throws InterruptedException;
+
+        Course take() throws InterruptedException;
+    }
+
+    static double run(Queue queue, int producers, int consumers, int requests) throws InterruptedException {
+        Course[] courses = {
+                new Course("Data Structures", 1), new Course("Algorithms", 1),
+                new Course("Database Systems", 2), new Course("Web Development", 3) };
+        int perProducer = requests / producers;
+        int total = perProducer * producers;
+        AtomicInteger remaining = new AtomicInteger(total);
+        CountDownLatch done = new CountDownLatch(producers + consumers);
+        Course poison = new Course("STOP", 3);
+
+        long start = System.nanoTime();
+        for (int p = 0; p < producers; p++) {
+            new Thread(() -> {
+                try {
+                    for (int i = 0; i < perProducer; i++) {
+                        queue.put(courses[i & 3]);
+                    }
+                } catch (InterruptedException e) {
+                }
+                done.countDown();
+            }).start();
+        }
+        for (int c = 0; c < consumers; c++) {
+            new Thread(() -> {
+                try {
+                    while (queue.take() != poison) {
+                        if (remaining.decrementAndGet() == 0) {
+                            for (int i = 0; i < consumers; i++) {
+                                queue.put(poison);
+                            }
+                        }
+                    }
+                } catch (InterruptedException e) {
+                }
+                done.countDown();
+            }).start();
+        }
+        done.await();
+        return total / ((System.nanoTime() - start) / 1e9);
+    }
+}
+
+public class course_scheduler {
+    public static void main(String[] args) throws Exception {
+        System.out.println("=== COURSE SCHEDULER ===\n");
+
+        // Example 1: Priority order with FIFO inside each level
+        CourseScheduler scheduler = new CourseScheduler(3, 16);
+        scheduler.put(new Course("Data Structures", 1));
+        scheduler.put(new Course("Web Development", 3));
+        scheduler.put(new Course("Algorithms", 1));
+        scheduler.put(new Course("Database Systems", 2));
+        System.out.println("Courses to register (by priority, then arrival):");
+        while (scheduler.size() > 0) {
+            System.out.println("   " + scheduler.take());
+        }
+
+        // Example 2: Backpressure
+        CourseScheduler small = new CourseScheduler(3, 2);
+        small.put(new Course("A", 2));
+        small.put(new Course("B", 2));
+        System.out.println("\nOffer to full scheduler (10 ms): "
+                + small.offer(new Course("C", 2), 10, TimeUnit.MILLISECONDS));
+
+        // A rejected priority does not use up capacity
+        CourseScheduler one = new CourseScheduler(3, 1);
+        try {
+            one.put(new Course("Bad", 7));
+        } catch (IllegalArgumentException e) {
+            System.out.println("Rejected: " + e.getMessage());
+        }
+        System.out.println("Offer after the rejected request (10 ms): "
+                + one.offer(new Course("Good", 1), 10, TimeUnit.MILLISECONDS));
+
+        // Example 3: Contention benchmark
+        int requests = args.length > 0 ? Integer.parseInt(args[0]) : 2_000_000;
+        int threads = Math.max(2, Runtime.getRuntime().availableProcessors());
+        int producers = threads / 2, consumers = threads - producers;
+        System.out.println("\n" + producers + " producers, " + consumers + " consumers, " + requests + " requests");
+
+        for (int round = 0; round < 2; round++) { // first round is warm-up
+            PriorityBlockingQueue<Course> pbq = new PriorityBlockingQueue<>();
+            double pbqRate = CourseSchedulerBenchmark.run(new CourseSchedulerBenchmark.Queue() {
+                public void put(Course c) {
+                    pbq.put(c);
+                }
+
+                public Course take() throws InterruptedException {
+                    return pbq.take();
+                }
+            }, producers, consumers, requests);
+
+            CourseScheduler cs = new CourseScheduler(3, 1 << 16);
+            long start = System.nanoTime();
+            double csRate = CourseSchedulerBenchmark.run(new CourseSchedulerBenchmark.Queue() {
+                public void put(Course c) throws InterruptedException {
+                    cs.put(c);
+                }
+
+                public Course take() throws InterruptedException {
+                    return cs.take();
+                }
+            }, producers, consumers, requests);
+
+            if (round == 1) {
+                System.out.printf("PriorityBlockingQueue: %,12.0f requests/sec%n", pbqRate);
+                System.out.printf("CourseScheduler:       %,12.0f requests/sec (%.2fx)%n%n", csRate, csRate / pbqRate);
+                cs.printStats((System.nanoTime() - start) / 1e9);
+            }
+        }
+
+        System.out.println("\n=== SCHEDULER COMPLETED ===");
+    }
+}
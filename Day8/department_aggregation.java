@@ -0,0 +1,300 @@
+// Department Aggregation - Per-Department GPA Statistics, Parallel and Incremental
+// Compile together with student_column_store.java and student_registry.java:  javac *.java
+// Run:                                                                        java department_aggregation [students]
+
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.stream.*;
+
+// GpaStats: count / sum + a histogram of GPA in 0.01 steps (0.00 .. 4.00)
+//
+// The histogram makes every update O(1) and answers percentiles by walking
+// a fixed 401 buckets, so nothing ever rescans the students.
+// add() only accepts GPAs on that grid, so every bucket holds one exact value
+// and min, max and percentiles are always GPAs some student really has.
+class GpaStats {
+    static final int BUCKETS = 401;
+
+    long count = 0;
+    double sum = 0;
+    final long[] histogram = new long[BUCKETS];
+    int minBucket = BUCKETS; // empty: min > max
+    int maxBucket = -1;
+
+    static int bucket(double gpa) {
+        return (int) Math.round(gpa * 100);
+    }
+
+    // Throws IllegalArgumentException unless gpa is 0.00 .. 4.00 in 0.01 steps
+    void add(double gpa) {
+        int b = bucket(gpa);
+        if (!(gpa >= 0.0 && gpa <= 4.0) || b / 100.0 != gpa) {
+            throw new IllegalArgumentException("GPA not on the 0.00 .. 4.00 grid: " + gpa);
+        }
+        count++;
+        sum += gpa;
+        histogram[b]++;
+        minBucket = Math.min(minBucket, b);
+        maxBucket = Math.max(maxBucket, b);
+    }
+
+    // Throws IllegalArgumentException if no student with this GPA was added
+    void remove(double gpa) {
+        int b = bucket(gpa);
+        if (b < 0 || b >= BUCKETS || histogram[b] == 0) {
+            throw new IllegalArgumentException("No student with GPA " + gpa);
+        }
+        count--;
+        sum -= gpa;
+        histogram[b]--;
+        if (count == 0) {
+            minBucket = BUCKETS;
+            maxBucket = -1;
+            return;
+        }
+        while (histogram[minBucket] == 0) {
+            minBucket++;
+        }
+        while (histogram[maxBucket] == 0) {
+            maxBucket--;
+        }
+    }
+
+    void merge(GpaStats other) {
+        count += other.count;
+        sum += other.sum;
+        for (int i = 0; i < BUCKETS; i++) {
+            histogram[i] += other.histogram[i];
+        }
+        minBucket = Math.min(minBucket, other.minBucket);
+        maxBucket = Math.max(maxBucket, other.maxBucket);
+    }
+
+    double average() {
+        return count == 0 ? Double.NaN : sum / count;
+    }
+
+    double min() {
+        return count == 0 ? Double.NaN : minBucket / 100.0;
+    }
+
+    double max() {
+        return count == 0 ? Double.NaN : maxBucket / 100.0;
+    }
+
+    // Nearest-rank percentile (p in 0..100)
+    double percentile(double p) {
+        if (count == 0) {
+            return Double.NaN;
+        }
+        long rank = Math.max(1, (long) Math.ceil(p / 100.0 * count));
+        long seen = 0;
+        for (int i = 0; i < BUCKETS; i++) {
+            seen += histogram[i];
+            if (seen >= rank) {
+                return i / 100.0;
+            }
+        }
+        return maxBucket / 100.0;
+    }
+
+    public String toString() {
+        return String.format("count=%d avg=%.3f min=%.2f max=%.2f p50=%.2f p90=%.2f",
+                count, average(), min(), max(), percentile(50), percentile(90));
+    }
+}
+
+// Parallel mode: fork-join over row ranges of a StudentColumnStore
+class DepartmentAggregateTask extends RecursiveTask<GpaStats[]> {
+    private static final long serialVersionUID = 1L;
+    private static final int THRESHOLD = 1 << 16;
+
+    private final StudentColumnStore store;
+    private final int departments, from, to;
+
+    DepartmentAggregateTask(StudentColumnStore store, int departments, int from, int to) {
+        this.store = store;
+        this.departments = departments;
+        this.from = from;
+        this.to = to;
+    }
+
+    static Map<String, GpaStats> aggregate(StudentColumnStore store) {
+        List<String> names = store.departments();
+        GpaStats[] stats = ForkJoinPool.commonPool().invoke(
+                new DepartmentAggregateTask(store, names.size(), 0, store.size()));
+        Map<String, GpaStats> result = new TreeMap<>();
+        for (int d = 0; d < names.size(); d++) {
+            result.put(names.get(d), stats[d]);
+        }
+        return result;
+    }
+
+    protected GpaStats[] compute() {
+        if (to - from <= THRESHOLD) {
+            GpaStats[] stats = newStats(departments);
+            for (int row = from; row < to; row++) {
+                stats[store.departmentCodeAt(row)].add(store.gpaAt(row));
+            }
+            return stats;
+        }
+        int mid = (from + to) >>> 1;
+        DepartmentAggregateTask left = new DepartmentAggregateTask(store, departments, from, mid);
+        left.fork();
+        GpaStats[] right = new DepartmentAggregateTask(store, departments, mid, to).compute();
+        GpaStats[] merged = left.join();
+        for (int d = 0; d < departments; d++) {
+            merged[d].merge(right[d]);
+        }
+        return merged;
+    }
+
+    static GpaStats[] newStats(int n) {
+        GpaStats[] stats = new GpaStats[n];
+        for (int i = 0; i < n; i++) {
+            stats[i] = new GpaStats();
+        }
+        return stats;
+    }
+}
+
+// Incremental mode: call onAdd / onRemove from the write path, read any time
+class IncrementalDepartmentStats {
+    private final ConcurrentHashMap<String, GpaStats> byDepartment = new ConcurrentHashMap<>();
+
+    void onAdd(String department, double gpa) {
+        byDepartment.compute(department, (d, s) -> {
+            if (s == null) {
+                s = new GpaStats();
+            }
+            s.add(gpa);
+            return s;
+        });
+    }
+
+    void onRemove(String department, double gpa) {
+        byDepartment.computeIfPresent(department, (d, s) -> {
+            s.remove(gpa);
+            return s.count == 0 ? null : s;
+        });
+    }
+
+    void onUpdate(String oldDepartment, double oldGpa, String newDepartment, double newGpa) {
+        onRemove(oldDepartment, oldGpa);
+        onAdd(newDepartment, newGpa);
+    }
+
+    // Consistent copy of one department's stats
+    GpaStats get(String department) {
+        GpaStats copy = new GpaStats();
+        byDepartment.computeIfPresent(department, (d, s) -> {
+            copy.merge(s);
+            return s;
+        });
+        return copy;
+    }
+
+    Set<String> departments() {
+        return new TreeSet<>(byDepartment.keySet());
+    }
+}
+
+class DepartmentAggregationBenchmark {
+    // Naive: stream groupingBy over the object model, percentiles by sorting
+    static Map<String, double[]> naive(List<CapstoneStudent> students) {
+        Map<String, List<Double>> grouped = students.stream().collect(Collectors.groupingBy(
+                CapstoneStudent::getDepartment, TreeMap::new,
+                Collectors.mapping(CapstoneStudent::getGpa, Collectors.toList())));
+        Map<String, double[]> result = new TreeMap<>();
+        grouped.forEach((dept, gpas) -> {
+            double[] sorted = gpas.stream().mapToDouble(Double::doubleValue).sorted().toArray();
+            DoubleSummaryStatistics s = Arrays.stream(sorted).summaryStatistics();
+            result.put(dept, new double[] { s.getCount(), s.getAverage(), s.getMin(), s.getMax(),
+                    sorted[(int) Math.ceil(0.5 * sorted.length) - 1],
+                    sorted[(int) Math.ceil(0.9 * sorted.length) - 1] });
+        });
+        return result;
+    }
+
+    // Average nanoseconds per call after warm-up
+    static double time(Runnable r, int iterations) {
+        for (int i = 0; i < 3; i++) {
+            r.run();
+        }
+        long start = System.nanoTime();
+        for (int i = 0; i < iterations; i++) {
+            r.run();
+        }
+        return (System.nanoTime() - start) / (double) iterations;
+    }
+}
+
+public class department_aggregation {
+    static final String[] DEPARTMENTS = { "Computer Science", "Mathematics", "Physics", "Chemistry", "Biology" };
+
+    public static void main(String[] args) {
+        System.out.println("=== DEPARTMENT AGGREGATION ===\n");
+
+        int students = args.length > 0 ? Integer.parseInt(args[0]) : 2_000_000;
+        StudentColumnStore store = new StudentColumnStore(students);
+        List<CapstoneStudent> objects = new ArrayList<>(students);
+        IncrementalDepartmentStats live = new IncrementalDepartmentStats();
+        Random random = new Random(42);
+        for (int i = 0; i < students; i++) {
+            double gpa = (200 + random.nextInt(201)) / 100.0;
+            if (i == 5) { // a lone low outlier, so min has to come from one student
+                gpa = 1.45;
+            }
+            String dept = DEPARTMENTS[i % DEPARTMENTS.length];
+            store.add(i, "Student" + i, gpa, dept);
+            objects.add(new CapstoneStudent(i, "Student" + i, gpa, dept));
+            live.onAdd(dept, gpa);
+        }
+
+        // Example 1: All three modes agree
+        Map<String, GpaStats> parallel = DepartmentAggregateTask.aggregate(store);
+        Map<String, double[]> naive = DepartmentAggregationBenchmark.naive(objects);
+        for (String dept : parallel.keySet()) {
+            GpaStats p = parallel.get(dept);
+            GpaStats inc = live.get(dept);
+            double[] n = naive.get(dept);
+            boolean same = p.count == inc.count && p.count == (long) n[0]
+                    && Math.abs(p.average() - n[1]) < 1e-9 && p.min() == n[2] && p.max() == n[3]
+                    && p.percentile(50) == n[4] && p.percentile(90) == n[5] && p.toString().equals(inc.toString());
+            System.out.printf("%-16s %s %s%n", dept, p, same ? "(all modes agree)" : "(MISMATCH)");
+        }
+
+        // Example 2: Incremental update, no rescan
+        live.onUpdate("Physics", objects.get(2).getGpa(), "Mathematics", 4.0);
+        System.out.println("\nAfter moving student 2 to Mathematics with 4.0:");
+        System.out.println("   Mathematics " + live.get("Mathematics"));
+        live.onRemove("Computer Science", 1.45); // the outlier leaves; min moves up to the next real GPA
+        System.out.println("After removing the 1.45 outlier:");
+        System.out.println("   Computer Science " + live.get("Computer Science"));
+        try {
+            live.onAdd("Computer Science", 4.3);
+        } catch (IllegalArgumentException e) {
+            System.out.println("Rejected: " + e.getMessage());
+        }
+
+        // Example 3: Timing
+        System.out.println("\nTiming (" + students + " students):");
+        double naiveNs = DepartmentAggregationBenchmark.time(() -> DepartmentAggregationBenchmark.naive(objects), 5);
+        double parallelNs = DepartmentAggregationBenchmark.time(() -> DepartmentAggregateTask.aggregate(store), 10);
+        double readNs = DepartmentAggregationBenchmark.time(() -> {
+            for (String d : DEPARTMENTS) {
+                live.get(d).percentile(90);
+            }
+        }, 10_000);
+        double updateNs = DepartmentAggregationBenchmark.time(() -> {
+            live.onAdd("Biology", 3.5);
+            live.onRemove("Biology", 3.5);
+        }, 1_000_000) / 2;
+        System.out.printf("Naive stream groupingBy:      %,14.0f ns per full query%n", naiveNs);
+        System.out.printf("Parallel fork-join:           %,14.0f ns per full query (%.1fx)%n", parallelNs, naiveNs / parallelNs);
+        System.out.printf("Incremental read (all depts): %,14.0f ns%n", readNs);
+        System.out.printf("Incremental add/remove:       %,14.0f ns per update%n", updateNs);
+
+        System.out.println("\n=== AGGREGATION COMPLETED ===");
+    }
+}
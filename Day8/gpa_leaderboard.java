@@ -0,0 +1,347 @@
+// GPA Leaderboard - Rank-Aware, Incrementally Maintained Top-N
+// Compile:  javac gpa_leaderboard.java  (standalone, no other files needed)
+// Run:      java gpa_leaderboard [students]
+
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.*;
+import java.util.concurrent.locks.*;
+
+// GpaLeaderboard: order-statistics treap (every node knows its subtree size)
+//
+// Order: highest GPA first, equal GPAs ordered by id, so ties are kept.
+// put / remove / rankOf / topN / percentile are all O(log n) (+ N for topN).
+// A read-write lock lets many readers rank at once while updates serialize.
+class GpaLeaderboard {
+    private static final class Node {
+        final int id;
+        final double gpa;
+        final int priority;
+        int size = 1;
+        Node left, right;
+
+        Node(int id, double gpa, int priority) {
+            this.id = id;
+            this.gpa = gpa;
+            this.priority = priority;
+        }
+    }
+
+    private Node root;
+    private final Map<Integer, Double> gpaById = new HashMap<>();
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    private int seed = 0x2545F491;
+
+    // Insert a student or move them to a new GPA
+    void put(int id, double gpa) {
+        lock.writeLock().lock();
+        try {
+            Double old = gpaById.put(id, gpa);
+            if (old != null) {
+                if (old == gpa) {
+                    return;
+                }
+                root = delete(root, id, old);
+            }
+            root = insert(root, new Node(id, gpa, nextPriority()));
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    boolean remove(int id) {
+        lock.writeLock().lock();
+        try {
+            Double old = gpaById.remove(id);
+            if (old == null) {
+                return false;
+            }
+            root = delete(root, id, old);
+            return true;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    int size() {
+        lock.readLock().lock();
+        try {
+            return size(root);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    // 1-based position on the board, or -1 if the id is unknown
+    int rankOf(int id) {
+        lock.readLock().lock();
+        try {
+            Double gpa = gpaById.get(id);
+            return gpa == null ? -1 : countBefore(id, gpa) + 1;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    // Ids of the first n students, best first
+    int[] topN(int n) {
+        lock.readLock().lock();
+        try {
+            int[] out = new int[Math.min(n, size(root))];
+            collect(root, out, new int[1]);
+            return out;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    // Share of students with a strictly lower GPA (0..100)
+    double percentileOf(int id) {
+        lock.readLock().lock();
+        try {
+            Double gpa = gpaById.get(id);
+            if (gpa == null || root == null) {
+                return -1;
+            }
+            // everything ordered before (MIN_VALUE, just below gpa) has a GPA >= gpa
+            int atOrAbove = countBefore(Integer.MIN_VALUE, Math.nextDown(gpa));
+            return 100.0 * (size(root) - atOrAbove) / size(root);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    // GPA such that p percent of the students are below it (nearest rank)
+    double gpaAtPercentile(double p) {
+        lock.readLock().lock();
+        try {
+            int n = size(root);
+            if (n == 0) {
+                return Double.NaN;
+            }
+            int fromBottom = (int) Math.ceil(p / 100.0 * n);
+            int index = Math.max(0, Math.min(n - 1, n - Math.max(fromBottom, 1)));
+            return select(root, index).gpa;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private static int compare(int idA, double gpaA, int idB, double gpaB) {
+        int c = Double.compare(gpaB, gpaA);
+        return c != 0 ? c : Integer.compare(idA, idB);
+    }
+
+    private static int size(Node n) {
+        return n == null ? 0 : n.size;
+    }
+
+    private static void update(Node n) {
+        n.size = 1 + size(n.left) + size(n.right);
+    }
+
+    private int nextPriority() {
+        seed ^= seed << 13;
+        seed ^= seed >>> 17;
+        seed ^= seed << 5;
+        return seed;
+    }
+
+    // Number of nodes ordered before (id, gpa)
+    private int countBefore(int id, double gpa) {
+        int count = 0;
+        Node n = root;
+        while (n != null) {
+            int c = compare(id, gpa, n.id, n.gpa);
+            if (c <= 0) {
+                n = n.left;
+            } else {
+                count += size(n.left) + 1;
+                n = n.right;
+            }
+        }
+        return count;
+    }
+
+    private static Node select(Node n, int index) {
+        while (true) {
+            int left = size(n.left);
+            if (index < left) {
+                n = n.left;
+            } else if (index == left) {
+                return n;
+            } else {
+                index -= left + 1;
+                n = n.right;
+            }
+        }
+    }
+
+    private static void collect(Node n, int[] out, int[] pos) {
+        if (n == null || pos[0] == out.length) {
+            return;
+        }
+        collect(n.left, out, pos);
+        if (pos[0] < out.length) {
+            out[pos[0]++] = n.id;
+        }
+        collect(n.right, out, pos);
+    }
+
+    private static Node rotateRight(Node n) {
+        Node l = n.left;
+        n.left = l.right;
+        l.right = n;
+        update(n);
+        update(l);
+        return l;
+    }
+
+    private static Node rotateLeft(Node n) {
+        Node r = n.right;
+        n.right = r.left;
+        r.left = n;
+        update(n);
+        update(r);
+        return r;
+    }
+
+    private static Node insert(Node n, Node x) {
+        if (n == null) {
+            return x;
+        }
+        if (compare(x.id, x.gpa, n.id, n.gpa) < 0) {
+            n.left = insert(n.left, x);
+            if (n.left.priority > n.priority) {
+                n = rotateRight(n);
+            }
+        } else {
+            n.right = insert(n.right, x);
+            if (n.right.priority > n.priority) {
+                n = rotateLeft(n);
+            }
+        }
+        update(n);
+        return n;
+    }
+
+    private static Node delete(Node n, int id, double gpa) {
+        if (n == null) {
+            return null;
+        }
+        int c = compare(id, gpa, n.id, n.gpa);
+        if (c < 0) {
+            n.left = delete(n.left, id, gpa);
+        } else if (c > 0) {
+            n.right = delete(n.right, id, gpa);
+        } else if (n.left == null) {
+            return n.right;
+        } else if (n.right == null) {
+            return n.left;
+        } else if (n.left.priority > n.right.priority) {
+            n = rotateRight(n);
+            n.right = delete(n.right, id, gpa);
+        } else {
+            n = rotateLeft(n);
+            n.left = delete(n.left, id, gpa);
+        }
+        update(n);
+        return n;
+    }
+}
+
+public class gpa_leaderboard {
+    public static void main(String[] args) throws Exception {
+        System.out.println("=== GPA LEADERBOARD ===\n");
+
+        // Example 1: Ties are kept (TreeSet<CapstoneStudent> used to drop them)
+        GpaLeaderboard board = new GpaLeaderboard();
+        board.put(101, 3.8);
+        board.put(102, 3.5);
+        board.put(103, 3.9);
+        board.put(104, 3.8);
+        board.put(105, 3.6);
+        System.out.println("Size: " + board.size() + " (101 and 104 share 3.8)");
+        System.out.println("Top 3: " + Arrays.toString(board.topN(3)));
+        System.out.println("Rank of 104: " + board.rankOf(104));
+        System.out.printf("Percentile of 105: %.1f%n", board.percentileOf(105));
+        System.out.println("Median GPA: " + board.gpaAtPercentile(50));
+
+        // Example 2: Incremental update - no rebuild
+        board.put(102, 4.0);
+        System.out.println("\nAfter 102 -> 4.0, top 3: " + Arrays.toString(board.topN(3)));
+        board.remove(103);
+        System.out.println("After removing 103, rank of 101: " + board.rankOf(101));
+
+        // Example 3: Concurrent updates and reads, then verify against a full sort
+        int students = args.length > 0 ? Integer.parseInt(args[0]) : 200_000;
+        GpaLeaderboard big = new GpaLeaderboard();
+        double[] gpa = new double[students];
+        for (int id = 0; id < students; id++) {
+            gpa[id] = ThreadLocalRandom.current().nextInt(401) / 100.0;
+            big.put(id, gpa[id]);
+        }
+
+        int writers = 4, readers = 4, updatesPerWriter = 200_000;
+        LongAdder reads = new LongAdder();
+        AtomicBoolean running = new AtomicBoolean(true);
+        List<Thread> threads = new ArrayList<>();
+        for (int w = 0; w < writers; w++) {
+            final int offset = w;
+            threads.add(new Thread(() -> {
+                ThreadLocalRandom random = ThreadLocalRandom.current();
+                for (int i = 0; i < updatesPerWriter; i++) {
+                    // each writer owns ids with id % writers == offset
+                    int id = random.nextInt(students / writers) * writers + offset;
+                    double g = random.nextInt(401) / 100.0;
+                    gpa[id] = g;
+                    big.put(id, g);
+                }
+            }));
+        }
+        for (int r = 0; r < readers; r++) {
+            threads.add(new Thread(() -> {
+                ThreadLocalRandom random = ThreadLocalRandom.current();
+                while (running.get()) {
+                    big.rankOf(random.nextInt(students));
+                    big.topN(10);
+                    reads.add(2);
+                }
+            }));
+        }
+        long start = System.nanoTime();
+        for (Thread t : threads) {
+            t.start();
+        }
+        for (int w = 0; w < writers; w++) {
+            threads.get(w).join();
+        }
+        running.set(false);
+        for (Thread t : threads) {
+            t.join();
+        }
+        double seconds = (System.nanoTime() - start) / 1e9;
+        System.out.printf("%nConcurrent: %,d updates + %,d reads in %.2f s%n",
+                writers * updatesPerWriter, reads.sum(), seconds);
+
+        Integer[] expected = new Integer[students];
+        for (int i = 0; i < students; i++) {
+            expected[i] = i;
+        }
+        Arrays.sort(expected, (a, b) -> {
+            int c = Double.compare(gpa[b], gpa[a]);
+            return c != 0 ? c : Integer.compare(a, b);
+        });
+        boolean ok = big.size() == students;
+        int[] top = big.topN(100);
+        for (int i = 0; i < top.length; i++) {
+            ok &= top[i] == expected[i];
+        }
+        for (int i = 0; i < students; i += Math.max(1, students / 100)) {
+            ok &= big.rankOf(expected[i]) == i + 1;
+        }
+        System.out.println("Matches full sort: " + ok);
+
+        System.out.println("\n=== LEADERBOARD COMPLETED ===");
+    }
+}
@@ -0,0 +1,396 @@
+// Indexed Task Heap - 4-ary Min Heap with decreaseKey / increaseKey / remove by Task Handle
+// Compile together with priorityqueue_examples.java:  javac *.java
+// Run:                                                java indexed_task_heap [tasks]
+
+import java.util.*;
+
+// IndexedDaryHeap: 4-ary min heap of (id, priority) pairs
+//
+//   heapIds[i], heapKeys[i]   the heap, as two parallel int arrays
+//   position[id]              where id currently sits in the heap (-1 = absent)
+//
+//   - children of i are 4i+1 .. 4i+4, so the tree is half as deep as a binary
+//     heap and the four children share one or two cache lines
+//   - every move updates position[], so any id is found in O(1) and
+//     decreaseKey / increaseKey / remove are O(log4 n) - no linear scan
+//   - ties are broken by id, so the poll order is deterministic
+//   - ids are small non-negative ints (0 .. a few million); position[] grows to the largest id
+class IndexedDaryHeap {
+    private static final int D = 4;
+
+    private int[] heapIds;
+    private int[] heapKeys;
+    private int[] position;
+    private int size = 0;
+
+    IndexedDaryHeap() {
+        this(16);
+    }
+
+    IndexedDaryHeap(int capacity) {
+        capacity = Math.max(capacity, 4);
+        heapIds = new int[capacity];
+        heapKeys = new int[capacity];
+        position = new int[capacity];
+        Arrays.fill(position, -1);
+    }
+
+    int size() {
+        return size;
+    }
+
+    boolean isEmpty() {
+        return size == 0;
+    }
+
+    boolean contains(int id) {
+        return id >= 0 && id < position.length && position[id] >= 0;
+    }
+
+    int priorityOf(int id) {
+        return heapKeys[indexOf(id)];
+    }
+
+    // Throws IllegalArgumentException if id is already queued
+    void add(int id, int priority) {
+        if (id < 0) {
+            throw new IllegalArgumentException("Negative id: " + id);
+        }
+        if (id >= position.length) {
+            int old = position.length;
+            position = Arrays.copyOf(position, Math.max(id + 1, old * 2));
+            Arrays.fill(position, old, position.length, -1);
+        }
+        if (position[id] >= 0) {
+            throw new IllegalArgumentException("Id already queued: " + id);
+        }
+        if (size == heapIds.length) {
+            heapIds = Arrays.copyOf(heapIds, size * 2);
+            heapKeys = Arrays.copyOf(heapKeys, size * 2);
+        }
+        siftUp(size++, id, priority);
+    }
+
+    int peekId() {
+        checkNotEmpty();
+        return heapIds[0];
+    }
+
+    int peekPriority() {
+        checkNotEmpty();
+        return heapKeys[0];
+    }
+
+    // Remove the highest-priority (lowest number) entry and return its id
+    int poll() {
+        checkNotEmpty();
+        int id = heapIds[0];
+        removeAt(0);
+        return id;
+    }
+
+    // Lower the priority number (move toward the top)
+    void decreaseKey(int id, int priority) {
+        int i = indexOf(id);
+        if (priority > heapKeys[i]) {
+            throw new IllegalArgumentException("New priority " + priority + " is greater than " + heapKeys[i]);
+        }
+        siftUp(i, id, priority);
+    }
+
+    // Raise the priority number (move toward the bottom)
+    void increaseKey(int id, int priority) {
+        int i = indexOf(id);
+        if (priority < heapKeys[i]) {
+            throw new IllegalArgumentException("New priority " + priority + " is less than " + heapKeys[i]);
+        }
+        siftDown(i, id, priority);
+    }
+
+    // Either direction
+    void changeKey(int id, int priority) {
+        int i = indexOf(id);
+        if (priority < heapKeys[i]) {
+            siftUp(i, id, priority);
+        } else {
+            siftDown(i, id, priority);
+        }
+    }
+
+    boolean remove(int id) {
+        if (!contains(id)) {
+            return false;
+        }
+        removeAt(position[id]);
+        return true;
+    }
+
+    private void removeAt(int i) {
+        position[heapIds[i]] = -1;
+        size--;
+        if (i == size) {
+            return;
+        }
+        int lastId = heapIds[size], lastKey = heapKeys[size];
+        // the last entry fills the hole and may need to go either way
+        if (i > 0 && less(lastKey, lastId, heapKeys[(i - 1) / D], heapIds[(i - 1) / D])) {
+            siftUp(i, lastId, lastKey);
+        } else {
+            siftDown(i, lastId, lastKey);
+        }
+    }
+
+    private int indexOf(int id) {
+        if (!contains(id)) {
+            throw new NoSuchElementException("Id not queued: " + id);
+        }
+        return position[id];
+    }
+
+    private void checkNotEmpty() {
+        if (size == 0) {
+            throw new NoSuchElementException();
+        }
+    }
+
+    private static boolean less(int keyA, int idA, int keyB, int idB) {
+        return keyA < keyB || (keyA == keyB && idA < idB);
+    }
+
+    // Move (id, key) up from hole i, shifting parents down into the hole
+    private void siftUp(int i, int id, int key) {
+        while (i > 0) {
+            int parent = (i - 1) / D;
+            if (!less(key, id, heapKeys[parent], heapIds[parent])) {
+                break;
+            }
+            place(i, heapIds[parent], heapKeys[parent]);
+            i = parent;
+        }
+        place(i, id, key);
+    }
+
+    // Move (id, key) down from hole i, pulling the smallest child up
+    private void siftDown(int i, int id, int key) {
+        while (true) {
+            int first = D * i + 1;
+            if (first >= size) {
+                break;
+            }
+            int best = first;
+            int end = Math.min(first + D, size);
+            for (int c = first + 1; c < end; c++) {
+                if (less(heapKeys[c], heapIds[c], heapKeys[best], heapIds[best])) {
+                    best = c;
+                }
+            }
+            if (!less(heapKeys[best], heapIds[best], key, id)) {
+                break;
+            }
+            place(i, heapIds[best], heapKeys[best]);
+            i = best;
+        }
+        place(i, id, key);
+    }
+
+    private void place(int i, int id, int key) {
+        heapIds[i] = id;
+        heapKeys[i] = key;
+        position[id] = i;
+    }
+}
+
+// IndexedTaskQueue: PriorityQueue<Task> replacement that can reprioritize queued tasks
+//
+// add() returns a handle = generation << 32 | slot. Slots freed by poll() and
+// remove() go on a free list and are handed out again, so tasks[] and the
+// heap's position[] stay as large as the most tasks ever queued at once.
+// Freeing a slot bumps its generation, so a handle kept after its task left
+// the queue is stale: remove() returns false and reprioritize() throws,
+// instead of touching the task that now owns the slot.
+class IndexedTaskQueue {
+    private final IndexedDaryHeap heap;
+    private Task[] tasks;
+    private int[] generations;
+    private int nextSlot = 0;
+    private int[] freeSlots = new int[16]; // stack of recycled slots
+    private int freeCount = 0;
+
+    IndexedTaskQueue(int capacity) {
+        heap = new IndexedDaryHeap(capacity);
+        tasks = new Task[Math.max(capacity, 4)];
+        generations = new int[tasks.length];
+    }
+
+    static int slotOf(long handle) {
+        return (int) handle;
+    }
+
+    // Queue a task and return the handle used to reprioritize or remove it
+    long add(Task task) {
+        int slot;
+        if (freeCount > 0) {
+            slot = freeSlots[--freeCount];
+        } else {
+            slot = nextSlot++;
+            if (slot == tasks.length) {
+                tasks = Arrays.copyOf(tasks, slot * 2);
+                generations = Arrays.copyOf(generations, slot * 2);
+            }
+        }
+        tasks[slot] = task;
+        heap.add(slot, task.priority);
+        return (long) generations[slot] << 32 | slot;
+    }
+
+    // True while the handle's task is still queued
+    boolean contains(long handle) {
+        int slot = slotOf(handle);
+        return slot >= 0 && slot < nextSlot && generations[slot] == (int) (handle >>> 32) && tasks[slot] != null;
+    }
+
+    Task peek() {
+        return heap.isEmpty() ? null : tasks[heap.peekId()];
+    }
+
+    Task poll() {
+        if (heap.isEmpty()) {
+            return null;
+        }
+        int slot = heap.poll();
+        Task task = tasks[slot];
+        release(slot);
+        return task;
+    }
+
+    // Throws NoSuchElementException for a stale handle
+    void reprioritize(long handle, int priority) {
+        if (!contains(handle)) {
+            throw new NoSuchElementException("Task no longer queued: " + handle);
+        }
+        int slot = slotOf(handle);
+        heap.changeKey(slot, priority);
+        tasks[slot].priority = priority;
+    }
+
+    // False if the task was already polled or removed
+    boolean remove(long handle) {
+        if (!contains(handle)) {
+            return false;
+        }
+        int slot = slotOf(handle);
+        heap.remove(slot);
+        release(slot);
+        return true;
+    }
+
+    private void release(int slot) {
+        tasks[slot] = null;
+        generations[slot]++;
+        if (freeCount == freeSlots.length) {
+            freeSlots = Arrays.copyOf(freeSlots, freeCount * 2);
+        }
+        freeSlots[freeCount++] = slot;
+    }
+
+    int size() {
+        return heap.size();
+    }
+
+    boolean isEmpty() {
+        return heap.isEmpty();
+    }
+}
+
+public class indexed_task_heap {
+    public static void main(String[] args) {
+        System.out.println("=== INDEXED TASK HEAP ===\n");
+
+        // Example 1: PriorityQueueCustomObjects, plus reprioritize and remove by handle
+        IndexedTaskQueue queue = new IndexedTaskQueue(8);
+        long low = queue.add(new Task("Low Priority Task", 3));
+        queue.add(new Task("High Priority Task", 1));
+        long medium = queue.add(new Task("Medium Priority Task", 2));
+        long cleanup = queue.add(new Task("Cleanup Task", 4));
+        queue.reprioritize(low, 0); // urgent now
+        queue.remove(cleanup);
+        System.out.println("Medium is in slot " + IndexedTaskQueue.slotOf(medium)
+                + ", low was moved to priority 0, cleanup removed");
+        System.out.println("Processing tasks by priority:");
+        while (!queue.isEmpty()) {
+            System.out.println(queue.poll());
+        }
+
+        // Slots are recycled: a long add/poll stream with 8 tasks queued uses slots 0..7
+        int maxSlot = 0;
+        for (int i = 0; i < 1_000_000; i++) {
+            maxSlot = Math.max(maxSlot, IndexedTaskQueue.slotOf(queue.add(new Task("Churn", i % 10))));
+            if (queue.size() == 8) {
+                queue.poll();
+            }
+        }
+        System.out.println("Largest slot after 1,000,000 adds: " + maxSlot);
+        System.out.println("Remove with the old cleanup handle (slot reused since): " + queue.remove(cleanup)
+                + ", queued: " + queue.size());
+
+        // Example 2: Reprioritizing queued tasks - remove(Object)+add vs changeKey
+        int n = args.length > 0 ? Integer.parseInt(args[0]) : 2_000_000;
+        Random random = new Random(42);
+        int[] priorities = new int[n];
+        for (int i = 0; i < n; i++) {
+            priorities[i] = random.nextInt(1_000_000);
+        }
+
+        long t0 = System.nanoTime();
+        PriorityQueue<Task> pq = new PriorityQueue<>(n);
+        Task[] pqTasks = new Task[n];
+        for (int i = 0; i < n; i++) {
+            pqTasks[i] = new Task("T" + i, priorities[i]);
+            pq.add(pqTasks[i]);
+        }
+        long t1 = System.nanoTime();
+        int pqUpdates = 200; // remove(Object) is a linear scan, so only a few
+        for (int u = 0; u < pqUpdates; u++) {
+            Task t = pqTasks[random.nextInt(n)];
+            pq.remove(t);
+            t.priority = random.nextInt(1_000_000);
+            pq.add(t);
+        }
+        long t2 = System.nanoTime();
+        long pqChecksum = 0;
+        while (!pq.isEmpty()) {
+            pqChecksum += pq.poll().priority;
+        }
+        long t3 = System.nanoTime();
+
+        IndexedTaskQueue indexed = new IndexedTaskQueue(n);
+        long[] handles = new long[n];
+        for (int i = 0; i < n; i++) {
+            handles[i] = indexed.add(new Task("T" + i, priorities[i]));
+        }
+        long t4 = System.nanoTime();
+        int updates = n;
+        for (int u = 0; u < updates; u++) {
+            indexed.reprioritize(handles[random.nextInt(n)], random.nextInt(1_000_000));
+        }
+        long t5 = System.nanoTime();
+        long previous = Long.MIN_VALUE;
+        boolean ordered = true;
+        while (!indexed.isEmpty()) {
+            int p = indexed.poll().priority;
+            ordered &= p >= previous;
+            previous = p;
+        }
+        long t6 = System.nanoTime();
+
+        System.out.printf("%n%,d tasks%n", n);
+        System.out.printf("%-24s | %12s | %18s | %12s%n", "", "build ms", "reprioritize ns/op", "drain ms");
+        System.out.printf("%-24s | %12.1f | %,18.0f | %12.1f%n", "PriorityQueue<Task>",
+                (t1 - t0) / 1e6, (t2 - t1) / (double) pqUpdates, (t3 - t2) / 1e6);
+        System.out.printf("%-24s | %12.1f | %,18.0f | %12.1f%n", "IndexedTaskQueue (4-ary)",
+                (t4 - t3) / 1e6, (t5 - t4) / (double) updates, (t6 - t5) / 1e6);
+        System.out.println("Drained in priority order: " + ordered + " (PriorityQueue checksum " + pqChecksum + ")");
+
+        System.out.println("\n=== INDEXED TASK HEAP COMPLETED ===");
+    }
+}
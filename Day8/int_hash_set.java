@@ -0,0 +1,144 @@
+// IntHashSet Demo - Footprint and Throughput vs HashSet<Integer>
+// Compile:  javac int_hash_set.java  (the IntHashSet class itself is in IntHashSet.java)
+// Run:      java int_hash_set [elements]
+
+import java.util.*;
+
+class IntHashSetBenchmark {
+    static long usedMemory() {
+        Runtime rt = Runtime.getRuntime();
+        for (int i = 0; i < 3; i++) {
+            System.gc();
+        }
+        return rt.totalMemory() - rt.freeMemory();
+    }
+
+    static int[] randomInts(int n, long seed) {
+        Random random = new Random(seed);
+        int[] values = new int[n];
+        for (int i = 0; i < n; i++) {
+            values[i] = random.nextInt();
+        }
+        return values;
+    }
+
+    static double opsPerSecond(long ops, long nanos) {
+        return ops / (nanos / 1e9);
+    }
+}
+
+public class int_hash_set {
+    public static void main(String[] args) {
+        System.out.println("=== INTHASHSET ===\n");
+
+        // Example 1: Same operations as HashSetUnion / HashSetIntersection / HashSetDifference
+        IntHashSet set1 = IntHashSet.of(1, 2, 3, 4);
+        IntHashSet set2 = IntHashSet.of(3, 4, 5, 6);
+        System.out.println("Set 1: " + set1);
+        System.out.println("Set 2: " + set2);
+        System.out.println("Union: " + IntHashSet.union(set1, set2));
+        System.out.println("Intersection: " + IntHashSet.intersection(set1, set2));
+        System.out.println("Difference (1 - 2): " + IntHashSet.difference(set1, set2));
+        System.out.println("Adding 0: " + set1.add(0) + ", adding 0 again: " + set1.add(0));
+
+        // Example 2: Memory per element
+        int n = args.length > 0 ? Integer.parseInt(args[0]) : 1_000_000;
+        int[] values = IntHashSetBenchmark.randomInts(n, 1);
+        int[] misses = IntHashSetBenchmark.randomInts(n, 2);
+
+        long before = IntHashSetBenchmark.usedMemory();
+        HashSet<Integer> boxed = new HashSet<>();
+        for (int v : values) {
+            boxed.add(v);
+        }
+        long boxedBytes = IntHashSetBenchmark.usedMemory() - before;
+
+        before = IntHashSetBenchmark.usedMemory();
+        IntHashSet primitive = new IntHashSet();
+        for (int v : values) {
+            primitive.add(v);
+        }
+        long primitiveBytes = IntHashSetBenchmark.usedMemory() - before;
+
+        System.out.printf("%nMemory for %,d ints:%n", n);
+        System.out.printf("HashSet<Integer>: %6.1f bytes/element%n", (double) boxedBytes / boxed.size());
+        System.out.printf("IntHashSet:       %6.1f bytes/element%n", (double) primitiveBytes / primitive.size());
+
+        // Example 3: Throughput (second round is reported)
+        System.out.println("\nOperation        | HashSet<Integer> ops/s | IntHashSet ops/s | Speedup");
+        for (int round = 0; round < 2; round++) {
+            long t0 = System.nanoTime();
+            HashSet<Integer> hs = new HashSet<>();
+            for (int v : values) {
+                hs.add(v);
+            }
+            long t1 = System.nanoTime();
+            int hits = 0;
+            for (int v : values) {
+                hits += hs.contains(v) ? 1 : 0;
+            }
+            for (int v : misses) {
+                hits += hs.contains(v) ? 1 : 0;
+            }
+            long t2 = System.nanoTime();
+            for (int v : values) {
+                hs.remove(v);
+            }
+            long t3 = System.nanoTime();
+
+            IntHashSet ihs = new IntHashSet();
+            for (int v : values) {
+                ihs.add(v);
+            }
+            long t4 = System.nanoTime();
+            int hits2 = 0;
+            for (int v : values) {
+                hits2 += ihs.contains(v) ? 1 : 0;
+            }
+            for (int v : misses) {
+                hits2 += ihs.contains(v) ? 1 : 0;
+            }
+            long t5 = System.nanoTime();
+            for (int v : values) {
+                ihs.remove(v);
+            }
+            long t6 = System.nanoTime();
+
+            if (hits != hits2 || !hs.isEmpty() || !ihs.isEmpty()) {
+                throw new IllegalStateException("Sets disagree");
+            }
+            if (round == 1) {
+                String[] names = { "add", "contains", "remove" };
+                long[] boxedNs = { t1 - t0, t2 - t1, t3 - t2 };
+                long[] primNs = { t4 - t3, t5 - t4, t6 - t5 };
+                long[] ops = { n, 2L * n, n };
+                for (int i = 0; i < 3; i++) {
+                    double b = IntHashSetBenchmark.opsPerSecond(ops[i], boxedNs[i]);
+                    double p = IntHashSetBenchmark.opsPerSecond(ops[i], primNs[i]);
+                    System.out.printf("%-16s | %,22.0f | %,16.0f | %.1fx%n", names[i], b, p, p / b);
+                }
+            }
+        }
+
+        // Example 4: Set algebra on large sets
+        IntHashSet a = new IntHashSet(), b = new IntHashSet();
+        HashSet<Integer> ba = new HashSet<>(), bb = new HashSet<>();
+        for (int i = 0; i < n; i++) {
+            a.add(values[i]);
+            ba.add(values[i]);
+            int other = i % 2 == 0 ? values[i] : misses[i]; // half overlap
+            b.add(other);
+            bb.add(other);
+        }
+        long t0 = System.nanoTime();
+        HashSet<Integer> bi = new HashSet<>(ba);
+        bi.retainAll(bb);
+        long t1 = System.nanoTime();
+        IntHashSet pi = IntHashSet.intersection(a, b);
+        long t2 = System.nanoTime();
+        System.out.printf("%nIntersection of two %,d-element sets: HashSet %.1f ms, IntHashSet %.1f ms (sizes %d / %d)%n",
+                n, (t1 - t0) / 1e6, (t2 - t1) / 1e6, bi.size(), pi.size());
+
+        System.out.println("\n=== INTHASHSET COMPLETED ===");
+    }
+}
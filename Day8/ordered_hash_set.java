@@ -0,0 +1,568 @@
+// Ordered Hash Set - Compact Insertion-Ordered Sets (Dense Entries + Sparse Index)
+// Compile:  javac ordered_hash_set.java  (standalone, no other files needed)
+// Run:      java ordered_hash_set [elements]
+
+import java.util.*;
+import java.util.function.IntConsumer;
+
+// OrderedHashSet: insertion-ordered set laid out like CPython's dict
+//
+//   entries[0..end)   elements in insertion order; a removed element leaves null
+//   hashes[0..end)    their spread hash codes (no rehashing on resize)
+//   index[]           open-addressing table of positions into entries, EMPTY = -1
+//
+//   - per element: one reference + one int + ~1.5-3 index ints, instead of a
+//     LinkedHashMap.Entry (hash, key, value, next, before, after) per element
+//   - iteration is a scan of one dense array, in insertion order
+//   - removal leaves a tombstone; once half the entries are tombstones they are
+//     squeezed out and the index is rebuilt (amortized O(1))
+//   - toList() returns a read-only List that shares the entries array: O(1) when
+//     there are no tombstones. Later adds write past the snapshot's end; a remove,
+//     compaction or clear copies the arrays first (copy-on-write), so the snapshot
+//     never changes
+//   - null elements are not allowed (null marks a removed entry); not thread-safe
+class OrderedHashSet<E> extends AbstractSet<E> {
+    private static final int EMPTY = -1;
+
+    private Object[] entries;
+    private int[] hashes;
+    private int[] index;
+    private int end = 0;
+    private int size = 0;
+    private boolean shared = false; // a toList() snapshot reads entries[0..end)
+    private int modCount = 0;
+
+    OrderedHashSet() {
+        this(8);
+    }
+
+    OrderedHashSet(int expected) {
+        int capacity = Math.max(expected, 4);
+        entries = new Object[capacity];
+        hashes = new int[capacity];
+        index = newIndex(capacity);
+    }
+
+    // Power of two with at least 1.5 slots per entry, so a probe always meets EMPTY
+    private static int[] newIndex(int capacity) {
+        int[] table = new int[Integer.highestOneBit(Math.max(capacity * 3 / 2, 4) - 1) << 1];
+        Arrays.fill(table, EMPTY);
+        return table;
+    }
+
+    private static int hash(Object o) {
+        int h = o.hashCode() * 0x9E3779B9;
+        return h ^ (h >>> 16);
+    }
+
+    // Index slot holding o, or -(free slot) - 1
+    private int find(Object o, int h) {
+        int mask = index.length - 1;
+        for (int i = h & mask;; i = (i + 1) & mask) {
+            int p = index[i];
+            if (p == EMPTY) {
+                return -i - 1;
+            }
+            Object e = entries[p];
+            if (hashes[p] == h && e != null && (e == o || e.equals(o))) {
+                return i;
+            }
+        }
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public boolean contains(Object o) {
+        return o != null && find(o, hash(o)) >= 0;
+    }
+
+    public boolean add(E e) {
+        Objects.requireNonNull(e);
+        int h = hash(e);
+        int slot = find(e, h);
+        if (slot >= 0) {
+            return false;
+        }
+        if (end == entries.length) {
+            makeRoom();
+            slot = find(e, h);
+        }
+        entries[end] = e;
+        hashes[end] = h;
+        index[-slot - 1] = end++;
+        size++;
+        modCount++;
+        return true;
+    }
+
+    public boolean remove(Object o) {
+        if (o == null) {
+            return false;
+        }
+        int slot = find(o, hash(o));
+        if (slot < 0) {
+            return false;
+        }
+        removeEntry(index[slot]);
+        if (end - size > 16 && (end - size) * 2 > end) {
+            compact(entries.length);
+        }
+        return true;
+    }
+
+    // The index slot keeps pointing at the dead entry; find() skips it
+    private void removeEntry(int position) {
+        if (shared) {
+            entries = entries.clone();
+            shared = false;
+        }
+        entries[position] = null;
+        size--;
+        modCount++;
+    }
+
+    public void clear() {
+        if (shared) {
+            entries = new Object[entries.length];
+            shared = false;
+        } else {
+            Arrays.fill(entries, 0, end, null);
+        }
+        Arrays.fill(index, EMPTY);
+        end = size = 0;
+        modCount++;
+    }
+
+    // Full entries array: squeeze out tombstones if there are enough, else double
+    private void makeRoom() {
+        compact(end - size >= end / 4 ? entries.length : entries.length * 2);
+    }
+
+    private void compact(int capacity) {
+        Object[] newEntries = shared || capacity != entries.length ? new Object[capacity] : entries;
+        int[] newHashes = capacity != hashes.length ? new int[capacity] : hashes;
+        int n = 0;
+        for (int p = 0; p < end; p++) {
+            if (entries[p] != null) {
+                newEntries[n] = entries[p];
+                newHashes[n++] = hashes[p];
+            }
+        }
+        if (newEntries == entries) {
+            Arrays.fill(entries, n, end, null);
+        }
+        entries = newEntries;
+        hashes = newHashes;
+        end = n;
+        shared = false;
+        if (index.length < capacity * 3 / 2) {
+            index = newIndex(capacity);
+        } else {
+            Arrays.fill(index, EMPTY);
+        }
+        int mask = index.length - 1;
+        for (int p = 0; p < end; p++) {
+            int i = hashes[p] & mask;
+            while (index[i] != EMPTY) {
+                i = (i + 1) & mask;
+            }
+            index[i] = p;
+        }
+    }
+
+    public Iterator<E> iterator() {
+        return new Iterator<E>() {
+            private int next = advance(0);
+            private int last = -1;
+            private int expectedModCount = modCount;
+
+            private int advance(int p) {
+                while (p < end && entries[p] == null) {
+                    p++;
+                }
+                return p;
+            }
+
+            public boolean hasNext() {
+                return next < end;
+            }
+
+            @SuppressWarnings("unchecked")
+            public E next() {
+                if (modCount != expectedModCount) {
+                    throw new ConcurrentModificationException();
+                }
+                if (next >= end) {
+                    throw new NoSuchElementException();
+                }
+                last = next;
+                next = advance(next + 1);
+                return (E) entries[last];
+            }
+
+            // Leaves a tombstone; compaction waits for the next add or remove(Object)
+            public void remove() {
+                if (last < 0) {
+                    throw new IllegalStateException();
+                }
+                if (modCount != expectedModCount) {
+                    throw new ConcurrentModificationException();
+                }
+                removeEntry(last);
+                last = -1;
+                expectedModCount = modCount;
+            }
+        };
+    }
+
+    // Read-only snapshot in insertion order
+    List<E> toList() {
+        if (size != end) {
+            compact(entries.length);
+        }
+        shared = true;
+        return new Snapshot<>(entries, size);
+    }
+
+    private static final class Snapshot<E> extends AbstractList<E> implements RandomAccess {
+        private final Object[] entries;
+        private final int size;
+
+        Snapshot(Object[] entries, int size) {
+            this.entries = entries;
+            this.size = size;
+        }
+
+        @SuppressWarnings("unchecked")
+        public E get(int i) {
+            return (E) entries[Objects.checkIndex(i, size)];
+        }
+
+        public int size() {
+            return size;
+        }
+    }
+}
+
+// OrderedIntSet: OrderedHashSet for primitive ints
+//
+// Same layout with int entries; a removed entry is marked in a bitset, so the
+// entries array itself only changes on compaction or clear. toList() boxes on get().
+class OrderedIntSet {
+    private static final int EMPTY = -1;
+
+    private int[] entries;
+    private long[] removed; // bit p set = entries[p] is a tombstone
+    private int[] index;
+    private int end = 0;
+    private int size = 0;
+    private boolean shared = false;
+
+    OrderedIntSet() {
+        this(8);
+    }
+
+    OrderedIntSet(int expected) {
+        int capacity = Math.max(expected, 4);
+        entries = new int[capacity];
+        removed = new long[(capacity + 63) >>> 6];
+        index = newIndex(capacity);
+    }
+
+    private static int[] newIndex(int capacity) {
+        int[] table = new int[Integer.highestOneBit(Math.max(capacity * 3 / 2, 4) - 1) << 1];
+        Arrays.fill(table, EMPTY);
+        return table;
+    }
+
+    private static int hash(int value) {
+        int h = value * 0x9E3779B9;
+        return h ^ (h >>> 16);
+    }
+
+    private boolean isRemoved(int p) {
+        return (removed[p >>> 6] & (1L << p)) != 0;
+    }
+
+    private int find(int value) {
+        int mask = index.length - 1;
+        for (int i = hash(value) & mask;; i = (i + 1) & mask) {
+            int p = index[i];
+            if (p == EMPTY) {
+                return -i - 1;
+            }
+            if (entries[p] == value && !isRemoved(p)) {
+                return i;
+            }
+        }
+    }
+
+    int size() {
+        return size;
+    }
+
+    boolean isEmpty() {
+        return size == 0;
+    }
+
+    boolean contains(int value) {
+        return find(value) >= 0;
+    }
+
+    boolean add(int value) {
+        int slot = find(value);
+        if (slot >= 0) {
+            return false;
+        }
+        if (end == entries.length) {
+            compact(end - size >= end / 4 ? entries.length : entries.length * 2);
+            slot = find(value);
+        }
+        entries[end] = value;
+        index[-slot - 1] = end++;
+        size++;
+        return true;
+    }
+
+    boolean remove(int value) {
+        int slot = find(value);
+        if (slot < 0) {
+            return false;
+        }
+        int p = index[slot];
+        removed[p >>> 6] |= 1L << p;
+        size--;
+        if (end - size > 16 && (end - size) * 2 > end) {
+            compact(entries.length);
+        }
+        return true;
+    }
+
+    void clear() {
+        if (shared) {
+            entries = new int[entries.length];
+            shared = false;
+        }
+        Arrays.fill(removed, 0);
+        Arrays.fill(index, EMPTY);
+        end = size = 0;
+    }
+
+    private void compact(int capacity) {
+        int[] newEntries = shared || capacity != entries.length ? new int[capacity] : entries;
+        int n = 0;
+        for (int p = 0; p < end; p++) {
+            if (!isRemoved(p)) {
+                newEntries[n++] = entries[p];
+            }
+        }
+        entries = newEntries;
+        end = n;
+        shared = false;
+        removed = new long[(capacity + 63) >>> 6];
+        if (index.length < capacity * 3 / 2) {
+            index = newIndex(capacity);
+        } else {
+            Arrays.fill(index, EMPTY);
+        }
+        int mask = index.length - 1;
+        for (int p = 0; p < end; p++) {
+            int i = hash(entries[p]) & mask;
+            while (index[i] != EMPTY) {
+                i = (i + 1) & mask;
+            }
+            index[i] = p;
+        }
+    }
+
+    // In insertion order
+    void forEach(IntConsumer action) {
+        for (int p = 0; p < end; p++) {
+            if (!isRemoved(p)) {
+                action.accept(entries[p]);
+            }
+        }
+    }
+
+    int[] toArray() {
+        int[] out = new int[size];
+        int n = 0;
+        for (int p = 0; p < end; p++) {
+            if (!isRemoved(p)) {
+                out[n++] = entries[p];
+            }
+        }
+        return out;
+    }
+
+    // Read-only snapshot in insertion order (see OrderedHashSet.toList)
+    List<Integer> toList() {
+        if (size != end) {
+            compact(entries.length);
+        }
+        shared = true;
+        int[] snapshot = entries;
+        int n = size;
+        return new AbstractList<Integer>() {
+            public Integer get(int i) {
+                return snapshot[Objects.checkIndex(i, n)];
+            }
+
+            public int size() {
+                return n;
+            }
+        };
+    }
+
+    public String toString() {
+        return Arrays.toString(toArray());
+    }
+}
+
+class OrderedHashSetBenchmark {
+    static long usedMemory() {
+        Runtime rt = Runtime.getRuntime();
+        for (int i = 0; i < 3; i++) {
+            System.gc();
+        }
+        return rt.totalMemory() - rt.freeMemory();
+    }
+
+    // Best of several runs, in milliseconds
+    static double bestMillis(Runnable r, int runs) {
+        long best = Long.MAX_VALUE;
+        for (int i = 0; i < runs; i++) {
+            long start = System.nanoTime();
+            r.run();
+            best = Math.min(best, System.nanoTime() - start);
+        }
+        return best / 1e6;
+    }
+}
+
+public class ordered_hash_set {
+    public static void main(String[] args) {
+        System.out.println("=== ORDERED HASH SET ===\n");
+
+        // Example 1: LinkedHashSetBasics / LinkedHashSetPreserveOrder
+        OrderedHashSet<String> fruits = new OrderedHashSet<>();
+        fruits.add("Banana");
+        fruits.add("Apple");
+        fruits.add("Orange");
+        fruits.add("Apple"); // duplicate - ignored
+        fruits.add("Mango");
+        System.out.println("Fruits (insertion order): " + fruits);
+        List<String> snapshot = fruits.toList();
+        fruits.remove("Apple");
+        fruits.add("Apple"); // re-added goes to the end
+        System.out.println("After remove + re-add: " + fruits + ", earlier snapshot: " + snapshot);
+
+        OrderedIntSet ids = new OrderedIntSet();
+        for (int id : new int[] { 50, 20, 80, 10, 40, 20 }) {
+            ids.add(id);
+        }
+        ids.remove(80);
+        System.out.println("OrderedIntSet: " + ids + ", snapshot: " + ids.toList());
+
+        // Example 2: Random operations agree with LinkedHashSet
+        OrderedHashSet<Integer> checked = new OrderedHashSet<>();
+        OrderedIntSet checkedInts = new OrderedIntSet();
+        LinkedHashSet<Integer> reference = new LinkedHashSet<>();
+        List<List<Integer>> snapshots = new ArrayList<>();
+        List<List<Integer>> expectedSnapshots = new ArrayList<>();
+        Random random = new Random(5);
+        boolean agree = true;
+        for (int i = 0; i < 500_000; i++) {
+            int v = random.nextInt(20_000);
+            int op = random.nextInt(100);
+            if (op < 55) {
+                boolean added = reference.add(v);
+                agree &= checked.add(v) == added && checkedInts.add(v) == added;
+            } else if (op < 95) {
+                boolean r = reference.remove(v);
+                agree &= checked.remove(v) == r && checkedInts.remove(v) == r;
+            } else if (op < 99) {
+                agree &= checked.contains(v) == reference.contains(v) && checkedInts.contains(v) == reference.contains(v);
+            } else if (snapshots.size() < 20) {
+                snapshots.add(checked.toList());
+                expectedSnapshots.add(new ArrayList<>(reference));
+            }
+        }
+        agree &= new ArrayList<>(checked).equals(new ArrayList<>(reference))
+                && checkedInts.toList().equals(new ArrayList<>(reference)) && snapshots.equals(expectedSnapshots);
+        System.out.println("\n500,000 random operations (and 20 snapshots) agree with LinkedHashSet: " + agree);
+
+        // Example 3: Memory and iteration vs LinkedHashSet
+        int n = args.length > 0 ? Integer.parseInt(args[0]) : 1_000_000;
+        String[] names = new String[n];
+        for (int i = 0; i < n; i++) {
+            names[i] = "Student" + i;
+        }
+
+        long before = OrderedHashSetBenchmark.usedMemory();
+        LinkedHashSet<String> linked = new LinkedHashSet<>();
+        Collections.addAll(linked, names);
+        long linkedBytes = OrderedHashSetBenchmark.usedMemory() - before;
+
+        before = OrderedHashSetBenchmark.usedMemory();
+        OrderedHashSet<String> ordered = new OrderedHashSet<>();
+        Collections.addAll(ordered, names);
+        long orderedBytes = OrderedHashSetBenchmark.usedMemory() - before;
+
+        before = OrderedHashSetBenchmark.usedMemory();
+        LinkedHashSet<Integer> linkedInts = new LinkedHashSet<>();
+        for (int i = 0; i < n; i++) {
+            linkedInts.add(i * 7);
+        }
+        long linkedIntBytes = OrderedHashSetBenchmark.usedMemory() - before;
+
+        before = OrderedHashSetBenchmark.usedMemory();
+        OrderedIntSet orderedInts = new OrderedIntSet();
+        for (int i = 0; i < n; i++) {
+            orderedInts.add(i * 7);
+        }
+        long orderedIntBytes = OrderedHashSetBenchmark.usedMemory() - before;
+
+        System.out.printf("%nMemory for %,d elements (excluding the Strings themselves):%n", n);
+        System.out.printf("LinkedHashSet<String>:  %6.1f bytes/element%n", (double) linkedBytes / linked.size());
+        System.out.printf("OrderedHashSet<String>: %6.1f bytes/element%n", (double) orderedBytes / ordered.size());
+        System.out.printf("LinkedHashSet<Integer>: %6.1f bytes/element (including Integer boxes)%n", (double) linkedIntBytes / linkedInts.size());
+        System.out.printf("OrderedIntSet:          %6.1f bytes/element%n", (double) orderedIntBytes / orderedInts.size());
+
+        long[] sink = new long[3];
+        double linkedIter = OrderedHashSetBenchmark.bestMillis(() -> {
+            for (String s : linked) {
+                sink[0] += s.length();
+            }
+        }, 5);
+        double orderedIter = OrderedHashSetBenchmark.bestMillis(() -> {
+            for (String s : ordered) {
+                sink[1] += s.length();
+            }
+        }, 5);
+        double snapshotIter = OrderedHashSetBenchmark.bestMillis(() -> {
+            List<String> list = ordered.toList();
+            for (int i = 0; i < list.size(); i++) {
+                sink[2] += list.get(i).length();
+            }
+        }, 5);
+        System.out.printf("%nOrdered iteration: LinkedHashSet %.1f ms, OrderedHashSet %.1f ms (%.1fx), toList() + indexed loop %.1f ms%n",
+                linkedIter, orderedIter, linkedIter / orderedIter, snapshotIter);
+
+        double linkedCopy = OrderedHashSetBenchmark.bestMillis(() -> new ArrayList<>(linked), 5);
+        double orderedCopy = OrderedHashSetBenchmark.bestMillis(() -> ordered.toList(), 5);
+        System.out.printf("List snapshot: new ArrayList<>(LinkedHashSet) %.2f ms, OrderedHashSet.toList() %.4f ms%n",
+                linkedCopy, orderedCopy);
+
+        for (int i = 0; i < n; i += 2) {
+            linked.remove(names[i]);
+            ordered.remove(names[i]);
+        }
+        System.out.println("After removing every other element, same order: "
+                + new ArrayList<>(linked).equals(ordered.toList()) + " (" + ordered.size() + " left)");
+
+        System.out.println("\n=== ORDERED HASH SET COMPLETED ===");
+    }
+}
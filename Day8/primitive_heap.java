@@ -0,0 +1,486 @@
+// Primitive Heaps - IntHeap / LongHeap / DoubleHeap and a Streaming Top-K Operator
+// Compile:  javac primitive_heap.java  (standalone, no other files needed)
+// Run:      java primitive_heap [elements]
+
+import java.util.*;
+import java.util.function.IntConsumer;
+import java.util.stream.IntStream;
+
+// IntHeap: binary heap stored in an int[] (no Integer, no comparator calls)
+//
+//   - min-heap by default, maxHeap() flips the comparison
+//   - replaceTop(v) = poll() + add(v) with a single sift-down, the top-K hot path
+//   - the array only grows; nothing is allocated per element
+class IntHeap {
+    private int[] heap;
+    private int size = 0;
+    private final boolean max;
+
+    IntHeap() {
+        this(16, false);
+    }
+
+    IntHeap(int capacity, boolean max) {
+        this.heap = new int[Math.max(capacity, 2)];
+        this.max = max;
+    }
+
+    static IntHeap maxHeap() {
+        return new IntHeap(16, true);
+    }
+
+    // true if a must be above b
+    private boolean before(int a, int b) {
+        return max ? a > b : a < b;
+    }
+
+    void add(int value) {
+        if (size == heap.length) {
+            heap = Arrays.copyOf(heap, size * 2);
+        }
+        siftUp(size++, value);
+    }
+
+    int peek() {
+        if (size == 0) {
+            throw new NoSuchElementException();
+        }
+        return heap[0];
+    }
+
+    int poll() {
+        int top = peek();
+        int last = heap[--size];
+        if (size > 0) {
+            siftDown(0, last);
+        }
+        return top;
+    }
+
+    // Remove the top and add value in one pass; returns the old top
+    int replaceTop(int value) {
+        int top = peek();
+        siftDown(0, value);
+        return top;
+    }
+
+    int size() {
+        return size;
+    }
+
+    boolean isEmpty() {
+        return size == 0;
+    }
+
+    void clear() {
+        size = 0;
+    }
+
+    // Heap contents in array order (not sorted)
+    int[] toArray() {
+        return Arrays.copyOf(heap, size);
+    }
+
+    private void siftUp(int i, int value) {
+        while (i > 0) {
+            int parent = (i - 1) >>> 1;
+            if (!before(value, heap[parent])) {
+                break;
+            }
+            heap[i] = heap[parent];
+            i = parent;
+        }
+        heap[i] = value;
+    }
+
+    private void siftDown(int i, int value) {
+        int half = size >>> 1;
+        while (i < half) {
+            int child = 2 * i + 1;
+            if (child + 1 < size && before(heap[child + 1], heap[child])) {
+                child++;
+            }
+            if (!before(heap[child], value)) {
+                break;
+            }
+            heap[i] = heap[child];
+            i = child;
+        }
+        heap[i] = value;
+    }
+
+    public String toString() {
+        return Arrays.toString(toArray());
+    }
+}
+
+// LongHeap: IntHeap for long values (timestamps, sequence numbers)
+class LongHeap {
+    private long[] heap;
+    private int size = 0;
+    private final boolean max;
+
+    LongHeap() {
+        this(16, false);
+    }
+
+    LongHeap(int capacity, boolean max) {
+        this.heap = new long[Math.max(capacity, 2)];
+        this.max = max;
+    }
+
+    static LongHeap maxHeap() {
+        return new LongHeap(16, true);
+    }
+
+    private boolean before(long a, long b) {
+        return max ? a > b : a < b;
+    }
+
+    void add(long value) {
+        if (size == heap.length) {
+            heap = Arrays.copyOf(heap, size * 2);
+        }
+        siftUp(size++, value);
+    }
+
+    long peek() {
+        if (size == 0) {
+            throw new NoSuchElementException();
+        }
+        return heap[0];
+    }
+
+    long poll() {
+        long top = peek();
+        long last = heap[--size];
+        if (size > 0) {
+            siftDown(0, last);
+        }
+        return top;
+    }
+
+    long replaceTop(long value) {
+        long top = peek();
+        siftDown(0, value);
+        return top;
+    }
+
+    int size() {
+        return size;
+    }
+
+    boolean isEmpty() {
+        return size == 0;
+    }
+
+    void clear() {
+        size = 0;
+    }
+
+    long[] toArray() {
+        return Arrays.copyOf(heap, size);
+    }
+
+    private void siftUp(int i, long value) {
+        while (i > 0) {
+            int parent = (i - 1) >>> 1;
+            if (!before(value, heap[parent])) {
+                break;
+            }
+            heap[i] = heap[parent];
+            i = parent;
+        }
+        heap[i] = value;
+    }
+
+    private void siftDown(int i, long value) {
+        int half = size >>> 1;
+        while (i < half) {
+            int child = 2 * i + 1;
+            if (child + 1 < size && before(heap[child + 1], heap[child])) {
+                child++;
+            }
+            if (!before(heap[child], value)) {
+                break;
+            }
+            heap[i] = heap[child];
+            i = child;
+        }
+        heap[i] = value;
+    }
+
+    public String toString() {
+        return Arrays.toString(toArray());
+    }
+}
+
+// DoubleHeap: IntHeap for double values (GPAs); ordered like Double.compare
+class DoubleHeap {
+    private double[] heap;
+    private int size = 0;
+    private final boolean max;
+
+    DoubleHeap() {
+        this(16, false);
+    }
+
+    DoubleHeap(int capacity, boolean max) {
+        this.heap = new double[Math.max(capacity, 2)];
+        this.max = max;
+    }
+
+    static DoubleHeap maxHeap() {
+        return new DoubleHeap(16, true);
+    }
+
+    private boolean before(double a, double b) {
+        int c = Double.compare(a, b);
+        return max ? c > 0 : c < 0;
+    }
+
+    void add(double value) {
+        if (size == heap.length) {
+            heap = Arrays.copyOf(heap, size * 2);
+        }
+        siftUp(size++, value);
+    }
+
+    double peek() {
+        if (size == 0) {
+            throw new NoSuchElementException();
+        }
+        return heap[0];
+    }
+
+    double poll() {
+        double top = peek();
+        double last = heap[--size];
+        if (size > 0) {
+            siftDown(0, last);
+        }
+        return top;
+    }
+
+    double replaceTop(double value) {
+        double top = peek();
+        siftDown(0, value);
+        return top;
+    }
+
+    int size() {
+        return size;
+    }
+
+    boolean isEmpty() {
+        return size == 0;
+    }
+
+    void clear() {
+        size = 0;
+    }
+
+    double[] toArray() {
+        return Arrays.copyOf(heap, size);
+    }
+
+    private void siftUp(int i, double value) {
+        while (i > 0) {
+            int parent = (i - 1) >>> 1;
+            if (!before(value, heap[parent])) {
+                break;
+            }
+            heap[i] = heap[parent];
+            i = parent;
+        }
+        heap[i] = value;
+    }
+
+    private void siftDown(int i, double value) {
+        int half = size >>> 1;
+        while (i < half) {
+            int child = 2 * i + 1;
+            if (child + 1 < size && before(heap[child + 1], heap[child])) {
+                child++;
+            }
+            if (!before(heap[child], value)) {
+                break;
+            }
+            heap[i] = heap[child];
+            i = child;
+        }
+        heap[i] = value;
+    }
+
+    public String toString() {
+        return Arrays.toString(toArray());
+    }
+}
+
+// IntTopK: keeps the k largest values seen so far in a min-heap of size k
+//
+//   - accept(v) is an IntConsumer, so intStream.forEach(topK) streams without boxing
+//   - accept(chunk, from, to) takes int[] chunks
+//   - most values lose against the heap top and cost one comparison
+//   - merge() combines per-thread operators (see topK(IntStream, k))
+class IntTopK implements IntConsumer {
+    private final int k;
+    private final IntHeap heap;
+
+    IntTopK(int k) {
+        if (k <= 0) {
+            throw new IllegalArgumentException("k must be positive: " + k);
+        }
+        this.k = k;
+        this.heap = new IntHeap(k, false);
+    }
+
+    public void accept(int value) {
+        if (heap.size() < k) {
+            heap.add(value);
+        } else if (value > heap.peek()) {
+            heap.replaceTop(value);
+        }
+    }
+
+    void accept(int[] chunk, int from, int to) {
+        int i = from;
+        while (i < to && heap.size() < k) {
+            heap.add(chunk[i++]);
+        }
+        if (i == to) {
+            return;
+        }
+        int threshold = heap.peek();
+        for (; i < to; i++) {
+            int v = chunk[i];
+            if (v > threshold) {
+                heap.replaceTop(v);
+                threshold = heap.peek();
+            }
+        }
+    }
+
+    void merge(IntTopK other) {
+        int[] values = other.heap.toArray();
+        accept(values, 0, values.length);
+    }
+
+    // Smallest value still in the top k (the value a newcomer has to beat)
+    int threshold() {
+        return heap.peek();
+    }
+
+    int size() {
+        return heap.size();
+    }
+
+    // The top k, largest first
+    int[] result() {
+        int[] values = heap.toArray();
+        Arrays.sort(values);
+        for (int i = 0, j = values.length - 1; i < j; i++, j--) {
+            int t = values[i];
+            values[i] = values[j];
+            values[j] = t;
+        }
+        return values;
+    }
+
+    static int[] topK(int[] values, int k) {
+        IntTopK topK = new IntTopK(k);
+        topK.accept(values, 0, values.length);
+        return topK.result();
+    }
+
+    // Parallel: one operator per fork-join split, merged pairwise
+    static int[] topK(IntStream stream, int k) {
+        return stream.collect(() -> new IntTopK(k), IntTopK::accept, IntTopK::merge).result();
+    }
+}
+
+class TopKBenchmark {
+    // PriorityQueueTopK from priorityqueue_examples.java
+    static int[] priorityQueueTopK(int[] values, int k) {
+        PriorityQueue<Integer> pq = new PriorityQueue<>();
+        for (int num : values) {
+            pq.add(num);
+            if (pq.size() > k) {
+                pq.poll();
+            }
+        }
+        int[] result = new int[pq.size()];
+        for (int i = result.length - 1; i >= 0; i--) {
+            result[i] = pq.poll();
+        }
+        return result;
+    }
+
+    // Best of several runs, in milliseconds
+    static double bestMillis(Runnable r, int runs) {
+        long best = Long.MAX_VALUE;
+        for (int i = 0; i < runs; i++) {
+            long start = System.nanoTime();
+            r.run();
+            best = Math.min(best, System.nanoTime() - start);
+        }
+        return best / 1e6;
+    }
+}
+
+public class primitive_heap {
+    public static void main(String[] args) {
+        System.out.println("=== PRIMITIVE HEAPS ===\n");
+
+        // Example 1: Min heap and max heap (PriorityQueueBasics / PriorityQueueMaxHeap)
+        IntHeap min = new IntHeap();
+        IntHeap max = IntHeap.maxHeap();
+        for (int v : new int[] { 30, 10, 20, 5, 50 }) {
+            min.add(v);
+            max.add(v);
+        }
+        System.out.println("Min heap peek: " + min.peek() + ", max heap peek: " + max.peek());
+        System.out.print("Polling min heap:");
+        while (!min.isEmpty()) {
+            System.out.print(" " + min.poll());
+        }
+        System.out.println();
+
+        LongHeap timestamps = new LongHeap();
+        timestamps.add(1_700_000_000_300L);
+        timestamps.add(1_700_000_000_100L);
+        DoubleHeap gpas = DoubleHeap.maxHeap();
+        gpas.add(3.2);
+        gpas.add(3.9);
+        gpas.add(2.7);
+        System.out.println("Oldest timestamp: " + timestamps.peek() + ", best GPA: " + gpas.peek());
+
+        // Example 2: Top K (PriorityQueueTopK)
+        int[] numbers = { 5, 15, 10, 20, 8, 25, 18 };
+        System.out.println("Top 3 largest elements: " + Arrays.toString(IntTopK.topK(numbers, 3)));
+        IntTopK streaming = new IntTopK(3);
+        IntStream.of(numbers).forEach(streaming);
+        System.out.println("Top 3 from IntStream:   " + Arrays.toString(streaming.result()));
+
+        // Example 3: PriorityQueue<Integer> vs IntTopK vs parallel IntTopK
+        int n = args.length > 0 ? Integer.parseInt(args[0]) : 10_000_000;
+        Random random = new Random(42);
+        int[] values = new int[n];
+        for (int i = 0; i < n; i++) {
+            values[i] = random.nextInt();
+        }
+        System.out.printf("%nTop-K of %,d random ints (best of 5, ms):%n", n);
+        System.out.printf("%8s | %15s | %10s | %16s | %s%n", "k", "PriorityQueue", "IntTopK", "IntTopK parallel", "Same result");
+        for (int k : new int[] { 10, 1000, 100_000 }) {
+            int[] expected = TopKBenchmark.priorityQueueTopK(values, k);
+            boolean same = Arrays.equals(expected, IntTopK.topK(values, k))
+                    && Arrays.equals(expected, IntTopK.topK(IntStream.of(values).parallel(), k));
+            double pq = TopKBenchmark.bestMillis(() -> TopKBenchmark.priorityQueueTopK(values, k), 5);
+            double seq = TopKBenchmark.bestMillis(() -> IntTopK.topK(values, k), 5);
+            double par = TopKBenchmark.bestMillis(() -> IntTopK.topK(IntStream.of(values).parallel(), k), 5);
+            System.out.printf("%,8d | %15.1f | %10.1f | %16.1f | %s%n", k, pq, seq, par, same);
+        }
+
+        System.out.println("\n=== PRIMITIVE HEAPS COMPLETED ===");
+    }
+}
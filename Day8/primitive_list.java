@@ -0,0 +1,586 @@
+// Primitive Lists - IntList / LongList / DoubleList (Growable Arrays without Boxing)
+// Compile:  javac primitive_list.java  (standalone, no other files needed)
+// Run:      java primitive_list [elements]
+
+import java.util.*;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.DoubleConsumer;
+import java.util.function.IntConsumer;
+import java.util.function.LongConsumer;
+import java.util.stream.DoubleStream;
+import java.util.stream.IntStream;
+import java.util.stream.LongStream;
+
+// IntList: ArrayList<Integer> as one int[] (4 bytes per element instead of ~20)
+//
+//   - grows by half again when full, like ArrayList (amortized O(1) add)
+//   - sort() is Arrays.sort (dual-pivot quicksort on primitives); from
+//     PARALLEL_SORT_MIN elements it switches to Arrays.parallelSort, and
+//     sort(parallelMin) moves (or with Integer.MAX_VALUE disables) that switch
+//   - binarySearch() expects a sorted list, like Collections.binarySearch
+//   - stream() is a view of the backing array (no copy); do not modify the
+//     list while the stream runs
+class IntList {
+    static final int PARALLEL_SORT_MIN = 1 << 16;
+
+    private int[] data;
+    private int size = 0;
+
+    IntList() {
+        this(10);
+    }
+
+    IntList(int capacity) {
+        data = new int[Math.max(capacity, 1)];
+    }
+
+    static IntList of(int... values) {
+        IntList list = new IntList(values.length);
+        list.addAll(values);
+        return list;
+    }
+
+    private void grow(int minCapacity) {
+        data = Arrays.copyOf(data, Math.max(minCapacity, data.length + (data.length >> 1) + 1));
+    }
+
+    void ensureCapacity(int capacity) {
+        if (capacity > data.length) {
+            grow(capacity);
+        }
+    }
+
+    void add(int value) {
+        if (size == data.length) {
+            grow(size + 1);
+        }
+        data[size++] = value;
+    }
+
+    void add(int index, int value) {
+        Objects.checkIndex(index, size + 1);
+        if (size == data.length) {
+            grow(size + 1);
+        }
+        System.arraycopy(data, index, data, index + 1, size - index);
+        data[index] = value;
+        size++;
+    }
+
+    void addAll(int[] values) {
+        addAll(values, 0, values.length);
+    }
+
+    void addAll(int[] values, int from, int length) {
+        ensureCapacity(size + length);
+        System.arraycopy(values, from, data, size, length);
+        size += length;
+    }
+
+    void addAll(IntList other) {
+        addAll(other.data, 0, other.size);
+    }
+
+    int get(int index) {
+        return data[Objects.checkIndex(index, size)];
+    }
+
+    int set(int index, int value) {
+        int old = data[Objects.checkIndex(index, size)];
+        data[index] = value;
+        return old;
+    }
+
+    // Remove by position (ArrayList.remove(int))
+    int removeAt(int index) {
+        int old = data[Objects.checkIndex(index, size)];
+        System.arraycopy(data, index + 1, data, index, size - index - 1);
+        size--;
+        return old;
+    }
+
+    int removeLast() {
+        if (size == 0) {
+            throw new NoSuchElementException();
+        }
+        return data[--size];
+    }
+
+    int size() {
+        return size;
+    }
+
+    boolean isEmpty() {
+        return size == 0;
+    }
+
+    void clear() {
+        size = 0;
+    }
+
+    void trimToSize() {
+        data = Arrays.copyOf(data, Math.max(size, 1));
+    }
+
+    int indexOf(int value) {
+        for (int i = 0; i < size; i++) {
+            if (data[i] == value) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    boolean contains(int value) {
+        return indexOf(value) >= 0;
+    }
+
+    void sort() {
+        sort(PARALLEL_SORT_MIN);
+    }
+
+    // Integer.MAX_VALUE never goes parallel
+    void sort(int parallelMin) {
+        if (size >= parallelMin) {
+            Arrays.parallelSort(data, 0, size);
+        } else {
+            Arrays.sort(data, 0, size);
+        }
+    }
+
+    // Index of value, or -(insertion point) - 1
+    int binarySearch(int value) {
+        return Arrays.binarySearch(data, 0, size, value);
+    }
+
+    void forEach(IntConsumer action) {
+        for (int i = 0; i < size; i++) {
+            action.accept(data[i]);
+        }
+    }
+
+    IntStream stream() {
+        return Arrays.stream(data, 0, size);
+    }
+
+    int[] toArray() {
+        return Arrays.copyOf(data, size);
+    }
+
+    public String toString() {
+        return Arrays.toString(toArray());
+    }
+}
+
+// LongList: IntList for long values
+class LongList {
+    static final int PARALLEL_SORT_MIN = 1 << 16;
+
+    private long[] data;
+    private int size = 0;
+
+    LongList() {
+        this(10);
+    }
+
+    LongList(int capacity) {
+        data = new long[Math.max(capacity, 1)];
+    }
+
+    static LongList of(long... values) {
+        LongList list = new LongList(values.length);
+        list.addAll(values);
+        return list;
+    }
+
+    private void grow(int minCapacity) {
+        data = Arrays.copyOf(data, Math.max(minCapacity, data.length + (data.length >> 1) + 1));
+    }
+
+    void ensureCapacity(int capacity) {
+        if (capacity > data.length) {
+            grow(capacity);
+        }
+    }
+
+    void add(long value) {
+        if (size == data.length) {
+            grow(size + 1);
+        }
+        data[size++] = value;
+    }
+
+    void add(int index, long value) {
+        Objects.checkIndex(index, size + 1);
+        if (size == data.length) {
+            grow(size + 1);
+        }
+        System.arraycopy(data, index, data, index + 1, size - index);
+        data[index] = value;
+        size++;
+    }
+
+    void addAll(long[] values) {
+        addAll(values, 0, values.length);
+    }
+
+    void addAll(long[] values, int from, int length) {
+        ensureCapacity(size + length);
+        System.arraycopy(values, from, data, size, length);
+        size += length;
+    }
+
+    void addAll(LongList other) {
+        addAll(other.data, 0, other.size);
+    }
+
+    long get(int index) {
+        return data[Objects.checkIndex(index, size)];
+    }
+
+    long set(int index, long value) {
+        long old = data[Objects.checkIndex(index, size)];
+        data[index] = value;
+        return old;
+    }
+
+    long removeAt(int index) {
+        long old = data[Objects.checkIndex(index, size)];
+        System.arraycopy(data, index + 1, data, index, size - index - 1);
+        size--;
+        return old;
+    }
+
+    long removeLast() {
+        if (size == 0) {
+            throw new NoSuchElementException();
+        }
+        return data[--size];
+    }
+
+    int size() {
+        return size;
+    }
+
+    boolean isEmpty() {
+        return size == 0;
+    }
+
+    void clear() {
+        size = 0;
+    }
+
+    void trimToSize() {
+        data = Arrays.copyOf(data, Math.max(size, 1));
+    }
+
+    int indexOf(long value) {
+        for (int i = 0; i < size; i++) {
+            if (data[i] == value) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    boolean contains(long value) {
+        return indexOf(value) >= 0;
+    }
+
+    void sort() {
+        sort(PARALLEL_SORT_MIN);
+    }
+
+    // Integer.MAX_VALUE never goes parallel
+    void sort(int parallelMin) {
+        if (size >= parallelMin) {
+            Arrays.parallelSort(data, 0, size);
+        } else {
+            Arrays.sort(data, 0, size);
+        }
+    }
+
+    int binarySearch(long value) {
+        return Arrays.binarySearch(data, 0, size, value);
+    }
+
+    void forEach(LongConsumer action) {
+        for (int i = 0; i < size; i++) {
+            action.accept(data[i]);
+        }
+    }
+
+    LongStream stream() {
+        return Arrays.stream(data, 0, size);
+    }
+
+    long[] toArray() {
+        return Arrays.copyOf(data, size);
+    }
+
+    public String toString() {
+        return Arrays.toString(toArray());
+    }
+}
+
+// DoubleList: IntList for double values (GPAs, grades)
+// Sorting and searching follow Double.compare: -0.0 before 0.0, NaN last.
+class DoubleList {
+    static final int PARALLEL_SORT_MIN = 1 << 16;
+
+    private double[] data;
+    private int size = 0;
+
+    DoubleList() {
+        this(10);
+    }
+
+    DoubleList(int capacity) {
+        data = new double[Math.max(capacity, 1)];
+    }
+
+    static DoubleList of(double... values) {
+        DoubleList list = new DoubleList(values.length);
+        list.addAll(values);
+        return list;
+    }
+
+    private void grow(int minCapacity) {
+        data = Arrays.copyOf(data, Math.max(minCapacity, data.length + (data.length >> 1) + 1));
+    }
+
+    void ensureCapacity(int capacity) {
+        if (capacity > data.length) {
+            grow(capacity);
+        }
+    }
+
+    void add(double value) {
+        if (size == data.length) {
+            grow(size + 1);
+        }
+        data[size++] = value;
+    }
+
+    void add(int index, double value) {
+        Objects.checkIndex(index, size + 1);
+        if (size == data.length) {
+            grow(size + 1);
+        }
+        System.arraycopy(data, index, data, index + 1, size - index);
+        data[index] = value;
+        size++;
+    }
+
+    void addAll(double[] values) {
+        addAll(values, 0, values.length);
+    }
+
+    void addAll(double[] values, int from, int length) {
+        ensureCapacity(size + length);
+        System.arraycopy(values, from, data, size, length);
+        size += length;
+    }
+
+    void addAll(DoubleList other) {
+        addAll(other.data, 0, other.size);
+    }
+
+    double get(int index) {
+        return data[Objects.checkIndex(index, size)];
+    }
+
+    double set(int index, double value) {
+        double old = data[Objects.checkIndex(index, size)];
+        data[index] = value;
+        return old;
+    }
+
+    double removeAt(int index) {
+        double old = data[Objects.checkIndex(index, size)];
+        System.arraycopy(data, index + 1, data, index, size - index - 1);
+        size--;
+        return old;
+    }
+
+    double removeLast() {
+        if (size == 0) {
+            throw new NoSuchElementException();
+        }
+        return data[--size];
+    }
+
+    int size() {
+        return size;
+    }
+
+    boolean isEmpty() {
+        return size == 0;
+    }
+
+    void clear() {
+        size = 0;
+    }
+
+    void trimToSize() {
+        data = Arrays.copyOf(data, Math.max(size, 1));
+    }
+
+    // Same equality as Double.equals (NaN matches NaN)
+    int indexOf(double value) {
+        for (int i = 0; i < size; i++) {
+            if (Double.compare(data[i], value) == 0) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    boolean contains(double value) {
+        return indexOf(value) >= 0;
+    }
+
+    void sort() {
+        sort(PARALLEL_SORT_MIN);
+    }
+
+    // Integer.MAX_VALUE never goes parallel
+    void sort(int parallelMin) {
+        if (size >= parallelMin) {
+            Arrays.parallelSort(data, 0, size);
+        } else {
+            Arrays.sort(data, 0, size);
+        }
+    }
+
+    int binarySearch(double value) {
+        return Arrays.binarySearch(data, 0, size, value);
+    }
+
+    void forEach(DoubleConsumer action) {
+        for (int i = 0; i < size; i++) {
+            action.accept(data[i]);
+        }
+    }
+
+    DoubleStream stream() {
+        return Arrays.stream(data, 0, size);
+    }
+
+    double[] toArray() {
+        return Arrays.copyOf(data, size);
+    }
+
+    public String toString() {
+        return Arrays.toString(toArray());
+    }
+}
+
+class PrimitiveListBenchmark {
+    static long usedMemory() {
+        Runtime rt = Runtime.getRuntime();
+        for (int i = 0; i < 3; i++) {
+            System.gc();
+        }
+        return rt.totalMemory() - rt.freeMemory();
+    }
+
+    // Best of several runs, in milliseconds; setup is not timed
+    static double bestMillis(Runnable setup, Runnable r, int runs) {
+        long best = Long.MAX_VALUE;
+        for (int i = 0; i < runs; i++) {
+            setup.run();
+            long start = System.nanoTime();
+            r.run();
+            best = Math.min(best, System.nanoTime() - start);
+        }
+        return best / 1e6;
+    }
+}
+
+public class primitive_list {
+    public static void main(String[] args) {
+        System.out.println("=== PRIMITIVE LISTS ===\n");
+
+        // Example 1: ArrayListSort / ArrayListOperations with IntList
+        IntList numbers = IntList.of(50, 20, 80, 10);
+        System.out.println("Before sorting: " + numbers);
+        numbers.sort();
+        System.out.println("After sorting: " + numbers);
+        System.out.println("binarySearch(50): " + numbers.binarySearch(50) + ", binarySearch(30): " + numbers.binarySearch(30));
+
+        IntList combined = IntList.of(1, 2, 3);
+        combined.addAll(new int[] { 3, 4, 5 });
+        System.out.println("Combined: " + combined + ", sum via stream(): " + combined.stream().sum());
+
+        DoubleList gpas = DoubleList.of(3.8, 3.5, 3.9, 3.7);
+        gpas.sort();
+        System.out.printf("GPAs sorted: %s, average: %.2f%n", gpas, gpas.stream().average().orElse(0));
+        LongList timestamps = LongList.of(1_700_000_000_300L, 1_700_000_000_100L);
+        timestamps.sort();
+        System.out.println("Timestamps sorted: " + timestamps);
+
+        // Example 2: Memory and sort throughput vs ArrayList<Integer> + Collections.sort
+        int n = args.length > 0 ? Integer.parseInt(args[0]) : 5_000_000;
+        Random random = new Random(42);
+        int[] values = new int[n];
+        for (int i = 0; i < n; i++) {
+            values[i] = random.nextInt();
+        }
+
+        long before = PrimitiveListBenchmark.usedMemory();
+        ArrayList<Integer> boxed = new ArrayList<>();
+        for (int v : values) {
+            boxed.add(v);
+        }
+        long boxedBytes = PrimitiveListBenchmark.usedMemory() - before;
+
+        before = PrimitiveListBenchmark.usedMemory();
+        IntList primitive = new IntList();
+        for (int v : values) {
+            primitive.add(v);
+        }
+        long primitiveBytes = PrimitiveListBenchmark.usedMemory() - before;
+        System.out.printf("%nMemory for %,d ints:%n", n);
+        System.out.printf("ArrayList<Integer>: %5.1f bytes/element%n", (double) boxedBytes / boxed.size());
+        System.out.printf("IntList:            %5.1f bytes/element%n", (double) primitiveBytes / primitive.size());
+
+        // Fresh unsorted copies, set by each setup lambda and sorted by the timed one
+        AtomicReference<ArrayList<Integer>> boxedCopy = new AtomicReference<>();
+        AtomicReference<IntList> primitiveCopy = new AtomicReference<>();
+        double collectionsSort = PrimitiveListBenchmark.bestMillis(() -> boxedCopy.set(new ArrayList<>(boxed)),
+                () -> Collections.sort(boxedCopy.get()), 3);
+        Runnable copyValues = () -> {
+            IntList copy = new IntList(n);
+            copy.addAll(values);
+            primitiveCopy.set(copy);
+        };
+        double sequentialSort = PrimitiveListBenchmark.bestMillis(copyValues,
+                () -> primitiveCopy.get().sort(Integer.MAX_VALUE), 3);
+        double listSort = PrimitiveListBenchmark.bestMillis(copyValues, () -> primitiveCopy.get().sort(), 3);
+        boolean same = true;
+        for (int i = 0; i < n; i += 997) {
+            same &= boxedCopy.get().get(i) == primitiveCopy.get().get(i);
+        }
+        System.out.printf("%nSorting %,d ints (best of 3):%n", n);
+        System.out.printf("Collections.sort(ArrayList<Integer>): %8.1f ms%n", collectionsSort);
+        System.out.printf("IntList.sort(), sequential:           %8.1f ms (%.1fx)%n", sequentialSort,
+                collectionsSort / sequentialSort);
+        System.out.printf("IntList.sort() (parallel >= 64K):     %8.1f ms (%.1fx, %d cores)%n",
+                listSort, collectionsSort / listSort, Runtime.getRuntime().availableProcessors());
+        System.out.println("Same order: " + same);
+
+        long t0 = System.nanoTime();
+        long boxedSum = 0;
+        for (int v : boxed) {
+            boxedSum += v;
+        }
+        long t1 = System.nanoTime();
+        long primitiveSum = primitive.stream().asLongStream().sum();
+        long t2 = System.nanoTime();
+        System.out.printf("Sum: ArrayList<Integer> loop %.1f ms, IntList.stream() %.1f ms (equal: %s)%n",
+                (t1 - t0) / 1e6, (t2 - t1) / 1e6, boxedSum == primitiveSum);
+
+        System.out.println("\n=== PRIMITIVE LISTS COMPLETED ===");
+    }
+}
@@ -0,0 +1,516 @@
+// RoaringIntSet - Compressed Sorted int Set for Large ID Sets (Set Algebra Library)
+// Compile:  javac roaring_int_set.java  (javac picks up IntHashSet.java from this folder)
+// Run:      java roaring_int_set [elements]
+
+import java.util.*;
+import java.util.stream.IntStream;
+
+// RoaringIntSet: ints are split into a 16-bit high key and a 16-bit low value
+//
+//   keys[i]        high 16 bits (sorted), one container per key
+//   containers[i]  the low 16 bits of every member with that key:
+//                    ArrayContainer   sorted char[]   when it holds <= 4096 values
+//                    BitmapContainer  long[1024]      when it holds more
+//
+// and / or / andNot merge the two key lists and combine matching containers:
+//   - array with array   linear merge, or galloping search when sizes are skewed
+//   - bitmap with bitmap plain long-word loops (a[i] & b[i]) that the JIT vectorizes
+//   - mixed              probe the bitmap for each array value
+// When there are many container pairs, they are combined in parallel.
+// Sets are immutable: every operation returns a new set.
+final class RoaringIntSet {
+    static final int ARRAY_MAX = 4096;
+    private static final int PARALLEL_MIN_CONTAINERS = 64;
+
+    abstract static class Container {
+        abstract int cardinality();
+
+        abstract boolean contains(char low);
+
+        abstract int toArray(int high, int[] out, int offset);
+    }
+
+    static final class ArrayContainer extends Container {
+        final char[] values;
+        final int card;
+
+        ArrayContainer(char[] values, int card) {
+            this.values = values;
+            this.card = card;
+        }
+
+        int cardinality() {
+            return card;
+        }
+
+        boolean contains(char low) {
+            return Arrays.binarySearch(values, 0, card, low) >= 0;
+        }
+
+        int toArray(int high, int[] out, int offset) {
+            for (int i = 0; i < card; i++) {
+                out[offset++] = high | values[i];
+            }
+            return offset;
+        }
+
+        BitmapContainer toBitmap() {
+            long[] words = new long[1024];
+            for (int i = 0; i < card; i++) {
+                words[values[i] >>> 6] |= 1L << values[i];
+            }
+            return new BitmapContainer(words, card);
+        }
+    }
+
+    static final class BitmapContainer extends Container {
+        final long[] words;
+        final int card;
+
+        BitmapContainer(long[] words, int card) {
+            this.words = words;
+            this.card = card;
+        }
+
+        int cardinality() {
+            return card;
+        }
+
+        boolean contains(char low) {
+            return (words[low >>> 6] & (1L << low)) != 0;
+        }
+
+        int toArray(int high, int[] out, int offset) {
+            for (int w = 0; w < 1024; w++) {
+                long word = words[w];
+                while (word != 0) {
+                    out[offset++] = high | (w << 6) | Long.numberOfTrailingZeros(word);
+                    word &= word - 1;
+                }
+            }
+            return offset;
+        }
+    }
+
+    private final char[] keys;
+    private final Container[] containers;
+    private final int size;
+
+    private RoaringIntSet(char[] keys, Container[] containers, int count) {
+        this.keys = keys.length == count ? keys : Arrays.copyOf(keys, count);
+        this.containers = containers.length == count ? containers : Arrays.copyOf(containers, count);
+        int total = 0;
+        for (int i = 0; i < count; i++) {
+            total += this.containers[i].cardinality();
+        }
+        this.size = total;
+    }
+
+    // Flip the sign bit so unsigned key order equals signed int order
+    private static char highOf(int x) {
+        return (char) ((x >>> 16) ^ 0x8000);
+    }
+
+    private static int highBits(char key) {
+        return (key ^ 0x8000) << 16;
+    }
+
+    static RoaringIntSet of(int... values) {
+        int[] sorted = values.clone();
+        Arrays.sort(sorted);
+        return fromSorted(sorted, sorted.length);
+    }
+
+    // Bulk build from sorted input (duplicates are skipped)
+    static RoaringIntSet fromSorted(int[] sorted, int length) {
+        char[] keys = new char[16];
+        Container[] containers = new Container[16];
+        int count = 0;
+        int i = 0;
+        while (i < length) {
+            char key = highOf(sorted[i]);
+            int j = i;
+            while (j < length && highOf(sorted[j]) == key) {
+                j++;
+            }
+            char[] lows = new char[j - i];
+            int card = 0;
+            for (int k = i; k < j; k++) {
+                char low = (char) sorted[k];
+                if (card == 0 || lows[card - 1] != low) {
+                    lows[card++] = low;
+                }
+            }
+            if (count == keys.length) {
+                keys = Arrays.copyOf(keys, count * 2);
+                containers = Arrays.copyOf(containers, count * 2);
+            }
+            keys[count] = key;
+            ArrayContainer c = new ArrayContainer(lows, card);
+            containers[count++] = card > ARRAY_MAX ? c.toBitmap() : c;
+            i = j;
+        }
+        return new RoaringIntSet(keys, containers, count);
+    }
+
+    int size() {
+        return size;
+    }
+
+    boolean contains(int x) {
+        int i = Arrays.binarySearch(keys, highOf(x));
+        return i >= 0 && containers[i].contains((char) x);
+    }
+
+    // Members in ascending order
+    int[] toArray() {
+        int[] out = new int[size];
+        int offset = 0;
+        for (int i = 0; i < keys.length; i++) {
+            offset = containers[i].toArray(highBits(keys[i]), out, offset);
+        }
+        return out;
+    }
+
+    static RoaringIntSet and(RoaringIntSet a, RoaringIntSet b) {
+        return combine(a, b, Op.AND);
+    }
+
+    static RoaringIntSet or(RoaringIntSet a, RoaringIntSet b) {
+        return combine(a, b, Op.OR);
+    }
+
+    static RoaringIntSet andNot(RoaringIntSet a, RoaringIntSet b) {
+        return combine(a, b, Op.AND_NOT);
+    }
+
+    private enum Op { AND, OR, AND_NOT }
+
+    private static RoaringIntSet combine(RoaringIntSet a, RoaringIntSet b, Op op) {
+        // 1. merge the key lists into (key, left container, right container) triples
+        int max = a.keys.length + b.keys.length;
+        char[] keys = new char[max];
+        Container[] left = new Container[max], right = new Container[max];
+        int n = 0, i = 0, j = 0;
+        while (i < a.keys.length || j < b.keys.length) {
+            int c = i == a.keys.length ? 1 : j == b.keys.length ? -1 : Character.compare(a.keys[i], b.keys[j]);
+            Container l = c <= 0 ? a.containers[i] : null;
+            Container r = c >= 0 ? b.containers[j] : null;
+            keys[n] = c <= 0 ? a.keys[i] : b.keys[j];
+            if (c <= 0) {
+                i++;
+            }
+            if (c >= 0) {
+                j++;
+            }
+            boolean needed = op == Op.OR || (op == Op.AND ? l != null && r != null : l != null);
+            if (needed) {
+                left[n] = l;
+                right[n] = r;
+                n++;
+            }
+        }
+
+        // 2. combine container pairs, in parallel when there are many
+        Container[] result = new Container[n];
+        IntStream range = IntStream.range(0, n);
+        if (n >= PARALLEL_MIN_CONTAINERS) {
+            range = range.parallel();
+        }
+        range.forEach(k -> result[k] = apply(left[k], right[k], op));
+
+        // 3. drop empty containers
+        int count = 0;
+        for (int k = 0; k < n; k++) {
+            if (result[k] != null && result[k].cardinality() > 0) {
+                keys[count] = keys[k];
+                result[count++] = result[k];
+            }
+        }
+        return new RoaringIntSet(keys, result, count);
+    }
+
+    private static Container apply(Container l, Container r, Op op) {
+        if (l == null) {
+            return op == Op.OR ? r : null;
+        }
+        if (r == null) {
+            return op == Op.AND ? null : l;
+        }
+        if (l instanceof BitmapContainer && r instanceof BitmapContainer) {
+            return bitmapOp(((BitmapContainer) l).words, ((BitmapContainer) r).words, op);
+        }
+        if (l instanceof ArrayContainer && r instanceof ArrayContainer) {
+            ArrayContainer x = (ArrayContainer) l, y = (ArrayContainer) r;
+            switch (op) {
+                case AND:
+                    return intersect(x, y);
+                case OR:
+                    return x.card + y.card > ARRAY_MAX ? bitmapOp(x.toBitmap().words, y.toBitmap().words, op) : union(x, y);
+                default:
+                    return difference(x, y);
+            }
+        }
+        // mixed: one array, one bitmap
+        if (op == Op.OR) {
+            ArrayContainer arr = (ArrayContainer) (l instanceof ArrayContainer ? l : r);
+            BitmapContainer bm = (BitmapContainer) (l instanceof BitmapContainer ? l : r);
+            long[] words = bm.words.clone();
+            int card = bm.card;
+            for (int k = 0; k < arr.card; k++) {
+                char v = arr.values[k];
+                long bit = 1L << v;
+                if ((words[v >>> 6] & bit) == 0) {
+                    words[v >>> 6] |= bit;
+                    card++;
+                }
+            }
+            return new BitmapContainer(words, card);
+        }
+        if (l instanceof ArrayContainer) {
+            // array AND bitmap / array AND NOT bitmap: probe each value
+            ArrayContainer arr = (ArrayContainer) l;
+            char[] out = new char[arr.card];
+            int card = 0;
+            boolean keep = op == Op.AND;
+            for (int k = 0; k < arr.card; k++) {
+                if (r.contains(arr.values[k]) == keep) {
+                    out[card++] = arr.values[k];
+                }
+            }
+            return new ArrayContainer(out, card);
+        }
+        ArrayContainer arr = (ArrayContainer) r;
+        BitmapContainer bm = (BitmapContainer) l;
+        if (op == Op.AND) {
+            return apply(arr, bm, Op.AND);
+        }
+        // bitmap AND NOT array: clear the array's bits
+        long[] words = bm.words.clone();
+        int card = bm.card;
+        for (int k = 0; k < arr.card; k++) {
+            char v = arr.values[k];
+            long bit = 1L << v;
+            if ((words[v >>> 6] & bit) != 0) {
+                words[v >>> 6] &= ~bit;
+                card--;
+            }
+        }
+        return shrink(words, card);
+    }
+
+    // Straight-line word loops: one op per long, no branches, so C2 emits SIMD
+    private static Container bitmapOp(long[] x, long[] y, Op op) {
+        long[] out = new long[1024];
+        switch (op) {
+            case AND:
+                for (int w = 0; w < 1024; w++) {
+                    out[w] = x[w] & y[w];
+                }
+                break;
+            case OR:
+                for (int w = 0; w < 1024; w++) {
+                    out[w] = x[w] | y[w];
+                }
+                break;
+            default:
+                for (int w = 0; w < 1024; w++) {
+                    out[w] = x[w] & ~y[w];
+                }
+        }
+        int card = 0;
+        for (int w = 0; w < 1024; w++) {
+            card += Long.bitCount(out[w]);
+        }
+        return shrink(out, card);
+    }
+
+    private static Container shrink(long[] words, int card) {
+        if (card > ARRAY_MAX) {
+            return new BitmapContainer(words, card);
+        }
+        char[] values = new char[card];
+        int n = 0;
+        for (int w = 0; w < 1024; w++) {
+            long word = words[w];
+            while (word != 0) {
+                values[n++] = (char) ((w << 6) | Long.numberOfTrailingZeros(word));
+                word &= word - 1;
+            }
+        }
+        return new ArrayContainer(values, card);
+    }
+
+    private static ArrayContainer intersect(ArrayContainer x, ArrayContainer y) {
+        ArrayContainer small = x.card <= y.card ? x : y;
+        ArrayContainer large = small == x ? y : x;
+        char[] out = new char[small.card];
+        int n = 0;
+        if (large.card > 32 * small.card) {
+            // galloping: exponential then binary search in the large array
+            int from = 0;
+            for (int k = 0; k < small.card && from < large.card; k++) {
+                char v = small.values[k];
+                int step = 1, hi = from;
+                while (hi < large.card && large.values[hi] < v) {
+                    from = hi + 1;
+                    hi += step;
+                    step <<= 1;
+                }
+                int pos = Arrays.binarySearch(large.values, from, Math.min(hi + 1, large.card), v);
+                if (pos >= 0) {
+                    out[n++] = v;
+                    from = pos + 1;
+                } else {
+                    from = -pos - 1;
+                }
+            }
+        } else {
+            int i = 0, j = 0;
+            while (i < small.card && j < large.card) {
+                char a = small.values[i], b = large.values[j];
+                if (a == b) {
+                    out[n++] = a;
+                    i++;
+                    j++;
+                } else if (a < b) {
+                    i++;
+                } else {
+                    j++;
+                }
+            }
+        }
+        return new ArrayContainer(out, n);
+    }
+
+    private static ArrayContainer union(ArrayContainer x, ArrayContainer y) {
+        char[] out = new char[x.card + y.card];
+        int i = 0, j = 0, n = 0;
+        while (i < x.card && j < y.card) {
+            char a = x.values[i], b = y.values[j];
+            out[n++] = a <= b ? a : b;
+            if (a <= b) {
+                i++;
+            }
+            if (b <= a) {
+                j++;
+            }
+        }
+        while (i < x.card) {
+            out[n++] = x.values[i++];
+        }
+        while (j < y.card) {
+            out[n++] = y.values[j++];
+        }
+        return new ArrayContainer(out, n);
+    }
+
+    private static ArrayContainer difference(ArrayContainer x, ArrayContainer y) {
+        char[] out = new char[x.card];
+        int i = 0, j = 0, n = 0;
+        while (i < x.card) {
+            char a = x.values[i];
+            while (j < y.card && y.values[j] < a) {
+                j++;
+            }
+            if (j == y.card || y.values[j] != a) {
+                out[n++] = a;
+            }
+            i++;
+        }
+        return new ArrayContainer(out, n);
+    }
+
+    public String toString() {
+        return Arrays.toString(toArray());
+    }
+}
+
+public class roaring_int_set {
+    static int[] randomSorted(int n, int bound, long seed) {
+        Random random = new Random(seed);
+        int[] values = new int[n];
+        for (int i = 0; i < n; i++) {
+            values[i] = random.nextInt(bound);
+        }
+        Arrays.sort(values);
+        return values;
+    }
+
+    // Equal sizes and every Roaring member present in the other two, so the
+    // three results hold exactly the same ints
+    static boolean sameMembers(RoaringIntSet r, HashSet<Integer> h, IntHashSet ih) {
+        if (h.size() != r.size() || ih.size() != r.size()) {
+            return false;
+        }
+        for (int v : r.toArray()) {
+            if (!h.contains(v) || !ih.contains(v)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    public static void main(String[] args) {
+        System.out.println("=== ROARING INT SET ===\n");
+
+        // Example 1: HashSetUnion / HashSetIntersection / HashSetDifference
+        RoaringIntSet set1 = RoaringIntSet.of(1, 2, 3, 4);
+        RoaringIntSet set2 = RoaringIntSet.of(3, 4, 5, 6);
+        System.out.println("Set 1: " + set1);
+        System.out.println("Set 2: " + set2);
+        System.out.println("Union: " + RoaringIntSet.or(set1, set2));
+        System.out.println("Intersection: " + RoaringIntSet.and(set1, set2));
+        System.out.println("Difference (1 - 2): " + RoaringIntSet.andNot(set1, set2));
+        System.out.println("Negative ids sort first: " + RoaringIntSet.of(5, -70000, 70000, -1));
+
+        // Example 2: Large sets - dense (bitmaps), sparse (arrays) and skewed (galloping)
+        int n = args.length > 0 ? Integer.parseInt(args[0]) : 5_000_000;
+        int[][][] cases = {
+                { randomSorted(n, n * 2, 1), randomSorted(n, n * 2, 2) },
+                { randomSorted(n, Integer.MAX_VALUE, 3), randomSorted(n, Integer.MAX_VALUE, 4) },
+                { randomSorted(n, n * 50, 5), randomSorted(n / 100, n * 50, 6) } };
+        String[] names = { "dense", "sparse", "skewed" };
+
+        System.out.printf("%n%-7s | %-9s | %12s | %12s | %12s | %s%n", "Case", "Operation", "HashSet ms", "IntHashSet ms",
+                "Roaring ms", "Agree");
+        for (int c = 0; c < cases.length; c++) {
+            int[] a = cases[c][0], b = cases[c][1];
+            HashSet<Integer> ha = new HashSet<>(), hb = new HashSet<>();
+            IntHashSet ia = new IntHashSet(), ib = new IntHashSet();
+            for (int v : a) {
+                ha.add(v);
+                ia.add(v);
+            }
+            for (int v : b) {
+                hb.add(v);
+                ib.add(v);
+            }
+            RoaringIntSet ra = RoaringIntSet.fromSorted(a, a.length), rb = RoaringIntSet.fromSorted(b, b.length);
+
+            for (String op : new String[] { "and", "or", "andNot" }) {
+                long t0 = System.nanoTime();
+                HashSet<Integer> h = new HashSet<>(ha);
+                if (op.equals("and")) {
+                    h.retainAll(hb);
+                } else if (op.equals("or")) {
+                    h.addAll(hb);
+                } else {
+                    h.removeAll(hb);
+                }
+                long t1 = System.nanoTime();
+                IntHashSet ih = op.equals("and") ? IntHashSet.intersection(ia, ib)
+                        : op.equals("or") ? IntHashSet.union(ia, ib) : IntHashSet.difference(ia, ib);
+                long t2 = System.nanoTime();
+                RoaringIntSet r = op.equals("and") ? RoaringIntSet.and(ra, rb)
+                        : op.equals("or") ? RoaringIntSet.or(ra, rb) : RoaringIntSet.andNot(ra, rb);
+                long t3 = System.nanoTime();
+                boolean agree = sameMembers(r, h, ih);
+                System.out.printf("%-7s | %-9s | %12.1f | %12.1f | %12.1f | %s%n", names[c], op,
+                        (t1 - t0) / 1e6, (t2 - t1) / 1e6, (t3 - t2) / 1e6, agree);
+            }
+        }
+
+        System.out.println("\n=== ROARING INT SET COMPLETED ===");
+    }
+}
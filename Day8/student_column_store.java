@@ -0,0 +1,349 @@
+// Student Column Store - Primitive Columnar Storage for CapstoneStudent Records
+// Compile together with student_registry.java:  javac *.java
+// Run:                                          java student_column_store [records]
+
+import java.nio.charset.StandardCharsets;
+import java.util.*;
+
+// StudentColumnStore: one primitive array per field instead of one object per student
+//
+//   ids[row]          int
+//   gpa[row]          double
+//   deptCode[row]     byte  -> departments[code] (dictionary encoding)
+//   nameStart[row]    int   -> UTF-8 bytes in nameBytes[nameStart[row] .. nameStart[row + 1])
+//
+// An open-addressing id -> row table replaces HashSet<Integer> for duplicate checks.
+class StudentColumnStore {
+    private int size = 0;
+    private int[] ids;
+    private double[] gpa;
+    private byte[] deptCode;
+    private int[] nameStart;
+    private byte[] nameBytes;
+    private int nameLength = 0;
+
+    private final List<String> departments = new ArrayList<>();
+    private final Map<String, Integer> departmentCodes = new HashMap<>();
+
+    // id -> row + 1 (0 = empty slot), linear probing
+    private int[] idSlots;
+    private int[] rowSlots;
+
+    StudentColumnStore(int capacity) {
+        capacity = Math.max(capacity, 16);
+        ids = new int[capacity];
+        gpa = new double[capacity];
+        deptCode = new byte[capacity];
+        nameStart = new int[capacity + 1];
+        nameBytes = new byte[capacity * 8];
+        int slots = Integer.highestOneBit(capacity * 2 - 1) << 1;
+        idSlots = new int[slots];
+        rowSlots = new int[slots];
+    }
+
+    // Same contract as capstone_project.addStudent: false on duplicate id
+    boolean add(int id, String name, double studentGpa, String department) {
+        byte[] encoded = name.getBytes(StandardCharsets.UTF_8);
+        return add(id, encoded, 0, encoded.length, studentGpa, department);
+    }
+
+    // Bulk-load path: the name is copied straight from a UTF-8 buffer
+    boolean add(int id, byte[] name, int nameOffset, int nameLen, double studentGpa, String department) {
+        if (rowOf(id) >= 0) {
+            return false;
+        }
+        if (size == ids.length) {
+            grow();
+        }
+        if (nameLength + nameLen > nameBytes.length) {
+            nameBytes = Arrays.copyOf(nameBytes, Math.max(nameBytes.length * 2, nameLength + nameLen));
+        }
+        System.arraycopy(name, nameOffset, nameBytes, nameLength, nameLen);
+        nameLength += nameLen;
+
+        ids[size] = id;
+        gpa[size] = studentGpa;
+        deptCode[size] = (byte) codeOf(department);
+        nameStart[size + 1] = nameLength;
+        putSlot(id, size);
+        size++;
+        return true;
+    }
+
+    int size() {
+        return size;
+    }
+
+    boolean containsId(int id) {
+        return rowOf(id) >= 0;
+    }
+
+    // Row index for an id, or -1
+    int rowOf(int id) {
+        int mask = idSlots.length - 1;
+        for (int i = mix(id) & mask; rowSlots[i] != 0; i = (i + 1) & mask) {
+            if (idSlots[i] == id) {
+                return rowSlots[i] - 1;
+            }
+        }
+        return -1;
+    }
+
+    // Zero-copy column reads
+    int idAt(int row) {
+        return ids[row];
+    }
+
+    double gpaAt(int row) {
+        return gpa[row];
+    }
+
+    String departmentAt(int row) {
+        return departments.get(deptCode[row] & 0xFF);
+    }
+
+    int departmentCodeAt(int row) {
+        return deptCode[row] & 0xFF;
+    }
+
+    // Dictionary: code -> department name
+    List<String> departments() {
+        return Collections.unmodifiableList(departments);
+    }
+
+    String nameAt(int row) {
+        return new String(nameBytes, nameStart[row], nameStart[row + 1] - nameStart[row], StandardCharsets.UTF_8);
+    }
+
+    int nameLengthAt(int row) {
+        return nameStart[row + 1] - nameStart[row];
+    }
+
+    // Materialize a row only when a caller needs an object
+    CapstoneStudent studentAt(int row) {
+        return new CapstoneStudent(ids[row], nameAt(row), gpa[row], departmentAt(row));
+    }
+
+    // View: rows ordered by GPA (highest first, ties by id) - like topStudents
+    int[] rowsByGpa() {
+        int[] rows = new int[size];
+        for (int i = 0; i < size; i++) {
+            rows[i] = i;
+        }
+        mergeSort(rows, new int[size], 0, size);
+        return rows;
+    }
+
+    // View: rows of one department, in insertion order
+    int[] rowsInDepartment(String department) {
+        Integer code = departmentCodes.get(department);
+        if (code == null) {
+            return new int[0];
+        }
+        byte c = (byte) (int) code;
+        int count = 0;
+        for (int i = 0; i < size; i++) {
+            if (deptCode[i] == c) {
+                count++;
+            }
+        }
+        int[] rows = new int[count];
+        for (int i = 0, j = 0; i < size; i++) {
+            if (deptCode[i] == c) {
+                rows[j++] = i;
+            }
+        }
+        return rows;
+    }
+
+    // Bytes held by the arrays (excluding the small department dictionary)
+    long footprintBytes() {
+        return 4L * ids.length + 8L * gpa.length + deptCode.length + 4L * nameStart.length
+                + nameBytes.length + 4L * idSlots.length + 4L * rowSlots.length;
+    }
+
+    private int codeOf(String department) {
+        Integer code = departmentCodes.get(department);
+        if (code == null) {
+            if (departments.size() == 256) {
+                throw new IllegalStateException("More than 256 departments");
+            }
+            code = departments.size();
+            departments.add(department);
+            departmentCodes.put(department, code);
+        }
+        return code;
+    }
+
+    private boolean before(int rowA, int rowB) {
+        int c = Double.compare(gpa[rowB], gpa[rowA]);
+        return c != 0 ? c < 0 : ids[rowA] < ids[rowB];
+    }
+
+    private void mergeSort(int[] rows, int[] tmp, int from, int to) {
+        if (to - from < 2) {
+            return;
+        }
+        int mid = (from + to) >>> 1;
+        mergeSort(rows, tmp, from, mid);
+        mergeSort(rows, tmp, mid, to);
+        int i = from, j = mid, k = from;
+        while (i < mid && j < to) {
+            tmp[k++] = before(rows[j], rows[i]) ? rows[j++] : rows[i++];
+        }
+        while (i < mid) {
+            tmp[k++] = rows[i++];
+        }
+        while (j < to) {
+            tmp[k++] = rows[j++];
+        }
+        System.arraycopy(tmp, from, rows, from, to - from);
+    }
+
+    private static int mix(int id) {
+        int h = id * 0x9E3779B9;
+        return h ^ (h >>> 16);
+    }
+
+    private void putSlot(int id, int row) {
+        if ((size + 1) * 2 > idSlots.length) {
+            rehash(idSlots.length * 2);
+        }
+        int mask = idSlots.length - 1;
+        int i = mix(id) & mask;
+        while (rowSlots[i] != 0) {
+            i = (i + 1) & mask;
+        }
+        idSlots[i] = id;
+        rowSlots[i] = row + 1;
+    }
+
+    private void rehash(int newLength) {
+        int[] oldIds = idSlots, oldRows = rowSlots;
+        idSlots = new int[newLength];
+        rowSlots = new int[newLength];
+        int mask = newLength - 1;
+        for (int s = 0; s < oldIds.length; s++) {
+            if (oldRows[s] != 0) {
+                int i = mix(oldIds[s]) & mask;
+                while (rowSlots[i] != 0) {
+                    i = (i + 1) & mask;
+                }
+                idSlots[i] = oldIds[s];
+                rowSlots[i] = oldRows[s];
+            }
+        }
+    }
+
+    private void grow() {
+        int capacity = ids.length * 2;
+        ids = Arrays.copyOf(ids, capacity);
+        gpa = Arrays.copyOf(gpa, capacity);
+        deptCode = Arrays.copyOf(deptCode, capacity);
+        nameStart = Arrays.copyOf(nameStart, capacity + 1);
+    }
+}
+
+// Memory report: bytes per student, object model vs column store
+class StudentMemoryReport {
+    static final String[] DEPARTMENTS = { "Computer Science", "Mathematics", "Physics", "Chemistry", "Biology" };
+
+    static long usedMemory() {
+        Runtime rt = Runtime.getRuntime();
+        for (int i = 0; i < 3; i++) {
+            System.gc();
+            try {
+                Thread.sleep(50);
+            } catch (InterruptedException e) {
+            }
+        }
+        return rt.totalMemory() - rt.freeMemory();
+    }
+
+    static double gpaFor(Random random) {
+        return Math.round((2.0 + random.nextDouble() * 2.0) * 100) / 100.0;
+    }
+
+    // Same three collections capstone_project fills in addStudent()
+    static long objectModelBytes(int records) {
+        long before = usedMemory();
+        ArrayList<CapstoneStudent> allStudents = new ArrayList<>();
+        HashSet<Integer> studentIds = new HashSet<>();
+        TreeSet<CapstoneStudent> topStudents = new TreeSet<>(StudentRegistry::compareByGpa);
+        Random random = new Random(42);
+        for (int i = 0; i < records; i++) {
+            if (studentIds.add(i)) {
+                CapstoneStudent s = new CapstoneStudent(i, "Student" + i, gpaFor(random), DEPARTMENTS[i % 5]);
+                allStudents.add(s);
+                topStudents.add(s);
+            }
+        }
+        long after = usedMemory();
+        if (allStudents.size() + studentIds.size() + topStudents.size() != 3 * records) {
+            throw new IllegalStateException();
+        }
+        return after - before;
+    }
+
+    static long columnStoreBytes(int records) {
+        long before = usedMemory();
+        StudentColumnStore store = new StudentColumnStore(records);
+        Random random = new Random(42);
+        for (int i = 0; i < records; i++) {
+            store.add(i, "Student" + i, gpaFor(random), DEPARTMENTS[i % 5]);
+        }
+        long after = usedMemory();
+        if (store.size() != records) {
+            throw new IllegalStateException();
+        }
+        return after - before;
+    }
+}
+
+public class student_column_store {
+    public static void main(String[] args) {
+        System.out.println("=== STUDENT COLUMN STORE ===\n");
+
+        StudentColumnStore store = new StudentColumnStore(8);
+        store.add(101, "Alice Johnson", 3.8, "Computer Science");
+        store.add(102, "Bob Smith", 3.5, "Mathematics");
+        store.add(103, "Charlie Brown", 3.9, "Computer Science");
+        store.add(104, "Diana Prince", 3.7, "Physics");
+        store.add(105, "Eve Wilson", 3.6, "Mathematics");
+        System.out.println("Add duplicate 101: " + store.add(101, "Dup", 2.0, "Physics"));
+
+        // Same views as capstone_project's demonstrate* methods
+        System.out.println("\n1. All Students (insertion order)");
+        for (int row = 0; row < store.size(); row++) {
+            System.out.println("   " + store.studentAt(row));
+        }
+
+        System.out.println("\n2. Unique IDs");
+        System.out.println("Contains 103? " + store.containsId(103));
+        System.out.println("Contains 999? " + store.containsId(999));
+
+        System.out.println("\n3. Ranked by GPA");
+        int rank = 1;
+        for (int row : store.rowsByGpa()) {
+            System.out.println("   Rank " + rank++ + ": " + store.studentAt(row));
+        }
+
+        System.out.println("\n4. Mathematics department");
+        for (int row : store.rowsInDepartment("Mathematics")) {
+            System.out.println("   " + store.nameAt(row) + " - " + store.gpaAt(row));
+        }
+
+        // Memory report
+        int records = args.length > 0 ? Integer.parseInt(args[0]) : 1_000_000;
+        System.out.println("\n5. Memory report for " + records + " students");
+        long objects = StudentMemoryReport.objectModelBytes(records);
+        long columns = StudentMemoryReport.columnStoreBytes(records);
+        System.out.printf("Object model (ArrayList + HashSet<Integer> + TreeSet): %,d bytes (%.1f bytes/student)%n",
+                objects, (double) objects / records);
+        System.out.printf("Column store (primitive arrays):                        %,d bytes (%.1f bytes/student)%n",
+                columns, (double) columns / records);
+        System.out.printf("Savings: %.1fx%n", (double) objects / Math.max(columns, 1));
+
+        System.out.println("\n=== COLUMN STORE COMPLETED ===");
+    }
+}
@@ -0,0 +1,392 @@
+// Student CSV Ingest - Streaming, Parallel Bulk Loader for the Student Store
+// Compile together with student_column_store.java and student_registry.java:  javac *.java
+// Run:                                                                        java student_csv_ingest [rows] [directory]
+//
+// Input uses the CSVBuilder format from Day3/mutable_string_examples.java:
+// one header line, then comma-separated rows without quoting.
+//
+//   Id,Name,Gpa,Department
+//   101,Alice Johnson,3.8,Computer Science
+
+import java.io.*;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.*;
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.*;
+
+// One parsed chunk: primitive columns, names still point into the chunk bytes
+class StudentBatch {
+    final byte[] data;
+    int count = 0;
+    int rejected = 0;
+    int[] ids = new int[1024];
+    double[] gpa = new double[1024];
+    int[] nameStart = new int[1024];
+    int[] nameLength = new int[1024];
+    String[] department = new String[1024];
+
+    StudentBatch(byte[] data) {
+        this.data = data;
+    }
+
+    void add(int id, double studentGpa, int start, int length, String dept) {
+        if (count == ids.length) {
+            int n = count * 2;
+            ids = Arrays.copyOf(ids, n);
+            gpa = Arrays.copyOf(gpa, n);
+            nameStart = Arrays.copyOf(nameStart, n);
+            nameLength = Arrays.copyOf(nameLength, n);
+            department = Arrays.copyOf(department, n);
+        }
+        ids[count] = id;
+        gpa[count] = studentGpa;
+        nameStart[count] = start;
+        nameLength[count] = length;
+        department[count] = dept;
+        count++;
+    }
+}
+
+// StudentCsvIngest: reader -> parallel parsers -> in-order inserter
+//
+//   reader     reads the file in large chunks cut at the last '\n'
+//   parsers    turn a chunk into a StudentBatch straight from the bytes
+//              (ids and GPA are parsed from digits, departments are matched
+//              against a small dictionary, names are never turned into Strings)
+//   inserter   appends batches in file order, so "first row wins" on duplicate
+//              ids exactly like capstone_project.addStudent
+class StudentCsvIngest {
+    private static final int CHUNK_BYTES = 4 << 20;
+
+    final LongAdder rowsRead = new LongAdder();
+    final LongAdder inserted = new LongAdder();
+    final LongAdder duplicates = new LongAdder();
+    final LongAdder rejected = new LongAdder();
+
+    private final int parsers;
+    // Copy-on-write department dictionary, replaced as a whole on a miss
+    private static final class Departments {
+        final String[] names;
+        final byte[][] bytes;
+
+        Departments(String[] names, byte[][] bytes) {
+            this.names = names;
+            this.bytes = bytes;
+        }
+    }
+
+    private volatile Departments departments = new Departments(new String[0], new byte[0][]);
+
+    StudentCsvIngest(int parsers) {
+        this.parsers = parsers;
+    }
+
+    void ingest(Path file, StudentColumnStore store) throws IOException, InterruptedException {
+        ExecutorService pool = Executors.newFixedThreadPool(parsers);
+        // bounded: the reader stalls when parsing or inserting falls behind
+        BlockingQueue<Future<StudentBatch>> inOrder = new ArrayBlockingQueue<>(parsers * 2);
+        AtomicReference<Throwable> failure = new AtomicReference<>(); // set if the inserter dies
+        Thread inserter = new Thread(() -> insertAll(inOrder, store, failure));
+        inserter.start();
+        try (FileChannel ch = FileChannel.open(file, StandardOpenOption.READ)) {
+            ByteBuffer buf = ByteBuffer.allocate(CHUNK_BYTES);
+            byte[] carry = new byte[0];
+            boolean header = true;
+            while (true) {
+                buf.clear();
+                buf.put(carry);
+                int read = ch.read(buf);
+                boolean eof = read < 0;
+                int end = buf.position();
+                if (end == 0 && eof) {
+                    break;
+                }
+                byte[] bytes = buf.array();
+                int cut = eof ? end : lastNewline(bytes, end) + 1;
+                if (cut == 0) {
+                    throw new IOException("Line longer than " + CHUNK_BYTES + " bytes");
+                }
+                int from = 0;
+                if (header) {
+                    from = firstNewline(bytes, cut) + 1;
+                    header = false;
+                }
+                byte[] chunk = Arrays.copyOfRange(bytes, from, cut);
+                carry = Arrays.copyOfRange(bytes, cut, end);
+                if (!handOff(inOrder, pool.submit(() -> parse(chunk)), failure) || eof) {
+                    break;
+                }
+            }
+        } finally {
+            handOff(inOrder, CompletableFuture.completedFuture(null), failure); // end marker
+            inserter.join();
+            pool.shutdownNow(); // only parses queued after a failure are left
+        }
+        Throwable cause = failure.get();
+        if (cause instanceof RuntimeException) {
+            throw (RuntimeException) cause;
+        } else if (cause instanceof Error) {
+            throw (Error) cause;
+        } else if (cause != null) {
+            throw new IOException("Ingest failed", cause);
+        }
+    }
+
+    // Waits for room in the queue, but gives up (false) once the inserter has
+    // failed, since nobody will take from the queue any more
+    private static boolean handOff(BlockingQueue<Future<StudentBatch>> inOrder, Future<StudentBatch> batch,
+            AtomicReference<Throwable> failure) throws InterruptedException {
+        while (failure.get() == null) {
+            if (inOrder.offer(batch, 50, TimeUnit.MILLISECONDS)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private void insertAll(BlockingQueue<Future<StudentBatch>> inOrder, StudentColumnStore store,
+            AtomicReference<Throwable> failure) {
+        try {
+            while (true) {
+                StudentBatch batch = inOrder.take().get();
+                if (batch == null) {
+                    return;
+                }
+                int added = 0;
+                for (int i = 0; i < batch.count; i++) {
+                    if (store.add(batch.ids[i], batch.data, batch.nameStart[i], batch.nameLength[i],
+                            batch.gpa[i], batch.department[i])) {
+                        added++;
+                    }
+                }
+                inserted.add(added);
+                duplicates.add(batch.count - added);
+                rejected.add(batch.rejected);
+            }
+        } catch (ExecutionException e) {
+            failure.set(e.getCause()); // a parser threw
+        } catch (Throwable e) {
+            failure.set(e);
+        }
+    }
+
+    private static int lastNewline(byte[] b, int end) {
+        for (int i = end - 1; i >= 0; i--) {
+            if (b[i] == '\n') {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    // End of the first line (the header) within [0, limit)
+    private static int firstNewline(byte[] b, int limit) {
+        for (int i = 0; i < limit; i++) {
+            if (b[i] == '\n') {
+                return i;
+            }
+        }
+        return limit - 1;
+    }
+
+    StudentBatch parse(byte[] b) {
+        StudentBatch batch = new StudentBatch(b);
+        int pos = 0, n = b.length;
+        while (pos < n) {
+            int lineEnd = pos;
+            while (lineEnd < n && b[lineEnd] != '\n') {
+                lineEnd++;
+            }
+            int end = lineEnd > pos && b[lineEnd - 1] == '\r' ? lineEnd - 1 : lineEnd;
+            if (end > pos && !parseLine(batch, b, pos, end)) {
+                batch.rejected++;
+            }
+            pos = lineEnd + 1;
+        }
+        rowsRead.add(batch.count + batch.rejected);
+        return batch;
+    }
+
+    // Id,Name,Gpa,Department
+    private boolean parseLine(StudentBatch batch, byte[] b, int from, int to) {
+        int c1 = indexOf(b, from, to, (byte) ',');
+        int c2 = c1 < 0 ? -1 : indexOf(b, c1 + 1, to, (byte) ',');
+        int c3 = c2 < 0 ? -1 : indexOf(b, c2 + 1, to, (byte) ',');
+        if (c3 < 0 || c1 == from || c2 == c1 + 1 || c3 == c2 + 1 || c3 == to - 1) {
+            return false;
+        }
+        long id = parseId(b, from, c1);
+        double studentGpa = parseGpa(b, c2 + 1, c3);
+        if (id < 0 || !(studentGpa >= 0.0 && studentGpa <= MAX_GPA)) { // NaN fails the range check too
+            return false;
+        }
+        batch.add((int) id, studentGpa, c1 + 1, c2 - c1 - 1, department(b, c3 + 1, to));
+        return true;
+    }
+
+    private static int indexOf(byte[] b, int from, int to, byte c) {
+        for (int i = from; i < to; i++) {
+            if (b[i] == c) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    private static long parseId(byte[] b, int from, int to) {
+        if (to - from > 10) {
+            return -1;
+        }
+        long v = 0;
+        for (int i = from; i < to; i++) {
+            int d = b[i] - '0';
+            if (d < 0 || d > 9) {
+                return -1;
+            }
+            v = v * 10 + d;
+        }
+        return v <= Integer.MAX_VALUE ? v : -1;
+    }
+
+    static final double MAX_GPA = 4.0;
+    private static final int MAX_INTEGER_DIGITS = 3; // "004.00" at most, so digits can't overflow
+    private static final double[] POW10 = { 1, 10, 100, 1000, 10000, 100000, 1000000 };
+
+    // Plain decimal like 3.85, NaN if malformed, without any digit or with a too long integer part
+    private static double parseGpa(byte[] b, int from, int to) {
+        long digits = 0;
+        int fraction = -1;
+        int integerDigits = 0;
+        boolean anyDigit = false;
+        for (int i = from; i < to; i++) {
+            byte c = b[i];
+            if (c == '.' && fraction < 0) {
+                fraction = 0;
+            } else if (c >= '0' && c <= '9') {
+                anyDigit = true;
+                if (fraction < 0) {
+                    if (++integerDigits > MAX_INTEGER_DIGITS) {
+                        return Double.NaN;
+                    }
+                    digits = digits * 10 + (c - '0');
+                } else if (fraction < POW10.length - 1) { // digits past 1e-6 are ignored
+                    digits = digits * 10 + (c - '0');
+                    fraction++;
+                }
+            } else {
+                return Double.NaN;
+            }
+        }
+        if (!anyDigit) {
+            return Double.NaN;
+        }
+        return fraction <= 0 ? digits : digits / POW10[fraction];
+    }
+
+    // Canonical department String; a new String is created only the first time
+    private String department(byte[] b, int from, int to) {
+        Departments known = departments;
+        for (int d = 0; d < known.bytes.length; d++) {
+            if (Arrays.equals(known.bytes[d], 0, known.bytes[d].length, b, from, to)) {
+                return known.names[d];
+            }
+        }
+        synchronized (this) {
+            String name = new String(b, from, to - from, StandardCharsets.UTF_8);
+            known = departments;
+            for (String n : known.names) {
+                if (n.equals(name)) {
+                    return n;
+                }
+            }
+            String[] names = Arrays.copyOf(known.names, known.names.length + 1);
+            byte[][] bytes = Arrays.copyOf(known.bytes, known.bytes.length + 1);
+            names[names.length - 1] = name;
+            bytes[bytes.length - 1] = Arrays.copyOfRange(b, from, to);
+            departments = new Departments(names, bytes);
+            return name;
+        }
+    }
+}
+
+public class student_csv_ingest {
+    static final String[] DEPARTMENTS = { "Computer Science", "Mathematics", "Physics", "Chemistry", "Biology" };
+
+    // Same shape as CSVBuilder, written in blocks so large files fit in memory
+    static void writeSample(Path file, int rows) throws IOException {
+        Random random = new Random(42);
+        try (Writer out = new BufferedWriter(new OutputStreamWriter(
+                Files.newOutputStream(file), StandardCharsets.UTF_8), 1 << 16)) {
+            StringBuilder csv = new StringBuilder();
+            csv.append("Id,Name,Gpa,Department\n");
+            for (int i = 0; i < rows; i++) {
+                int id = i % 1000 == 999 ? i - 1 : i; // a few duplicate ids
+                int gpa = 200 + random.nextInt(201); // 2.00 .. 4.00
+                csv.append(id).append(",Student ").append(i).append(",")
+                        .append(gpa / 100).append('.').append(gpa % 100 < 10 ? "0" : "").append(gpa % 100).append(",")
+                        .append(DEPARTMENTS[i % DEPARTMENTS.length]).append("\n");
+                if (csv.length() > 1 << 16) {
+                    out.append(csv);
+                    csv.setLength(0);
+                }
+            }
+            out.append("oops,not,a,row\n");
+            out.append("7,No Gpa,,Physics\n");
+            out.append("8,Bare Dot,.,Physics\n");
+            out.append("9,Long Integer Part,99999999999999999999.5,Physics\n");
+            out.append("10,Out Of Range,99,Physics\n");
+            out.append(csv);
+        }
+    }
+
+    public static void main(String[] args) throws Exception {
+        System.out.println("=== STUDENT CSV INGEST ===\n");
+
+        int rows = args.length > 0 ? Integer.parseInt(args[0]) : 5_000_000;
+        Path dir = Paths.get(args.length > 1 ? args[1] : System.getProperty("java.io.tmpdir"));
+        Path file = dir.resolve("students.csv");
+        writeSample(file, rows);
+        System.out.printf("Sample file: %s (%,d rows, %,d bytes)%n", file, rows, Files.size(file));
+
+        for (int round = 0; round < 2; round++) { // first round is warm-up
+            StudentColumnStore store = new StudentColumnStore(rows);
+            StudentCsvIngest ingest = new StudentCsvIngest(Math.max(1, Runtime.getRuntime().availableProcessors()));
+
+            // Progress / throughput counter
+            long start = System.nanoTime();
+            Thread progress = new Thread(() -> {
+                try {
+                    while (true) {
+                        Thread.sleep(500);
+                        double s = (System.nanoTime() - start) / 1e9;
+                        System.out.printf("   ... %,d rows read, %,.0f rows/sec%n", ingest.rowsRead.sum(),
+                                ingest.rowsRead.sum() / s);
+                    }
+                } catch (InterruptedException e) {
+                }
+            });
+            progress.setDaemon(true);
+            if (round == 1) {
+                progress.start();
+            }
+            ingest.ingest(file, store);
+            progress.interrupt();
+            double seconds = (System.nanoTime() - start) / 1e9;
+
+            if (round == 1) {
+                System.out.printf("%nRead %,d rows in %.2f s -> %,.0f rows/sec%n",
+                        ingest.rowsRead.sum(), seconds, ingest.rowsRead.sum() / seconds);
+                System.out.println("Inserted: " + ingest.inserted.sum() + ", duplicate ids: "
+                        + ingest.duplicates.sum() + ", rejected rows: " + ingest.rejected.sum());
+                System.out.println("First row:  " + store.studentAt(0));
+                System.out.println("Last row:   " + store.studentAt(store.size() - 1));
+            }
+        }
+
+        Files.deleteIfExists(file);
+        System.out.println("\n=== INGEST COMPLETED ===");
+    }
+}
@@ -0,0 +1,281 @@
+// Student Registry - Indexed, Thread-Safe Store for CapstoneStudent
+// Compile:  javac student_registry.java  (javac picks up CapstoneStudent.java from this folder)
+// Run:      java student_registry [records]
+
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.*;
+import java.util.concurrent.locks.*;
+
+// StudentRegistry: primary key (id) + secondary indexes (department, GPA)
+//
+// Reads never lock:
+//   - get(id) is a single ConcurrentHashMap lookup
+//   - index queries read concurrent indexes and resolve every hit through
+//     the primary map, so a half-finished write is never visible
+//
+// Writes lock one stripe (chosen by id), so writers on different ids
+// run in parallel and all indexes for one id change together.
+class StudentRegistry {
+    private static final int STRIPES = 64; // power of two
+
+    private final ConcurrentHashMap<Integer, CapstoneStudent> byId = new ConcurrentHashMap<>();
+    private final ConcurrentHashMap<String, Set<Integer>> byDepartment = new ConcurrentHashMap<>();
+    private final ConcurrentSkipListSet<CapstoneStudent> byGpa = new ConcurrentSkipListSet<>(StudentRegistry::compareByGpa);
+    private final ReentrantLock[] locks = new ReentrantLock[STRIPES];
+
+    StudentRegistry() {
+        for (int i = 0; i < STRIPES; i++) {
+            locks[i] = new ReentrantLock();
+        }
+    }
+
+    // Highest GPA first, ties broken by id so equal GPAs never collapse
+    static int compareByGpa(CapstoneStudent a, CapstoneStudent b) {
+        int c = Double.compare(b.getGpa(), a.getGpa());
+        return c != 0 ? c : Integer.compare(a.getId(), b.getId());
+    }
+
+    private ReentrantLock lockFor(int id) {
+        int h = id * 0x9E3779B9; // spread sequential ids across stripes
+        return locks[(h ^ (h >>> 16)) & (STRIPES - 1)];
+    }
+
+    // Insert a new student, returns false if the id already exists
+    boolean insert(CapstoneStudent student) {
+        ReentrantLock lock = lockFor(student.getId());
+        lock.lock();
+        try {
+            if (byId.containsKey(student.getId())) {
+                return false;
+            }
+            addToIndexes(student);
+            byId.put(student.getId(), student); // publish last
+            return true;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    // Replace the record with the same id, returns false if it does not exist
+    boolean update(CapstoneStudent student) {
+        ReentrantLock lock = lockFor(student.getId());
+        lock.lock();
+        try {
+            CapstoneStudent old = byId.get(student.getId());
+            if (old == null) {
+                return false;
+            }
+            addToIndexes(student);
+            byId.put(student.getId(), student);
+            if (!old.getDepartment().equals(student.getDepartment())) {
+                byDepartment.get(old.getDepartment()).remove(old.getId());
+            }
+            if (compareByGpa(old, student) != 0) {
+                byGpa.remove(old);
+            }
+            return true;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    // Remove a student, returns the removed record or null
+    CapstoneStudent delete(int id) {
+        ReentrantLock lock = lockFor(id);
+        lock.lock();
+        try {
+            CapstoneStudent old = byId.remove(id); // unpublish first
+            if (old != null) {
+                removeFromIndexes(old);
+            }
+            return old;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    CapstoneStudent get(int id) {
+        return byId.get(id);
+    }
+
+    boolean contains(int id) {
+        return byId.containsKey(id);
+    }
+
+    int size() {
+        return byId.size();
+    }
+
+    // All current students of one department (unordered)
+    List<CapstoneStudent> byDepartment(String department) {
+        List<CapstoneStudent> result = new ArrayList<>();
+        Set<Integer> ids = byDepartment.get(department);
+        if (ids != null) {
+            for (int id : ids) {
+                CapstoneStudent s = byId.get(id);
+                if (s != null && s.getDepartment().equals(department)) {
+                    result.add(s);
+                }
+            }
+        }
+        return result;
+    }
+
+    // Students with minGpa <= gpa <= maxGpa, highest GPA first
+    List<CapstoneStudent> byGpaRange(double minGpa, double maxGpa) {
+        List<CapstoneStudent> result = new ArrayList<>();
+        CapstoneStudent from = new CapstoneStudent(Integer.MIN_VALUE, null, maxGpa, null);
+        CapstoneStudent to = new CapstoneStudent(Integer.MAX_VALUE, null, minGpa, null);
+        if (compareByGpa(from, to) > 0) {
+            return result;
+        }
+        for (CapstoneStudent key : byGpa.subSet(from, true, to, true)) {
+            CapstoneStudent s = byId.get(key.getId());
+            if (s != null && s.getGpa() == key.getGpa()) {
+                result.add(s);
+            }
+        }
+        return result;
+    }
+
+    private void addToIndexes(CapstoneStudent s) {
+        byDepartment.computeIfAbsent(s.getDepartment(), d -> ConcurrentHashMap.newKeySet()).add(s.getId());
+        byGpa.add(s);
+    }
+
+    private void removeFromIndexes(CapstoneStudent s) {
+        byDepartment.get(s.getDepartment()).remove(s.getId());
+        byGpa.remove(s);
+    }
+}
+
+// Load test: read throughput for 1, 2, 4 ... N reader threads
+class StudentRegistryLoadTest {
+    static final String[] DEPARTMENTS = { "Computer Science", "Mathematics", "Physics", "Chemistry", "Biology" };
+
+    static StudentRegistry load(int records) {
+        StudentRegistry registry = new StudentRegistry();
+        Random random = new Random(42);
+        for (int i = 0; i < records; i++) {
+            double gpa = Math.round((2.0 + random.nextDouble() * 2.0) * 100) / 100.0;
+            registry.insert(new CapstoneStudent(i, "Student" + i, gpa, DEPARTMENTS[i % DEPARTMENTS.length]));
+        }
+        return registry;
+    }
+
+    static long readOpsPerSecond(StudentRegistry registry, int records, int threads, long millis)
+            throws InterruptedException {
+        LongAdder ops = new LongAdder();
+        AtomicBoolean running = new AtomicBoolean(true);
+        Thread[] workers = new Thread[threads];
+        for (int t = 0; t < threads; t++) {
+            workers[t] = new Thread(() -> {
+                ThreadLocalRandom random = ThreadLocalRandom.current();
+                long local = 0;
+                while (running.get()) {
+                    for (int i = 0; i < 1024; i++) {
+                        if (registry.get(random.nextInt(records)) != null) {
+                            local++;
+                        }
+                    }
+                }
+                ops.add(local);
+            });
+            workers[t].start();
+        }
+        Thread.sleep(millis);
+        running.set(false);
+        for (Thread w : workers) {
+            w.join();
+        }
+        return ops.sum() * 1000 / millis;
+    }
+
+    // Writers on overlapping ids must leave every index consistent
+    static void concurrentWriteCheck() throws InterruptedException {
+        StudentRegistry registry = new StudentRegistry();
+        int threads = 8, ids = 10_000;
+        Thread[] writers = new Thread[threads];
+        for (int t = 0; t < threads; t++) {
+            writers[t] = new Thread(() -> {
+                ThreadLocalRandom random = ThreadLocalRandom.current();
+                for (int i = 0; i < 100_000; i++) {
+                    int id = random.nextInt(ids);
+                    String dept = DEPARTMENTS[random.nextInt(DEPARTMENTS.length)];
+                    CapstoneStudent s = new CapstoneStudent(id, "S" + id, random.nextInt(401) / 100.0, dept);
+                    switch (random.nextInt(3)) {
+                        case 0: registry.insert(s); break;
+                        case 1: registry.update(s); break;
+                        default: registry.delete(id);
+                    }
+                }
+            });
+            writers[t].start();
+        }
+        for (Thread w : writers) {
+            w.join();
+        }
+        int inDepartments = 0;
+        for (String d : DEPARTMENTS) {
+            inDepartments += registry.byDepartment(d).size();
+        }
+        int inGpaRange = registry.byGpaRange(0.0, 4.0).size();
+        String counts = "size: " + registry.size() + ", department index: " + inDepartments + ", GPA index: "
+                + inGpaRange;
+        if (registry.size() != inDepartments || registry.size() != inGpaRange) {
+            throw new IllegalStateException("Indexes out of sync after concurrent writes - " + counts);
+        }
+        System.out.println("Concurrent writes -> " + counts + " (consistent)");
+    }
+}
+
+public class student_registry {
+    public static void main(String[] args) throws Exception {
+        System.out.println("=== STUDENT REGISTRY ===\n");
+
+        // Example 1: Basic operations
+        StudentRegistry registry = new StudentRegistry();
+        registry.insert(new CapstoneStudent(101, "Alice Johnson", 3.8, "Computer Science"));
+        registry.insert(new CapstoneStudent(102, "Bob Smith", 3.5, "Mathematics"));
+        registry.insert(new CapstoneStudent(103, "Charlie Brown", 3.8, "Computer Science"));
+        registry.insert(new CapstoneStudent(104, "Diana Prince", 3.7, "Physics"));
+        System.out.println("Insert duplicate 101: " + registry.insert(new CapstoneStudent(101, "Dup", 2.0, "Physics")));
+        System.out.println("Get 103: " + registry.get(103));
+        System.out.println("Computer Science: " + registry.byDepartment("Computer Science").size() + " students");
+        System.out.println("GPA 3.6 - 3.8 (ties kept):");
+        for (CapstoneStudent s : registry.byGpaRange(3.6, 3.8)) {
+            System.out.println("   " + s);
+        }
+        registry.update(new CapstoneStudent(102, "Bob Smith", 3.9, "Physics"));
+        System.out.println("After update 102 -> Physics: " + registry.byDepartment("Physics").size() + " students");
+        registry.delete(104);
+        System.out.println("After delete 104, size: " + registry.size());
+
+        // Example 2: Consistency under concurrent writers
+        System.out.println();
+        StudentRegistryLoadTest.concurrentWriteCheck();
+
+        // Example 3: Read scaling
+        int records = args.length > 0 ? Integer.parseInt(args[0]) : 1_000_000;
+        System.out.println("\nLoading " + records + " students...");
+        StudentRegistry big = StudentRegistryLoadTest.load(records);
+        StudentRegistryLoadTest.readOpsPerSecond(big, records, 1, 300); // warm-up
+
+        int cores = Runtime.getRuntime().availableProcessors();
+        long base = 0;
+        System.out.println("Threads | Reads/sec     | Speedup");
+        for (int threads = 1;; threads = Math.min(threads * 2, cores)) { // 1, 2, 4, ... and cores last
+            long ops = StudentRegistryLoadTest.readOpsPerSecond(big, records, threads, 1000);
+            if (threads == 1) {
+                base = ops;
+            }
+            System.out.printf("%7d | %,13d | %.2fx%n", threads, ops, (double) ops / base);
+            if (threads == cores) {
+                break;
+            }
+        }
+
+        System.out.println("\n=== REGISTRY COMPLETED ===");
+    }
+}
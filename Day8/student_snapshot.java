@@ -0,0 +1,377 @@
+// Student Snapshot - Memory-Mapped Binary Snapshot with an Append Log
+// Compile together with student_column_store.java and student_registry.java:  javac *.java
+// Run:                                                                        java student_snapshot [records] [directory]
+// 50M rows:                                     java -Xmx4g student_snapshot 50000000
+
+import java.io.*;
+import java.nio.*;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.*;
+import java.util.*;
+
+// StudentSnapshot: a StudentColumnStore written to disk and read back through mmap
+//
+// File layout (big-endian, every section mapped on its own so each stays < 2 GB):
+//   header     128 bytes: magic, version, rows, departments, slots, section offsets
+//   ids        int[rows]
+//   gpa        double[rows]
+//   deptCode   byte[rows]
+//   nameStart  int[rows + 1]
+//   names      UTF-8 bytes
+//   idIndex    (int id, int row + 1)[slots]  open addressing, linear probing
+//   dictionary (short length, UTF-8 bytes)[departments]
+//
+// open() maps the sections and reads only the header and the dictionary,
+// so startup time does not depend on the number of rows.
+// Students added after the snapshot go to "<file>.log" and an in-memory store.
+class StudentSnapshot implements Closeable {
+    static final int MAGIC = 0x53545553; // "STUS"
+    static final int VERSION = 1;
+    static final int HEADER_BYTES = 128;
+
+    private final int rows;
+    private final int slots;
+    private final String[] departments;
+    private final ByteBuffer ids, gpa, deptCode, nameStart, names, idIndex;
+
+    private final FileChannel log;
+    private final StudentColumnStore appended = new StudentColumnStore(16);
+
+    private StudentSnapshot(Path file) throws IOException {
+        try (FileChannel ch = FileChannel.open(file, StandardOpenOption.READ)) {
+            ByteBuffer header = ch.map(FileChannel.MapMode.READ_ONLY, 0, HEADER_BYTES);
+            if (header.getInt() != MAGIC || header.getInt() != VERSION) {
+                throw new IOException("Not a student snapshot: " + file);
+            }
+            rows = header.getInt();
+            int deptCount = header.getInt();
+            slots = header.getInt();
+            long[] offsets = new long[8];
+            for (int i = 0; i < offsets.length; i++) {
+                offsets[i] = header.getLong();
+            }
+            ids = map(ch, offsets[0], offsets[1]);
+            gpa = map(ch, offsets[1], offsets[2]);
+            deptCode = map(ch, offsets[2], offsets[3]);
+            nameStart = map(ch, offsets[3], offsets[4]);
+            names = map(ch, offsets[4], offsets[5]);
+            idIndex = map(ch, offsets[5], offsets[6]);
+
+            ByteBuffer dict = map(ch, offsets[6], offsets[7]);
+            departments = new String[deptCount];
+            for (int i = 0; i < deptCount; i++) {
+                byte[] bytes = new byte[dict.getShort()];
+                dict.get(bytes);
+                departments[i] = new String(bytes, StandardCharsets.UTF_8);
+            }
+        }
+        // The mappings stay valid after the channel is closed
+        log = FileChannel.open(logPath(file), StandardOpenOption.CREATE, StandardOpenOption.READ,
+                StandardOpenOption.WRITE);
+        replayLog();
+    }
+
+    static StudentSnapshot open(Path file) throws IOException {
+        return new StudentSnapshot(file);
+    }
+
+    static Path logPath(Path file) {
+        return file.resolveSibling(file.getFileName() + ".log");
+    }
+
+    private static ByteBuffer map(FileChannel ch, long from, long to) throws IOException {
+        return ch.map(FileChannel.MapMode.READ_ONLY, from, to - from);
+    }
+
+    // Write a fresh snapshot and discard its old append log
+    static void write(Path file, StudentColumnStore store) throws IOException {
+        int rows = store.size();
+        List<String> dict = store.departments();
+        long nameBytes = 0;
+        for (int row = 0; row < rows; row++) {
+            nameBytes += store.nameLengthAt(row);
+        }
+        int slots = Integer.highestOneBit(Math.max(rows, 8) * 2 - 1) << 1;
+
+        long[] offsets = new long[8];
+        offsets[0] = HEADER_BYTES;
+        offsets[1] = offsets[0] + 4L * rows;
+        offsets[2] = offsets[1] + 8L * rows;
+        offsets[3] = offsets[2] + rows;
+        offsets[4] = offsets[3] + 4L * (rows + 1);
+        offsets[5] = offsets[4] + nameBytes;
+        offsets[6] = offsets[5] + 8L * slots;
+        long dictBytes = 0;
+        for (String d : dict) {
+            dictBytes += 2 + d.getBytes(StandardCharsets.UTF_8).length;
+        }
+        offsets[7] = offsets[6] + dictBytes;
+
+        try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(
+                Files.newOutputStream(file), 1 << 16))) {
+            out.writeInt(MAGIC);
+            out.writeInt(VERSION);
+            out.writeInt(rows);
+            out.writeInt(dict.size());
+            out.writeInt(slots);
+            for (long offset : offsets) {
+                out.writeLong(offset);
+            }
+            out.write(new byte[HEADER_BYTES - 20 - 8 * offsets.length]);
+
+            for (int row = 0; row < rows; row++) {
+                out.writeInt(store.idAt(row));
+            }
+            for (int row = 0; row < rows; row++) {
+                out.writeDouble(store.gpaAt(row));
+            }
+            for (int row = 0; row < rows; row++) {
+                out.writeByte(store.departmentCodeAt(row));
+            }
+            int start = 0;
+            out.writeInt(0);
+            for (int row = 0; row < rows; row++) {
+                start += store.nameLengthAt(row);
+                out.writeInt(start);
+            }
+            for (int row = 0; row < rows; row++) {
+                out.write(store.nameAt(row).getBytes(StandardCharsets.UTF_8));
+            }
+        }
+
+        // Fill the id index in place, then append the dictionary
+        try (FileChannel ch = FileChannel.open(file, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+            MappedByteBuffer index = ch.map(FileChannel.MapMode.READ_WRITE, offsets[5], 8L * slots);
+            int mask = slots - 1;
+            for (int row = 0; row < rows; row++) {
+                int id = store.idAt(row);
+                int i = mix(id) & mask;
+                while (index.getInt(i * 8 + 4) != 0) {
+                    i = (i + 1) & mask;
+                }
+                index.putInt(i * 8, id);
+                index.putInt(i * 8 + 4, row + 1);
+            }
+            index.force();
+
+            ByteBuffer dictBuf = ByteBuffer.allocate((int) dictBytes);
+            for (String d : dict) {
+                byte[] bytes = d.getBytes(StandardCharsets.UTF_8);
+                dictBuf.putShort((short) bytes.length).put(bytes);
+            }
+            dictBuf.flip();
+            ch.write(dictBuf, offsets[6]);
+        }
+        Files.deleteIfExists(logPath(file));
+    }
+
+    private static int mix(int id) {
+        int h = id * 0x9E3779B9;
+        return h ^ (h >>> 16);
+    }
+
+    // Total rows: snapshot rows first, then appended rows
+    int size() {
+        return rows + appended.size();
+    }
+
+    int rowOf(int id) {
+        int mask = slots - 1;
+        for (int i = mix(id) & mask;; i = (i + 1) & mask) {
+            int row = idIndex.getInt(i * 8 + 4);
+            if (row == 0) {
+                break;
+            }
+            if (idIndex.getInt(i * 8) == id) {
+                return row - 1;
+            }
+        }
+        int row = appended.rowOf(id);
+        return row < 0 ? -1 : rows + row;
+    }
+
+    boolean containsId(int id) {
+        return rowOf(id) >= 0;
+    }
+
+    // Zero-copy reads straight from the mapped file
+    int idAt(int row) {
+        return row < rows ? ids.getInt(row * 4) : appended.idAt(row - rows);
+    }
+
+    double gpaAt(int row) {
+        return row < rows ? gpa.getDouble(row * 8) : appended.gpaAt(row - rows);
+    }
+
+    String departmentAt(int row) {
+        return row < rows ? departments[deptCode.get(row) & 0xFF] : appended.departmentAt(row - rows);
+    }
+
+    String nameAt(int row) {
+        if (row >= rows) {
+            return appended.nameAt(row - rows);
+        }
+        int start = nameStart.getInt(row * 4);
+        byte[] bytes = new byte[nameStart.getInt(row * 4 + 4) - start];
+        names.get(start, bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    CapstoneStudent studentAt(int row) {
+        return new CapstoneStudent(idAt(row), nameAt(row), gpaAt(row), departmentAt(row));
+    }
+
+    // Same contract as capstone_project.addStudent, persisted to the append log
+    boolean addStudent(int id, String name, double studentGpa, String department) throws IOException {
+        if (containsId(id)) {
+            return false;
+        }
+        byte[] nameBytes = name.getBytes(StandardCharsets.UTF_8);
+        byte[] deptBytes = department.getBytes(StandardCharsets.UTF_8);
+        if (nameBytes.length > 0xFFFF || deptBytes.length > 0xFFFF) { // lengths are stored as 16 bits
+            throw new IllegalArgumentException("Name and department must be at most 65535 UTF-8 bytes");
+        }
+        ByteBuffer record = ByteBuffer.allocate(4 + 8 + 2 + nameBytes.length + 2 + deptBytes.length);
+        record.putInt(id).putDouble(studentGpa)
+                .putShort((short) nameBytes.length).put(nameBytes)
+                .putShort((short) deptBytes.length).put(deptBytes)
+                .flip();
+        long position = log.size();
+        while (record.hasRemaining()) {
+            position += log.write(record, position);
+        }
+        appended.add(id, name, studentGpa, department);
+        return true;
+    }
+
+    private void replayLog() throws IOException {
+        long size = log.size();
+        if (size == 0) {
+            return;
+        }
+        if (size > Integer.MAX_VALUE) {
+            throw new IOException("Append log too large to replay: " + size + " bytes");
+        }
+        // Read into the heap, not a mapping: truncate() below must not run while
+        // the file is still mapped (Windows refuses, and the mapping would outlive it)
+        ByteBuffer buf = ByteBuffer.allocate((int) size);
+        while (buf.hasRemaining()) {
+            if (log.read(buf, buf.position()) < 0) {
+                break;
+            }
+        }
+        buf.flip();
+        int good = 0; // end of the last complete record
+        while (buf.remaining() >= 14) {
+            int id = buf.getInt();
+            double studentGpa = buf.getDouble();
+            String name = readString(buf);
+            String department = buf.remaining() >= 2 ? readString(buf) : null;
+            if (name == null || department == null) {
+                break;
+            }
+            appended.add(id, name, studentGpa, department);
+            good = buf.position();
+        }
+        if (good < size) {
+            // torn last record after a crash (possibly shorter than a header): drop it
+            log.truncate(good);
+        }
+    }
+
+    private static String readString(ByteBuffer buf) {
+        int length = buf.getShort() & 0xFFFF;
+        if (buf.remaining() < length) {
+            return null;
+        }
+        byte[] bytes = new byte[length];
+        buf.get(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    public void close() throws IOException {
+        log.force(false);
+        log.close();
+    }
+}
+
+// Startup benchmark: rebuild from scratch vs reopen the mapped snapshot
+class StudentSnapshotBenchmark {
+    static final String[] DEPARTMENTS = { "Computer Science", "Mathematics", "Physics", "Chemistry", "Biology" };
+
+    static StudentColumnStore rebuild(int records) {
+        StudentColumnStore store = new StudentColumnStore(records);
+        Random random = new Random(42);
+        for (int i = 0; i < records; i++) {
+            double gpa = Math.round((2.0 + random.nextDouble() * 2.0) * 100) / 100.0;
+            store.add(i, "Student" + i, gpa, DEPARTMENTS[i % DEPARTMENTS.length]);
+        }
+        return store;
+    }
+
+    static double checksum(StudentSnapshot snapshot, int lookups) {
+        Random random = new Random(7);
+        double sum = 0;
+        for (int i = 0; i < lookups; i++) {
+            int row = snapshot.rowOf(random.nextInt(snapshot.size()));
+            sum += snapshot.gpaAt(row);
+        }
+        return sum;
+    }
+}
+
+public class student_snapshot {
+    public static void main(String[] args) throws Exception {
+        System.out.println("=== STUDENT SNAPSHOT ===\n");
+
+        int records = args.length > 0 ? Integer.parseInt(args[0]) : 2_000_000;
+        Path dir = Paths.get(args.length > 1 ? args[1] : System.getProperty("java.io.tmpdir"));
+        Path file = dir.resolve("students.snapshot");
+
+        // Example 1: Rebuild from scratch (what initializeData() does today)
+        long t0 = System.nanoTime();
+        StudentColumnStore store = StudentSnapshotBenchmark.rebuild(records);
+        long rebuildNanos = System.nanoTime() - t0;
+        System.out.printf("Rebuild %,d students:  %,8.1f ms%n", records, rebuildNanos / 1e6);
+
+        t0 = System.nanoTime();
+        StudentSnapshot.write(file, store);
+        System.out.printf("Write snapshot:          %,8.1f ms (%,d bytes)%n",
+                (System.nanoTime() - t0) / 1e6, Files.size(file));
+        store = null;
+
+        // Example 2: Reopen - only the header and dictionary are read
+        t0 = System.nanoTime();
+        try (StudentSnapshot snapshot = StudentSnapshot.open(file)) {
+            long openNanos = System.nanoTime() - t0;
+            double sum = StudentSnapshotBenchmark.checksum(snapshot, 1000);
+            long firstQueries = System.nanoTime() - t0;
+            System.out.printf("Open snapshot:           %,8.3f ms%n", openNanos / 1e6);
+            System.out.printf("Open + 1000 lookups:     %,8.3f ms (checksum %.2f)%n", firstQueries / 1e6, sum);
+            System.out.printf("Startup speedup:         %,.0fx%n", (double) rebuildNanos / firstQueries);
+
+            // Example 3: Append log
+            System.out.println("\nAppend new student: " + snapshot.addStudent(records + 1, "Frank Miller", 3.4, "Chemistry"));
+            System.out.println("Append duplicate:   " + snapshot.addStudent(0, "Dup", 2.0, "Physics"));
+        }
+        try (StudentSnapshot snapshot = StudentSnapshot.open(file)) {
+            System.out.println("After reopen, size: " + snapshot.size());
+            System.out.println("Row 0:        " + snapshot.studentAt(0));
+            System.out.println("Appended row: " + snapshot.studentAt(snapshot.rowOf(records + 1)));
+        }
+
+        // Example 4: A crash mid-append leaves a partial record; reopening drops it
+        Path log = StudentSnapshot.logPath(file);
+        long logBytes = Files.size(log);
+        Files.write(log, new byte[] { 0, 0, 0, 9, 64 }, StandardOpenOption.APPEND);
+        try (StudentSnapshot snapshot = StudentSnapshot.open(file)) {
+            System.out.println("\nAfter a torn append, size: " + snapshot.size() + ", log truncated: "
+                    + (Files.size(log) == logBytes));
+        }
+
+        Files.deleteIfExists(StudentSnapshot.logPath(file));
+        Files.deleteIfExists(file);
+        System.out.println("\n=== SNAPSHOT COMPLETED ===");
+    }
+}
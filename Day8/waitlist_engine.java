@@ -0,0 +1,379 @@
+// Waitlist Engine - Per-Course Lock-Free FIFO Waitlists
+// Compile:  javac waitlist_engine.java  (standalone, no other files needed)
+// Run:      java waitlist_engine [operations]
+
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.*;
+
+// CourseWaitlist: Michael-Scott lock-free queue where every node gets a ticket
+//
+//   - join():     link a node at the tail; ticket = previous ticket + 1 is fixed
+//                 before the linking CAS, so ticket order == queue order
+//   - cancel():   O(1) - find the node through the index and mark it CANCELLED;
+//                 nobody scans the queue, the node is skipped at promotion time
+//   - position(): O(1) index lookup + O(log capacity) count of cancelled tickets
+//                 ahead (a Fenwick tree of atomic counters, indexed by ticket)
+//   - promote():  dequeue up to n waiting students in one call
+//
+// The waitlist is bounded (tail - head <= capacity) so the Fenwick tree can
+// reuse its slots like a ring. The bound is on tickets, not live students: a
+// cancelled student keeps its slot until it reaches the front, where join()
+// and promote() skip it. So join() can report full while fewer than capacity
+// students are still waiting, if the cancelled ones sit behind a live one.
+class CourseWaitlist {
+    private static final int WAITING = 0, PROMOTED = 1, CANCELLED = 2;
+
+    // join() results other than a 1-based position
+    static final int FULL = -1;           // no free ticket; retry after a promote or cancel
+    static final int ALREADY_QUEUED = -2; // the student already waits here (or is still linking)
+    static final int NOT_WAITING = -3;    // promoted or cancelled before join() could report a position
+
+    private static final class Node {
+        final int studentId;
+        volatile long ticket;   // tentative until linked
+        volatile boolean linked; // ticket is final and the node is in the queue
+        final AtomicInteger state = new AtomicInteger(WAITING);
+        final AtomicReference<Node> next = new AtomicReference<>();
+
+        Node(int studentId) {
+            this.studentId = studentId;
+        }
+    }
+
+    private final int capacity;
+    private final AtomicReference<Node> head, tail;
+    private final ConcurrentHashMap<Integer, Node> index = new ConcurrentHashMap<>();
+    private final AtomicIntegerArray cancelledTree; // Fenwick tree, 1-based
+
+    CourseWaitlist(int capacity) {
+        this.capacity = Integer.highestOneBit(Math.max(capacity, 2) * 2 - 1);
+        Node dummy = new Node(-1);
+        dummy.ticket = 0;
+        head = new AtomicReference<>(dummy);
+        tail = new AtomicReference<>(dummy);
+        cancelledTree = new AtomicIntegerArray(this.capacity + 1);
+    }
+
+    // Returns the 1-based position, or FULL, ALREADY_QUEUED or NOT_WAITING.
+    // NOT_WAITING for a duplicate means the old entry is on its way out;
+    // for a new entry it means another thread promoted or cancelled it first.
+    int join(int studentId) {
+        Node node = new Node(studentId);
+        Node existing = index.putIfAbsent(studentId, node);
+        if (existing != null) {
+            return existing.state.get() == WAITING ? ALREADY_QUEUED : NOT_WAITING;
+        }
+        while (true) {
+            Node last = tail.get();
+            Node next = last.next.get();
+            if (next != null) {
+                tail.compareAndSet(last, next); // help a slow joiner
+                continue;
+            }
+            long ticket = last.ticket + 1;
+            if (ticket - head.get().ticket > capacity) {
+                if (skipCancelledFirst()) {
+                    continue;
+                }
+                index.remove(studentId, node);
+                return FULL;
+            }
+            node.ticket = ticket;
+            if (last.next.compareAndSet(null, node)) {
+                node.linked = true;
+                tail.compareAndSet(last, node);
+                int position = positionOf(node);
+                return position < 0 ? NOT_WAITING : position;
+            }
+        }
+    }
+
+    // True if the student was waiting and is now removed. A join() that has not
+    // linked its node yet has not happened, so cancelling it returns false.
+    boolean cancel(int studentId) {
+        Node node = index.get(studentId);
+        if (node == null || !node.linked || !node.state.compareAndSet(WAITING, CANCELLED)) {
+            return false;
+        }
+        index.remove(studentId, node);
+        addCancelled(node.ticket, 1);
+        return true;
+    }
+
+    // 1-based position of a waiting student, or -1
+    int position(int studentId) {
+        return positionOf(index.get(studentId));
+    }
+
+    private int positionOf(Node node) {
+        if (node == null || !node.linked || node.state.get() != WAITING) {
+            return -1; // unknown, still linking, promoted or cancelled
+        }
+        long first = head.get().ticket; // last promoted ticket
+        long ticket = node.ticket;
+        if (ticket <= first) {
+            return 1; // being promoted right now
+        }
+        return (int) (ticket - first - cancelledBetween(first, ticket));
+    }
+
+    // Promote up to seats waiting students (FIFO), skipping cancelled ones
+    int[] promote(int seats) {
+        int[] promoted = new int[seats];
+        int count = 0;
+        while (count < seats) {
+            Node first = head.get();
+            Node next = first.next.get();
+            if (next == null) {
+                break;
+            }
+            if (first == tail.get()) {
+                tail.compareAndSet(first, next);
+            }
+            if (!head.compareAndSet(first, next)) {
+                continue;
+            }
+            if (next.state.compareAndSet(WAITING, PROMOTED)) {
+                index.remove(next.studentId, next);
+                promoted[count++] = next.studentId;
+            } else {
+                addCancelled(next.ticket, -1); // free the ring slot for later tickets
+            }
+        }
+        return count == seats ? promoted : Arrays.copyOf(promoted, count);
+    }
+
+    // Advance head past a cancelled first node so its ring slot can be reused;
+    // false if the first node is live (or there is none)
+    private boolean skipCancelledFirst() {
+        Node first = head.get();
+        Node next = first.next.get();
+        if (next == null || next.state.get() != CANCELLED) {
+            return false;
+        }
+        if (first == tail.get()) {
+            tail.compareAndSet(first, next);
+        }
+        if (head.compareAndSet(first, next)) {
+            addCancelled(next.ticket, -1);
+        }
+        return true;
+    }
+
+    int waiting() {
+        return index.size();
+    }
+
+    private void addCancelled(long ticket, int delta) {
+        for (int i = (int) (ticket & (capacity - 1)) + 1; i <= capacity; i += i & -i) {
+            cancelledTree.getAndAdd(i, delta);
+        }
+    }
+
+    private int prefix(int slots) {
+        int sum = 0;
+        for (int i = slots; i > 0; i -= i & -i) {
+            sum += cancelledTree.get(i);
+        }
+        return sum;
+    }
+
+    // Cancelled tickets t with from < t < to
+    private int cancelledBetween(long from, long to) {
+        if (to - from <= 1) {
+            return 0;
+        }
+        int a = (int) ((from + 1) & (capacity - 1));
+        int b = (int) (to & (capacity - 1));
+        return a <= b ? prefix(b) - prefix(a) : prefix(capacity) - prefix(a) + prefix(b);
+    }
+}
+
+// WaitlistService: one CourseWaitlist per course
+class WaitlistService {
+    private final ConcurrentHashMap<String, CourseWaitlist> courses = new ConcurrentHashMap<>();
+    private final int capacityPerCourse;
+
+    WaitlistService(int capacityPerCourse) {
+        this.capacityPerCourse = capacityPerCourse;
+    }
+
+    private CourseWaitlist course(String course) {
+        return courses.computeIfAbsent(course, c -> new CourseWaitlist(capacityPerCourse));
+    }
+
+    // Position or one of the CourseWaitlist.join() result codes
+    int join(String course, int studentId) {
+        return course(course).join(studentId);
+    }
+
+    boolean cancel(String course, int studentId) {
+        CourseWaitlist w = courses.get(course);
+        return w != null && w.cancel(studentId);
+    }
+
+    int position(String course, int studentId) {
+        CourseWaitlist w = courses.get(course);
+        return w == null ? -1 : w.position(studentId);
+    }
+
+    int[] promote(String course, int seats) {
+        CourseWaitlist w = courses.get(course);
+        return w == null ? new int[0] : w.promote(seats);
+    }
+}
+
+// Baseline: capstone_project's LinkedList waitlist, one per course, synchronized
+class LinkedListWaitlistService {
+    private final ConcurrentHashMap<String, LinkedList<Integer>> courses = new ConcurrentHashMap<>();
+
+    int join(String course, int studentId) {
+        LinkedList<Integer> list = courses.computeIfAbsent(course, c -> new LinkedList<>());
+        synchronized (list) {
+            list.add(studentId);
+            return list.size();
+        }
+    }
+
+    boolean cancel(String course, int studentId) {
+        LinkedList<Integer> list = courses.get(course);
+        if (list == null) {
+            return false;
+        }
+        synchronized (list) {
+            return list.remove((Integer) studentId); // linear scan
+        }
+    }
+
+    int position(String course, int studentId) {
+        LinkedList<Integer> list = courses.get(course);
+        if (list == null) {
+            return -1;
+        }
+        synchronized (list) {
+            int i = list.indexOf(studentId); // linear scan
+            return i < 0 ? -1 : i + 1;
+        }
+    }
+
+    int[] promote(String course, int seats) {
+        LinkedList<Integer> list = courses.get(course);
+        if (list == null) {
+            return new int[0];
+        }
+        synchronized (list) {
+            int n = Math.min(seats, list.size());
+            int[] out = new int[n];
+            for (int i = 0; i < n; i++) {
+                out[i] = list.poll();
+            }
+            return out;
+        }
+    }
+}
+
+class WaitlistBenchmark {
+    interface Service {
+        int join(String course, int studentId);
+
+        boolean cancel(String course, int studentId);
+
+        int position(String course, int studentId);
+
+        int[] promote(String course, int seats);
+    }
+
+    // 60% join, 20% position, 10% cancel, 10% promote(4)
+    static double run(Service service, String[] courses, int threads, int opsPerThread) throws InterruptedException {
+        Thread[] workers = new Thread[threads];
+        long start = System.nanoTime();
+        for (int t = 0; t < threads; t++) {
+            final int base = t * opsPerThread;
+            workers[t] = new Thread(() -> {
+                ThreadLocalRandom random = ThreadLocalRandom.current();
+                for (int i = 0; i < opsPerThread; i++) {
+                    String course = courses[random.nextInt(courses.length)];
+                    int op = random.nextInt(10);
+                    if (op < 6) {
+                        service.join(course, base + i);
+                    } else if (op < 8) {
+                        service.position(course, base + random.nextInt(i + 1));
+                    } else if (op < 9) {
+                        service.cancel(course, base + random.nextInt(i + 1));
+                    } else {
+                        service.promote(course, 4);
+                    }
+                }
+            });
+        }
+        for (Thread w : workers) {
+            w.start();
+        }
+        for (Thread w : workers) {
+            w.join();
+        }
+        return (double) threads * opsPerThread / ((System.nanoTime() - start) / 1e9);
+    }
+}
+
+public class waitlist_engine {
+    public static void main(String[] args) throws Exception {
+        System.out.println("=== WAITLIST ENGINE ===\n");
+
+        // Example 1: One course
+        WaitlistService service = new WaitlistService(1024);
+        service.join("Algorithms", 101);
+        service.join("Algorithms", 102);
+        service.join("Algorithms", 103);
+        service.join("Algorithms", 104);
+        System.out.println("Position of 103: " + service.position("Algorithms", 103));
+        System.out.println("Join 103 again: " + service.join("Algorithms", 103) + " (ALREADY_QUEUED)");
+        System.out.println("Cancel 102: " + service.cancel("Algorithms", 102));
+        System.out.println("Position of 103 after cancel: " + service.position("Algorithms", 103));
+        System.out.println("Promote 2 seats: " + Arrays.toString(service.promote("Algorithms", 2)));
+        System.out.println("Position of 104: " + service.position("Algorithms", 104));
+
+        // A cancelled student at the front frees its slot for the next join
+        WaitlistService small = new WaitlistService(2);
+        small.join("Seminar", 201);
+        small.join("Seminar", 202);
+        System.out.println("Seminar full, join 203: " + small.join("Seminar", 203) + " (FULL)");
+        small.cancel("Seminar", 201);
+        System.out.println("After cancelling 201, join 203: " + small.join("Seminar", 203));
+
+        // Example 2: 64 concurrent enrollers across thousands of courses
+        int operations = args.length > 0 ? Integer.parseInt(args[0]) : 3_200_000;
+        int threads = 64;
+        String[] courses = new String[2000];
+        for (int i = 0; i < courses.length; i++) {
+            courses[i] = "Course-" + i;
+        }
+        System.out.println("\n" + threads + " enrollers, " + courses.length + " courses, " + operations + " operations");
+        for (int round = 0; round < 2; round++) { // first round is warm-up
+            WaitlistService engine = new WaitlistService(1 << 12);
+            double engineRate = WaitlistBenchmark.run(new WaitlistBenchmark.Service() {
+                public int join(String c, int s) { return engine.join(c, s); }
+                public boolean cancel(String c, int s) { return engine.cancel(c, s); }
+                public int position(String c, int s) { return engine.position(c, s); }
+                public int[] promote(String c, int n) { return engine.promote(c, n); }
+            }, courses, threads, operations / threads);
+
+            LinkedListWaitlistService baseline = new LinkedListWaitlistService();
+            double baselineRate = WaitlistBenchmark.run(new WaitlistBenchmark.Service() {
+                public int join(String c, int s) { return baseline.join(c, s); }
+                public boolean cancel(String c, int s) { return baseline.cancel(c, s); }
+                public int position(String c, int s) { return baseline.position(c, s); }
+                public int[] promote(String c, int n) { return baseline.promote(c, n); }
+            }, courses, threads, operations / threads);
+
+            if (round == 1) {
+                System.out.printf("Synchronized LinkedList: %,12.0f ops/sec%n", baselineRate);
+                System.out.printf("Lock-free waitlist:      %,12.0f ops/sec (%.2fx)%n",
+                        engineRate, engineRate / baselineRate);
+            }
+        }
+
+        System.out.println("\n=== WAITLIST COMPLETED ===");
+    }
+}
@@ -0,0 +1,565 @@
+// Work-Stealing Deque - Chase-Lev Deque and a Small Fork/Join Worker Pool
+// Compile:  javac work_stealing_deque.java  (standalone, no other files needed)
+// Run:      java work_stealing_deque [fib n]
+
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.locks.LockSupport;
+
+// WorkStealingDeque: ArrayDequeAsStack for the owner thread, ArrayDequeAsQueue
+// for everybody else (Chase-Lev, lock-free)
+//
+//   - push / pop work at the bottom and may only be called by the owner;
+//     they touch no shared state unless the deque is down to one element
+//   - steal takes from the top and may be called by any thread; thieves
+//     race with one CAS on top, so a failed steal just returns null
+//   - the ring is a power of two and only the owner grows it; thieves that
+//     still hold the old array read the same elements from it
+//   - popped slots are cleared; stolen slots are left to be overwritten
+//     (a thief cannot clear them without racing the owner's next push)
+class WorkStealingDeque<E> {
+    private static final VarHandle SLOT = MethodHandles.arrayElementVarHandle(Object[].class);
+    private static final VarHandle TOP;
+
+    static {
+        try {
+            TOP = MethodHandles.lookup().findVarHandle(WorkStealingDeque.class, "top", long.class);
+        } catch (ReflectiveOperationException e) {
+            throw new ExceptionInInitializerError(e);
+        }
+    }
+
+    private volatile long top = 0; // next index to steal
+    private volatile long bottom = 0; // next index to push
+    private volatile Object[] array;
+
+    WorkStealingDeque() {
+        this(64);
+    }
+
+    WorkStealingDeque(int capacity) {
+        array = new Object[Integer.highestOneBit(Math.max(capacity, 2) - 1) << 1];
+    }
+
+    private Object[] grow(Object[] old, long t, long b) {
+        Object[] bigger = new Object[old.length << 1];
+        for (long i = t; i < b; i++) {
+            bigger[(int) i & (bigger.length - 1)] = old[(int) i & (old.length - 1)];
+        }
+        array = bigger;
+        return bigger;
+    }
+
+    // Owner only; null is rejected because pop() and steal() use it for "empty"
+    void push(E e) {
+        Objects.requireNonNull(e);
+        long b = bottom;
+        long t = top;
+        Object[] a = array;
+        if (b - t >= a.length - 1) {
+            a = grow(a, t, b);
+        }
+        SLOT.setRelease(a, (int) b & (a.length - 1), e);
+        bottom = b + 1;
+    }
+
+    // Owner only; newest element, or null if empty or the last one was stolen
+    @SuppressWarnings("unchecked")
+    E pop() {
+        long b = bottom - 1;
+        Object[] a = array;
+        bottom = b; // volatile write, then volatile read of top: thieves see the claim
+        long t = top;
+        if (t > b) {
+            bottom = t;
+            return null;
+        }
+        int slot = (int) b & (a.length - 1);
+        E e = (E) SLOT.getAcquire(a, slot);
+        if (t == b) {
+            // Last element: race the thieves for it
+            boolean won = TOP.compareAndSet(this, t, t + 1);
+            bottom = t + 1;
+            if (!won) {
+                return null;
+            }
+        }
+        SLOT.setRelease(a, slot, null);
+        return e;
+    }
+
+    // Any thread; oldest element, or null if empty or another thread won
+    @SuppressWarnings("unchecked")
+    E steal() {
+        long t = top;
+        long b = bottom;
+        if (t >= b) {
+            return null;
+        }
+        Object[] a = array;
+        E e = (E) SLOT.getAcquire(a, (int) t & (a.length - 1));
+        return e != null && TOP.compareAndSet(this, t, t + 1) ? e : null;
+    }
+
+    // Weakly consistent
+    int size() {
+        return (int) Math.max(bottom - top, 0);
+    }
+
+    boolean isEmpty() {
+        return size() == 0;
+    }
+}
+
+// Job: a recursive task; fork() hands it to the pool, join() waits for it
+// and runs other jobs while waiting (so no worker ever blocks)
+abstract class Job {
+    private volatile boolean done = false;
+
+    protected abstract void compute();
+
+    final void run() {
+        compute();
+        done = true;
+    }
+
+    final boolean isDone() {
+        return done;
+    }
+
+    // Only from inside a job running on a JobPool worker
+    final void fork() {
+        JobPool.Worker w = (JobPool.Worker) Thread.currentThread();
+        w.pool.fork(w, this);
+    }
+
+    final void join() {
+        JobPool.Worker w = (JobPool.Worker) Thread.currentThread();
+        int misses = 0;
+        while (!done) {
+            if (w.pool.helpOnce(w)) {
+                misses = 0;
+            } else if (++misses > 64) {
+                Thread.yield();
+            } else {
+                Thread.onSpinWait();
+            }
+        }
+    }
+}
+
+// JobPool: fixed worker threads; subclasses decide where forked jobs go
+abstract class JobPool implements AutoCloseable {
+    static final class Worker extends Thread {
+        final JobPool pool;
+        final int index;
+        long executed = 0;
+
+        Worker(JobPool pool, int index) {
+            super(pool.getClass().getSimpleName() + "-" + index);
+            this.pool = pool;
+            this.index = index;
+            setDaemon(true);
+        }
+
+        @Override
+        public void run() {
+            int misses = 0;
+            while (pool.running) {
+                if (pool.helpOnce(this)) {
+                    misses = 0;
+                } else if (++misses < 64) {
+                    Thread.onSpinWait();
+                } else if (misses < 1024) {
+                    Thread.yield();
+                } else {
+                    LockSupport.parkNanos(50_000);
+                }
+            }
+        }
+    }
+
+    final Worker[] workers;
+    private volatile boolean running = true;
+
+    JobPool(int threads) {
+        workers = new Worker[threads];
+        for (int i = 0; i < threads; i++) {
+            workers[i] = new Worker(this, i);
+        }
+    }
+
+    // Subclass constructors call this once their queues exist
+    final void start() {
+        for (Worker w : workers) {
+            w.start();
+        }
+    }
+
+    abstract void fork(Worker w, Job job);
+
+    // Submit from outside the pool
+    abstract void submit(Job job);
+
+    // Run one queued job if there is one
+    abstract boolean helpOnce(Worker w);
+
+    final void invoke(Job root) {
+        submit(root);
+        while (!root.isDone()) {
+            LockSupport.parkNanos(20_000);
+        }
+    }
+
+    final long executed() {
+        long sum = 0;
+        for (Worker w : workers) {
+            sum += w.executed;
+        }
+        return sum;
+    }
+
+    // Waits for every worker even if interrupted, then restores the interrupt
+    @Override
+    public void close() {
+        running = false;
+        boolean interrupted = false;
+        for (Worker w : workers) {
+            while (w.isAlive()) {
+                try {
+                    w.join();
+                } catch (InterruptedException e) {
+                    interrupted = true;
+                }
+            }
+        }
+        if (interrupted) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
+
+// WorkStealingPool: one WorkStealingDeque per worker; forks stay local
+// (LIFO, cache-warm), idle workers steal the oldest - usually the largest -
+// job from a random victim
+class WorkStealingPool extends JobPool {
+    private final WorkStealingDeque<Job>[] deques;
+    private final ConcurrentLinkedQueue<Job> submissions = new ConcurrentLinkedQueue<>();
+
+    @SuppressWarnings("unchecked")
+    WorkStealingPool(int threads) {
+        super(threads);
+        deques = (WorkStealingDeque<Job>[]) new WorkStealingDeque<?>[threads];
+        for (int i = 0; i < threads; i++) {
+            deques[i] = new WorkStealingDeque<>();
+        }
+        start();
+    }
+
+    @Override
+    void fork(Worker w, Job job) {
+        deques[w.index].push(job);
+    }
+
+    @Override
+    void submit(Job job) {
+        submissions.add(job);
+    }
+
+    @Override
+    boolean helpOnce(Worker w) {
+        Job job = deques[w.index].pop();
+        if (job == null) {
+            int n = deques.length;
+            int start = ThreadLocalRandom.current().nextInt(n);
+            for (int i = 0; i < n && job == null; i++) {
+                int victim = (start + i) % n;
+                if (victim != w.index) {
+                    job = deques[victim].steal();
+                }
+            }
+        }
+        if (job == null) {
+            job = submissions.poll();
+        }
+        if (job == null) {
+            return false;
+        }
+        job.run();
+        w.executed++;
+        return true;
+    }
+}
+
+// SharedDequePool: every fork and every take goes through one
+// LinkedBlockingDeque (one lock shared by all workers)
+class SharedDequePool extends JobPool {
+    private final LinkedBlockingDeque<Job> shared = new LinkedBlockingDeque<>();
+
+    SharedDequePool(int threads) {
+        super(threads);
+        start();
+    }
+
+    @Override
+    void fork(Worker w, Job job) {
+        shared.offerFirst(job);
+    }
+
+    @Override
+    void submit(Job job) {
+        shared.offerLast(job);
+    }
+
+    @Override
+    boolean helpOnce(Worker w) {
+        Job job = shared.pollFirst();
+        if (job == null) {
+            return false;
+        }
+        job.run();
+        w.executed++;
+        return true;
+    }
+}
+
+// Recursive Fibonacci: tiny leaves, so scheduling overhead dominates
+class FibJob extends Job {
+    static final int SEQUENTIAL = 12;
+
+    final int n;
+    long result;
+
+    FibJob(int n) {
+        this.n = n;
+    }
+
+    static long fib(int n) {
+        return n < 2 ? n : fib(n - 1) + fib(n - 2);
+    }
+
+    @Override
+    protected void compute() {
+        if (n < SEQUENTIAL) {
+            result = fib(n);
+            return;
+        }
+        FibJob left = new FibJob(n - 1);
+        left.fork();
+        FibJob right = new FibJob(n - 2);
+        right.compute();
+        left.join();
+        result = left.result + right.result;
+    }
+}
+
+// Divide-and-conquer array sum: memory-bound leaves
+class SumJob extends Job {
+    static final int LEAF = 4096;
+
+    final long[] data;
+    final int from;
+    final int to;
+    long result;
+
+    SumJob(long[] data, int from, int to) {
+        this.data = data;
+        this.from = from;
+        this.to = to;
+    }
+
+    @Override
+    protected void compute() {
+        if (to - from <= LEAF) {
+            long sum = 0;
+            for (int i = from; i < to; i++) {
+                sum += data[i];
+            }
+            result = sum;
+            return;
+        }
+        int mid = (from + to) >>> 1;
+        SumJob left = new SumJob(data, from, mid);
+        left.fork();
+        SumJob right = new SumJob(data, mid, to);
+        right.compute();
+        left.join();
+        result = left.result + right.result;
+    }
+}
+
+class WorkStealingBenchmark {
+    interface PoolFactory {
+        JobPool create(int threads);
+    }
+
+    interface JobFactory {
+        Job create();
+    }
+
+    // Best of several runs on a fresh pool, in milliseconds
+    static double bestMillis(PoolFactory pools, int threads, JobFactory jobs, int runs) {
+        long best = Long.MAX_VALUE;
+        try (JobPool pool = pools.create(threads)) {
+            for (int i = 0; i < runs; i++) {
+                Job job = jobs.create();
+                long start = System.nanoTime();
+                pool.invoke(job);
+                best = Math.min(best, System.nanoTime() - start);
+            }
+        }
+        return best / 1e6;
+    }
+
+    static double forkJoinMillis(int threads, Callable<Long> work, int runs) throws Exception {
+        ForkJoinPool pool = new ForkJoinPool(threads);
+        long best = Long.MAX_VALUE;
+        try {
+            for (int i = 0; i < runs; i++) {
+                long start = System.nanoTime();
+                pool.submit(work).get();
+                best = Math.min(best, System.nanoTime() - start);
+            }
+        } finally {
+            pool.shutdown();
+        }
+        return best / 1e6;
+    }
+
+    static final class FibTask extends RecursiveTask<Long> {
+        private static final long serialVersionUID = 1L;
+
+        final int n;
+
+        FibTask(int n) {
+            this.n = n;
+        }
+
+        @Override
+        protected Long compute() {
+            if (n < FibJob.SEQUENTIAL) {
+                return FibJob.fib(n);
+            }
+            FibTask left = new FibTask(n - 1);
+            left.fork();
+            return new FibTask(n - 2).compute() + left.join();
+        }
+    }
+
+    static int[] threadCounts() {
+        int cores = Runtime.getRuntime().availableProcessors();
+        TreeSet<Integer> counts = new TreeSet<>(List.of(1, 2, 4, cores));
+        return counts.stream().mapToInt(Integer::intValue).toArray();
+    }
+}
+
+public class work_stealing_deque {
+    public static void main(String[] args) throws Exception {
+        System.out.println("=== WORK-STEALING DEQUE ===\n");
+
+        // Example 1: Owner pushes and pops (stack), thief steals (queue)
+        WorkStealingDeque<String> deque = new WorkStealingDeque<>(4);
+        for (String task : List.of("Task 1", "Task 2", "Task 3", "Task 4", "Task 5")) {
+            deque.push(task);
+        }
+        System.out.println("Size after 5 pushes (grew from 4): " + deque.size());
+        System.out.println("Owner pops newest: " + deque.pop());
+        System.out.println("Thief steals oldest: " + deque.steal());
+        System.out.println("Remaining: " + deque.size());
+
+        // Example 2: Four thieves against one owner - every item taken exactly once
+        int items = 1_000_000;
+        WorkStealingDeque<Integer> shared = new WorkStealingDeque<>();
+        ConcurrentHashMap<Integer, Boolean> taken = new ConcurrentHashMap<>();
+        Thread[] thieves = new Thread[4];
+        int[] stolen = new int[thieves.length];
+        AtomicBoolean ownerDone = new AtomicBoolean();
+        for (int i = 0; i < thieves.length; i++) {
+            int id = i;
+            thieves[i] = new Thread(() -> {
+                while (true) {
+                    Integer v = shared.steal();
+                    if (v != null) {
+                        taken.put(v, Boolean.TRUE);
+                        stolen[id]++;
+                    } else if (ownerDone.get() && shared.isEmpty()) {
+                        return;
+                    } else {
+                        Thread.yield();
+                    }
+                }
+            });
+            thieves[i].start();
+        }
+        int popped = 0;
+        boolean duplicate = false;
+        for (int i = 0; i < items; i++) {
+            shared.push(i);
+            if ((i & 3) == 0) {
+                Integer v = shared.pop();
+                if (v != null) {
+                    duplicate |= taken.put(v, Boolean.TRUE) != null;
+                    popped++;
+                }
+            }
+        }
+        for (Integer v; (v = shared.pop()) != null;) {
+            duplicate |= taken.put(v, Boolean.TRUE) != null;
+            popped++;
+        }
+        ownerDone.set(true);
+        for (Thread t : thieves) {
+            t.join();
+        }
+        int takes = popped + Arrays.stream(stolen).sum(); // every take counted, duplicates included
+        System.out.printf("%nOwner popped %,d, thieves stole %s: all %,d taken once: %s%n", popped,
+                Arrays.toString(stolen), items, taken.size() == items && takes == items && !duplicate);
+
+        // Example 3: Recursive jobs - work stealing vs one shared LinkedBlockingDeque
+        int n = args.length > 0 ? Integer.parseInt(args[0]) : 34;
+        long[] data = new long[16_000_000];
+        Arrays.setAll(data, i -> i % 1000);
+        long expectedSum = Arrays.stream(data).sum();
+
+        JobPool check = new WorkStealingPool(2);
+        FibJob fib = new FibJob(n);
+        check.invoke(fib);
+        SumJob sum = new SumJob(data, 0, data.length);
+        check.invoke(sum);
+        check.close(); // joins the workers, so their job counts are visible
+        System.out.printf("%nfib(%d) = %,d (correct: %s), sum correct: %s, jobs run: %,d%n", n, fib.result,
+                fib.result == FibJob.fib(n), sum.result == expectedSum, check.executed());
+
+        // Warm up both pools so the first table row is not measuring the JIT
+        for (int threads : WorkStealingBenchmark.threadCounts()) {
+            WorkStealingBenchmark.bestMillis(WorkStealingPool::new, threads, () -> new FibJob(n), 3);
+            WorkStealingBenchmark.bestMillis(SharedDequePool::new, threads, () -> new FibJob(n), 3);
+        }
+
+        System.out.printf("%nfib(%d), sequential below %d (%d cores)%n", n, FibJob.SEQUENTIAL,
+                Runtime.getRuntime().availableProcessors());
+        System.out.println("Threads  WorkStealing  SharedLBD     ForkJoinPool");
+        for (int threads : WorkStealingBenchmark.threadCounts()) {
+            double ws = WorkStealingBenchmark.bestMillis(WorkStealingPool::new, threads, () -> new FibJob(n), 5);
+            double lbd = WorkStealingBenchmark.bestMillis(SharedDequePool::new, threads, () -> new FibJob(n), 5);
+            double fj = WorkStealingBenchmark.forkJoinMillis(threads,
+                    () -> new WorkStealingBenchmark.FibTask(n).invoke(), 5);
+            System.out.printf("%7d  %9.1f ms  %9.1f ms  %9.1f ms%n", threads, ws, lbd, fj);
+        }
+
+        System.out.printf("%nSum of %,d longs, leaves of %d%n", data.length, SumJob.LEAF);
+        System.out.println("Threads  WorkStealing  SharedLBD");
+        for (int threads : WorkStealingBenchmark.threadCounts()) {
+            double ws = WorkStealingBenchmark.bestMillis(WorkStealingPool::new, threads,
+                    () -> new SumJob(data, 0, data.length), 5);
+            double lbd = WorkStealingBenchmark.bestMillis(SharedDequePool::new, threads,
+                    () -> new SumJob(data, 0, data.length), 5);
+            System.out.printf("%7d  %9.1f ms  %9.1f ms%n", threads, ws, lbd);
+        }
+
+        System.out.println("\n=== WORK-STEALING DEQUE COMPLETED ===");
+    }
+}
@@ -0,0 +1,45 @@
+// Retained heap size per element for every Day8 collection, measured with JOL
+//
+//   java -Djdk.attach.allowAttachSelf -cp target/benchmarks.jar collections.FootprintReport [sizes...]
+
+package collections;
+
+import java.util.*;
+import java.util.function.Supplier;
+
+import org.openjdk.jol.info.GraphLayout;
+
+public class FootprintReport {
+    public static void main(String[] args) {
+        int[] sizes = { 10, 1000, 100000, 10000000 };
+        if (args.length > 0) {
+            sizes = Arrays.stream(args).mapToInt(Integer::parseInt).toArray();
+        }
+        Map<String, Supplier<Collection<Integer>>> types = new LinkedHashMap<>();
+        types.put("ArrayList", ArrayList::new);
+        types.put("LinkedList", LinkedList::new);
+        types.put("HashSet", HashSet::new);
+        types.put("LinkedHashSet", LinkedHashSet::new);
+        types.put("TreeSet", TreeSet::new);
+        types.put("PriorityQueue", PriorityQueue::new);
+        types.put("ArrayDeque", ArrayDeque::new);
+
+        System.out.printf("%-14s", "bytes/element");
+        for (int size : sizes) {
+            System.out.printf("%14d", size);
+        }
+        System.out.println();
+        for (Map.Entry<String, Supplier<Collection<Integer>>> e : types.entrySet()) {
+            System.out.printf("%-14s", e.getKey());
+            for (int size : sizes) {
+                Collection<Integer> c = e.getValue().get();
+                for (Integer v : Sizes.shuffledValues(size)) {
+                    c.add(v);
+                }
+                // includes the Integer boxes, which every one of these collections needs
+                System.out.printf("%14.1f", GraphLayout.parseInstance(c).totalSize() / (double) size);
+            }
+            System.out.println();
+        }
+    }
+}
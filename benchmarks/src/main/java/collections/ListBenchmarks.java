@@ -0,0 +1,95 @@
+// ArrayList vs LinkedList - operations from Day8/arraylist_examples.java and linkedlist_examples.java
+
+package collections;
+
+import java.util.*;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class ListBenchmarks {
+
+    @Param({ "10", "1000", "100000", "10000000" })
+    int size;
+
+    @Param({ "ArrayList", "LinkedList" })
+    String type;
+
+    List<Integer> list;
+    Integer[] values;
+    int next;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        values = Sizes.shuffledValues(size);
+        list = newList();
+        list.addAll(Arrays.asList(values));
+    }
+
+    List<Integer> newList() {
+        return type.equals("ArrayList") ? new ArrayList<>() : new LinkedList<>();
+    }
+
+    Integer nextValue() {
+        Integer v = values[next];
+        next = next + 1 == values.length ? 0 : next + 1;
+        return v;
+    }
+
+    // Fill an empty list with size elements (one op = whole fill)
+    @Benchmark
+    public List<Integer> addAll() {
+        List<Integer> fresh = newList();
+        for (Integer v : values) {
+            fresh.add(v);
+        }
+        return fresh;
+    }
+
+    // Append then remove the last element, size stays constant
+    @Benchmark
+    public Integer addRemoveLast() {
+        list.add(nextValue());
+        return list.remove(list.size() - 1);
+    }
+
+    // Insert at index 0 and remove it again (ArrayListInsert / LinkedListFirstLast)
+    @Benchmark
+    public Integer addRemoveFirst() {
+        list.add(0, nextValue());
+        return list.remove(0);
+    }
+
+    @Benchmark
+    public Integer getMiddle() {
+        return list.get(list.size() / 2);
+    }
+
+    @Benchmark
+    public boolean contains() {
+        return list.contains(nextValue());
+    }
+
+    @Benchmark
+    public void iterate(Blackhole bh) {
+        for (Integer v : list) {
+            bh.consume(v);
+        }
+    }
+
+    // Copy + Collections.sort (ArrayListSort)
+    @Benchmark
+    public List<Integer> sortCopy() {
+        List<Integer> copy = newList();
+        copy.addAll(list);
+        Collections.sort(copy);
+        return copy;
+    }
+}
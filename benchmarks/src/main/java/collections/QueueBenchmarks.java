@@ -0,0 +1,150 @@
+// PriorityQueue vs ArrayDeque (and LinkedList as a queue) - operations from
+// Day8/priorityqueue_examples.java, arraydeque_examples.java and linkedlist_examples.java
+
+package collections;
+
+import java.util.*;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class QueueBenchmarks {
+
+    @Param({ "10", "1000", "100000", "10000000" })
+    int size;
+
+    @Param({ "PriorityQueue", "ArrayDeque", "LinkedList" })
+    String type;
+
+    Queue<Integer> queue;
+    Integer[] values;
+    int next;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        values = Sizes.shuffledValues(size);
+        queue = newQueue();
+        queue.addAll(Arrays.asList(values));
+    }
+
+    Queue<Integer> newQueue() {
+        switch (type) {
+            case "PriorityQueue":
+                return new PriorityQueue<>();
+            case "ArrayDeque":
+                return new ArrayDeque<>();
+            default:
+                return new LinkedList<>();
+        }
+    }
+
+    Integer nextValue() {
+        Integer v = values[next];
+        next = next + 1 == values.length ? 0 : next + 1;
+        return v;
+    }
+
+    // offer then poll, size stays constant (PriorityQueuePoll / ArrayDequeAsQueue)
+    @Benchmark
+    public Integer offerPoll() {
+        queue.offer(nextValue());
+        return queue.poll();
+    }
+
+    @Benchmark
+    public Integer peek() {
+        return queue.peek();
+    }
+
+    // Fill and drain completely (one op = size offers + size polls)
+    @Benchmark
+    public void fillAndDrain(Blackhole bh) {
+        Queue<Integer> fresh = newQueue();
+        for (Integer v : values) {
+            fresh.offer(v);
+        }
+        Integer v;
+        while ((v = fresh.poll()) != null) {
+            bh.consume(v);
+        }
+    }
+
+    @Benchmark
+    public void iterate(Blackhole bh) {
+        for (Integer v : queue) {
+            bh.consume(v);
+        }
+    }
+
+    // Stack usage (ArrayDequeAsStack / LinkedListAsStack), only for the Deque types
+    @BenchmarkMode(Mode.Throughput)
+    @OutputTimeUnit(TimeUnit.SECONDS)
+    @Warmup(iterations = 3, time = 1)
+    @Measurement(iterations = 5, time = 1)
+    @Fork(1)
+    @State(Scope.Thread)
+    public static class DequeOnly {
+
+        @Param({ "10", "1000", "100000", "10000000" })
+        int size;
+
+        @Param({ "ArrayDeque", "LinkedList" })
+        String type;
+
+        Deque<Integer> deque;
+        Integer[] values;
+        int next;
+
+        @Setup(Level.Trial)
+        public void setup() {
+            values = Sizes.shuffledValues(size);
+            deque = type.equals("ArrayDeque") ? new ArrayDeque<>() : new LinkedList<>();
+            deque.addAll(Arrays.asList(values));
+        }
+
+        @Benchmark
+        public Integer pushPop() {
+            Integer v = values[next];
+            next = next + 1 == values.length ? 0 : next + 1;
+            deque.push(v);
+            return deque.pop();
+        }
+    }
+
+    // PriorityQueueTopK: k = 10 out of 1,000,000 values. It always uses a
+    // PriorityQueue, so it runs once rather than once per queue type and size.
+    @BenchmarkMode(Mode.Throughput)
+    @OutputTimeUnit(TimeUnit.SECONDS)
+    @Warmup(iterations = 3, time = 1)
+    @Measurement(iterations = 5, time = 1)
+    @Fork(1)
+    @State(Scope.Thread)
+    public static class TopK {
+
+        Integer[] values;
+
+        @Setup(Level.Trial)
+        public void setup() {
+            values = Sizes.shuffledValues(1_000_000);
+        }
+
+        @Benchmark
+        public Queue<Integer> topK() {
+            PriorityQueue<Integer> pq = new PriorityQueue<>();
+            for (Integer v : values) {
+                pq.add(v);
+                if (pq.size() > 10) {
+                    pq.poll();
+                }
+            }
+            return pq;
+        }
+    }
+}
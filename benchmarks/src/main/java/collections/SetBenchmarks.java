@@ -0,0 +1,141 @@
+// HashSet vs LinkedHashSet vs TreeSet - operations from Day8/hashset_examples.java,
+// linkedhashset_examples.java and treeset_examples.java
+
+package collections;
+
+import java.util.*;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class SetBenchmarks {
+
+    @Param({ "10", "1000", "100000", "10000000" })
+    int size;
+
+    @Param({ "HashSet", "LinkedHashSet", "TreeSet" })
+    String type;
+
+    Set<Integer> set;
+    Set<Integer> otherHalf;
+    Integer[] values;
+    int next;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        values = Sizes.shuffledValues(size);
+        set = newSet();
+        set.addAll(Arrays.asList(values));
+        otherHalf = new HashSet<>(Arrays.asList(values).subList(0, values.length / 2));
+    }
+
+    Set<Integer> newSet() {
+        switch (type) {
+            case "HashSet":
+                return new HashSet<>();
+            case "LinkedHashSet":
+                return new LinkedHashSet<>();
+            default:
+                return new TreeSet<>();
+        }
+    }
+
+    Integer nextValue() {
+        Integer v = values[next];
+        next = next + 1 == values.length ? 0 : next + 1;
+        return v;
+    }
+
+    // Fill an empty set with size elements (one op = whole fill)
+    @Benchmark
+    public Set<Integer> addAll() {
+        Set<Integer> fresh = newSet();
+        for (Integer v : values) {
+            fresh.add(v);
+        }
+        return fresh;
+    }
+
+    // Remove an element and put it back, size stays constant
+    @Benchmark
+    public boolean removeAdd() {
+        Integer v = nextValue();
+        set.remove(v);
+        return set.add(v);
+    }
+
+    @Benchmark
+    public boolean contains() {
+        return set.contains(nextValue());
+    }
+
+    @Benchmark
+    public void iterate(Blackhole bh) {
+        for (Integer v : set) {
+            bh.consume(v);
+        }
+    }
+
+    // HashSetIntersection: copy, then keep the half that is also in otherHalf
+    @Benchmark
+    public Set<Integer> retainAll() {
+        Set<Integer> copy = newSet();
+        copy.addAll(set);
+        copy.retainAll(otherHalf);
+        return copy;
+    }
+
+    // TreeSet-only operations, in their own state so they run once per size
+    // instead of once per set type
+    @BenchmarkMode(Mode.Throughput)
+    @OutputTimeUnit(TimeUnit.SECONDS)
+    @Warmup(iterations = 3, time = 1)
+    @Measurement(iterations = 5, time = 1)
+    @Fork(1)
+    @State(Scope.Thread)
+    public static class TreeSetOnly {
+
+        @Param({ "10", "1000", "100000", "10000000" })
+        int size;
+
+        TreeSet<Integer> set;
+        Integer[] values;
+        int next;
+
+        @Setup(Level.Trial)
+        public void setup() {
+            values = Sizes.shuffledValues(size);
+            set = new TreeSet<>(Arrays.asList(values));
+        }
+
+        Integer nextValue() {
+            Integer v = values[next];
+            next = next + 1 == values.length ? 0 : next + 1;
+            return v;
+        }
+
+        @Benchmark
+        public int subSetSize() {
+            return set.subSet(size / 4, size / 2).size();
+        }
+
+        @Benchmark
+        public Integer ceiling() {
+            return set.ceiling(nextValue());
+        }
+
+        @Benchmark
+        public void descendingIterate(Blackhole bh) {
+            for (Integer v : set.descendingSet()) {
+                bh.consume(v);
+            }
+        }
+    }
+}
@@ -0,0 +1,26 @@
+// Shared input data for the collection benchmarks
+
+package collections;
+
+import java.util.Random;
+
+final class Sizes {
+    private Sizes() {
+    }
+
+    // 0 .. n-1 boxed once and shuffled, so benchmarks measure the collection, not boxing
+    static Integer[] shuffledValues(int n) {
+        Integer[] values = new Integer[n];
+        for (int i = 0; i < n; i++) {
+            values[i] = i;
+        }
+        Random random = new Random(42);
+        for (int i = n - 1; i > 0; i--) {
+            int j = random.nextInt(i + 1);
+            Integer t = values[i];
+            values[i] = values[j];
+            values[j] = t;
+        }
+        return values;
+    }
+}